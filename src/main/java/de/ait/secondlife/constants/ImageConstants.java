@@ -8,4 +8,6 @@ public interface ImageConstants {
     int[] IMAGE_3_SIZE = new int[]{64, 64};
     long MAX_FILE_SIZE = 8000 * 1024;
     String TEMP_IMAGE_DIR = "temp";
+    String IMAGE_DIR = "images";
+    String ORIGINAL_IMAGE_DIR = "original";
 }
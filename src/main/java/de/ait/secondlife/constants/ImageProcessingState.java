@@ -0,0 +1,7 @@
+package de.ait.secondlife.constants;
+
+public enum ImageProcessingState {
+    PROCESSING,
+    DONE,
+    FAILED
+}
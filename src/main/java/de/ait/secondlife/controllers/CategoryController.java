@@ -5,6 +5,7 @@ import de.ait.secondlife.domain.dto.CategoryDto;
 import de.ait.secondlife.domain.dto.CategoryUpdateDto;
 import de.ait.secondlife.domain.dto.ResponseMessageDto;
 import de.ait.secondlife.exception_handling.dto.ValidationErrorsDto;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 import de.ait.secondlife.services.interfaces.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -49,9 +50,11 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Successful operation",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = CategoryDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version given in If-None-Match"),
     })
     public ResponseEntity<List<CategoryDto>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+        ReferenceDataSnapshot<List<CategoryDto>> snapshot = service.getAllSnapshot(false);
+        return ResponseEntity.ok().eTag(snapshot.eTag()).body(snapshot.data());
     }
 
     @Operation(summary = "Get list of the categories, including hidden categories", description = "Accessible to Admin only")
@@ -65,7 +68,8 @@ public class CategoryController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDto.class)))
     })
     public ResponseEntity<List<CategoryDto>> getAllPlusHidden() {
-        return ResponseEntity.ok(service.getAllPlusHidden());
+        ReferenceDataSnapshot<List<CategoryDto>> snapshot = service.getAllSnapshot(true);
+        return ResponseEntity.ok().eTag(snapshot.eTag()).body(snapshot.data());
     }
 
     @Operation(summary = "Add category", description = "Accessible only by admin")
@@ -3,6 +3,7 @@ package de.ait.secondlife.controllers;
 import de.ait.secondlife.constants.EntityTypeWithImages;
 import de.ait.secondlife.domain.dto.ImageCreationDto;
 import de.ait.secondlife.domain.dto.ImagePathsResponseDto;
+import de.ait.secondlife.domain.dto.ImageProcessingDto;
 import de.ait.secondlife.domain.dto.ImageRequestDto;
 import de.ait.secondlife.domain.dto.ResponseMessageDto;
 import de.ait.secondlife.services.interfaces.ImageService;
@@ -16,6 +17,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -62,6 +64,66 @@ public class ImageController {
         return ResponseEntity.ok(imageService.saveNewImage(entityType, entityId, request));
     }
 
+    @PostMapping("/async")
+    @Operation(
+            summary = "Create new image asynchronously",
+            description = "Upload an image for entity by entity id without waiting for its processing. " +
+                    "The original is stored and the base name of the image is returned immediately " +
+                    "with the PROCESSING state; all sizes are produced in the background. " +
+                    "The state can be queried with GET /v1/images/{base-name}/state, " +
+                    "and the image can be referenced once its state is DONE.<br>" +
+                    "Limits are the same as for the synchronous upload"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Image accepted for processing",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImageProcessingDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseMessageDto.class)
+            )),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseMessageDto.class)
+            )),
+            @ApiResponse(responseCode = "404", description = "Resource not found", content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseMessageDto.class)
+            )),
+            @ApiResponse(responseCode = "503", description = "Too many images are waiting for processing",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ResponseMessageDto.class)
+                    ))})
+    public ResponseEntity<ImageProcessingDto> uploadImageAsync(
+            @Valid
+            @Parameter(description = "Dto with image file, entity type and entity id ", schema = @Schema(implementation = ImageCreationDto.class))
+            ImageCreationDto request) {
+
+        String entityType = EntityTypeWithImages.get(request.getEntityType().toLowerCase()).getType();
+        Long entityId = request.getEntityId();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(imageService.saveNewImageAsync(entityType, entityId, request));
+    }
+
+    @GetMapping("/{base-name}/state")
+    @Operation(
+            summary = "Get processing state of image",
+            description = "Get the processing state of an image by base name. " +
+                    "Paths of all sizes are returned once the state is DONE"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImageProcessingDto.class))),
+            @ApiResponse(responseCode = "404", description = "Resource not found", content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseMessageDto.class)
+            ))})
+    public ResponseEntity<ImageProcessingDto> getProcessingState(@PathVariable("base-name") String baseName) {
+        return ResponseEntity.ok(imageService.getProcessingState(baseName));
+    }
+
     @DeleteMapping
     @Operation(
             summary = "Delete image",
@@ -3,6 +3,7 @@ package de.ait.secondlife.controllers;
 import de.ait.secondlife.domain.dto.CategoryDto;
 import de.ait.secondlife.domain.dto.LocationDto;
 import de.ait.secondlife.domain.dto.ResponseMessageDto;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 import de.ait.secondlife.services.interfaces.LocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -48,10 +49,12 @@ public class LocationController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Successful operation",
-                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CategoryDto.class))})
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CategoryDto.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version given in If-None-Match")
     })
     @GetMapping()
     public ResponseEntity<List<LocationDto>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+        ReferenceDataSnapshot<List<LocationDto>> snapshot = service.getAllSnapshot();
+        return ResponseEntity.ok().eTag(snapshot.eTag()).body(snapshot.data());
     }
 }
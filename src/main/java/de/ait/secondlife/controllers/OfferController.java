@@ -1,5 +1,7 @@
 package de.ait.secondlife.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import de.ait.secondlife.domain.dto.ResponseMessageDto;
 import de.ait.secondlife.domain.dto.OfferCreationDto;
 import de.ait.secondlife.domain.dto.OfferResponseDto;
@@ -8,8 +10,10 @@ import de.ait.secondlife.domain.dto.OfferUpdateDto;
 import de.ait.secondlife.domain.dto.*;
 
 import de.ait.secondlife.exception_handling.dto.ValidationErrorsDto;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.CursorIsWrongException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.PaginationParameterIsWrongException;
 import de.ait.secondlife.services.interfaces.OfferService;
+import de.ait.secondlife.services.pagination.OfferCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,16 +22,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.security.auth.login.CredentialException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/v1/offers")
@@ -36,10 +45,12 @@ import javax.security.auth.login.CredentialException;
 public class OfferController {
 
     private final OfferService service;
+    private final ObjectMapper objectMapper;
 
     private final String PAGE_VALUE = "0";
     private final String SIZE_VALUE = "10";
     private final String SORT_BY = "createdAt";
+    private final String SEARCH_SORT_BY = "relevance";
 
     @GetMapping("/all")
     @Operation(
@@ -70,24 +81,116 @@ public class OfferController {
                     @ExampleObject(name = "Sort direction is descending", value = "false")
             })
             Boolean isAsc,
-            @RequestParam(required = false)
-            @Parameter(description = "Category id for filtration. Can be null." +
-                    " Optional parameter", example = "3")
-            Long category_id,
-            @RequestParam(required = false)
-            @Parameter(description = "Offer status for filtration. Can be null." +
-                    " Optional parameter", example = "DrAfT")
-            String status,
-            @RequestParam(required = false)
-            @Parameter(description = "Is offer free or not for filtration. Can be null." +
-                    " Optional parameter", example = "true, false")
-            Boolean free) {
+            @ParameterObject
+            @ModelAttribute
+            @Valid
+            OfferFilterDto filter) {
 
         return ResponseEntity.ok(service.findOffers(
                 getPageable(page, size, sortBy, isAsc),
-                category_id,
-                status,
-                free));
+                filter));
+    }
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream all offers",
+            description = "Receiving all offers available in the database with pagination as a stream of JSON" +
+                    " objects separated by new lines. Offers are written while the rest of the page is loaded," +
+                    " so large pages are delivered with bounded memory. Requested with header" +
+                    " Accept: application/x-ndjson"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = OfferResponseDto.class))),
+    })
+    public void streamAll(
+            @RequestParam(defaultValue = PAGE_VALUE)
+            @Parameter(description = "Requested page number. ", example = "0")
+            int page,
+            @RequestParam(defaultValue = SIZE_VALUE)
+            @Parameter(description = "Number of entities per page.", example = "10")
+            int size,
+            @RequestParam(defaultValue = SORT_BY)
+            @Parameter(description = "Sorting field.", examples = {
+                    @ExampleObject(name = "Sort by created time", value = "createdAt"),
+                    @ExampleObject(name = "Sort by title", value = "title"),
+                    @ExampleObject(name = "Sort by start price", value = "startPrice")
+            })
+            String sortBy,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Sorting direction.", examples = {
+                    @ExampleObject(name = "Sort direction is ascending(default)", value = "true"),
+                    @ExampleObject(name = "Sort direction is descending", value = "false")
+            })
+            Boolean isAsc,
+            @ParameterObject
+            @ModelAttribute
+            @Valid
+            OfferFilterDto filter,
+            HttpServletResponse response) throws IOException {
+
+        Pageable pageable = getPageable(page, size, sortBy, isAsc);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            service.forEachOffer(pageable, filter, offer -> {
+                try {
+                    writer.write(offer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @GetMapping("/all/cursor")
+    @Operation(
+            summary = "Get all offers with cursor pagination",
+            description = "Receiving all offers available in the database page by page. Every page continues" +
+                    " after the last offer of the previous page, so deep pages are as fast as the first one." +
+                    " The total number of offers is only counted on request"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OfferResponseWithCursorDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor or pagination parameters are wrong",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDto.class)))
+    })
+    public ResponseEntity<OfferResponseWithCursorDto> getAllWithCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor of the requested page, received as nextCursor of the previous page." +
+                    " Must be null for the first page. The sorting of the first page is kept.")
+            String cursor,
+            @RequestParam(defaultValue = SIZE_VALUE)
+            @Parameter(description = "Number of entities per page.", example = "10")
+            int size,
+            @RequestParam(defaultValue = SORT_BY)
+            @Parameter(description = "Sorting field.", examples = {
+                    @ExampleObject(name = "Sort by created time", value = "createdAt"),
+                    @ExampleObject(name = "Sort by title", value = "title"),
+                    @ExampleObject(name = "Sort by start price", value = "startPrice")
+            })
+            String sortBy,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Sorting direction.", examples = {
+                    @ExampleObject(name = "Sort direction is ascending(default)", value = "true"),
+                    @ExampleObject(name = "Sort direction is descending", value = "false")
+            })
+            Boolean isAsc,
+            @RequestParam(defaultValue = "false", name = "with_total")
+            @Parameter(description = "Count all offers matching the filters.", example = "false")
+            boolean withTotal,
+            @ParameterObject
+            @ModelAttribute
+            @Valid
+            OfferFilterDto filter) {
+
+        return ResponseEntity.ok(service.findOffers(
+                getCursor(cursor, size, sortBy, isAsc),
+                size,
+                withTotal,
+                filter));
     }
 
     @GetMapping("/{id}")
@@ -133,27 +236,69 @@ public class OfferController {
                     @ExampleObject(name = "Sort direction is descending", value = "false")
             })
             Boolean isAsc,
-            @RequestParam(required = false)
-            @Parameter(description = "Category id for filtration. Can be null." +
-                    " Optional parameter", example = "3")
-            Long category_id,
-            @RequestParam(required = false)
-            @Parameter(description = "Offer status for filtration. Can be null." +
-                    " Optional parameter", example = "DrAfT")
-            String status,
-            @RequestParam(required = false)
-            @Parameter(description = "Is offer free or not for filtration. Can be null." +
-                    " Optional parameter", example = "true, false")
-            Boolean free,
+            @ParameterObject
+            @ModelAttribute
+            @Valid
+            OfferFilterDto filter,
             @PathVariable
             @Parameter(description = "User id in Long format. ", example = "2321")
             Long id) {
         return ResponseEntity.ok(service.findOffersByUserId(
                 id,
                 getPageable(page, size, sortBy, isAsc),
-                category_id,
-                status,
-                free));
+                filter));
+    }
+
+    @GetMapping("/user/{id}/cursor")
+    @Operation(
+            summary = "Get all offers by user id with cursor pagination",
+            description = "Receiving all offers by user id available in the database page by page. Every page" +
+                    " continues after the last offer of the previous page. The total number of offers is only" +
+                    " counted on request"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OfferResponseWithCursorDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor or pagination parameters are wrong",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDto.class)))
+    })
+    public ResponseEntity<OfferResponseWithCursorDto> getByUserIdWithCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor of the requested page, received as nextCursor of the previous page." +
+                    " Must be null for the first page. The sorting of the first page is kept.")
+            String cursor,
+            @RequestParam(defaultValue = SIZE_VALUE)
+            @Parameter(description = "Number of entities per page.", example = "10")
+            int size,
+            @RequestParam(defaultValue = SORT_BY)
+            @Parameter(description = "Sorting field.", examples = {
+                    @ExampleObject(name = "Sort by created time", value = "createdAt"),
+                    @ExampleObject(name = "Sort by title", value = "title"),
+                    @ExampleObject(name = "Sort by start price", value = "startPrice")
+            })
+            String sortBy,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Sorting direction.", examples = {
+                    @ExampleObject(name = "Sort direction is ascending(default)", value = "true"),
+                    @ExampleObject(name = "Sort direction is descending", value = "false")
+            })
+            Boolean isAsc,
+            @RequestParam(defaultValue = "false", name = "with_total")
+            @Parameter(description = "Count all offers matching the filters.", example = "false")
+            boolean withTotal,
+            @ParameterObject
+            @ModelAttribute
+            @Valid
+            OfferFilterDto filter,
+            @PathVariable
+            @Parameter(description = "User id in Long format. ", example = "2321")
+            Long id) {
+        return ResponseEntity.ok(service.findOffersByUserId(
+                id,
+                getCursor(cursor, size, sortBy, isAsc),
+                size,
+                withTotal,
+                filter));
     }
 
     @PostMapping
@@ -323,7 +468,7 @@ public class OfferController {
     @GetMapping("/search")
     @Operation(
             summary = "Search offers",
-            description = "Searching string <i>pattern</i> among all Offers in status AUCTION_STARTED. The search is carried out using the Offer title and Offer description fields and is not case-sensitive."
+            description = "Searching string <i>pattern</i> among all Offers in status AUCTION_STARTED. The search is carried out using the Offer title and Offer description fields and is not case-sensitive. Every word of the pattern matches words of the Offer starting with it, English and German word forms are taken into account. By default the results are sorted by relevance."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -341,8 +486,9 @@ public class OfferController {
             @RequestParam(defaultValue = SIZE_VALUE)
             @Parameter(description = "Number of entities per page.", example = "10")
             int size,
-            @RequestParam(defaultValue = SORT_BY)
+            @RequestParam(defaultValue = SEARCH_SORT_BY)
             @Parameter(description = "Sorting field.", examples = {
+                    @ExampleObject(name = "Sort by relevance(default)", value = "relevance"),
                     @ExampleObject(name = "Sort by created time", value = "createdAt"),
                     @ExampleObject(name = "Sort by title", value = "title"),
                     @ExampleObject(name = "Sort by start price", value = "startPrice")
@@ -361,6 +507,36 @@ public class OfferController {
         return ResponseEntity.ok(service.searchOffers(getPageable(page, size, sortBy, isAsc), locationId, pattern));
     }
 
+    @GetMapping("/search/cursor")
+    @Operation(
+            summary = "Search offers with cursor pagination",
+            description = "Searching string <i>pattern</i> among all Offers in status AUCTION_STARTED like the search" +
+                    " endpoint does. The results are sorted by relevance and returned page by page, every page" +
+                    " continues after the last offer of the previous page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OfferResponseWithCursorDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor or pagination parameters are wrong",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDto.class)))
+    })
+    public ResponseEntity<OfferResponseWithCursorDto> searchWithCursor(
+            @RequestParam
+            String pattern,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor of the requested page, received as nextCursor of the previous page." +
+                    " Must be null for the first page. The sorting of the first page is kept.")
+            String cursor,
+            @RequestParam(defaultValue = SIZE_VALUE)
+            @Parameter(description = "Number of entities per page.", example = "10")
+            int size,
+            @RequestParam(required = false, name = "location_id")
+            @Parameter(description = "Location id for filtration. Can be null. Optional parameter", example = "3")
+            Long locationId
+    ) {
+        return ResponseEntity.ok(service.searchOffers(getSearchCursor(cursor, size), size, locationId, pattern));
+    }
+
     @GetMapping("/participations/user/{id}")
     @Operation(
             summary = "Get all offers by user id in which the user has placed a bid",
@@ -388,27 +564,17 @@ public class OfferController {
                     @ExampleObject(name = "Sort direction is descending", value = "false")
             })
             Boolean isAsc,
-            @RequestParam(required = false)
-            @Parameter(description = "Category id for filtration. Can be null." +
-                    " Optional parameter", example = "3")
-            Long category_id,
-            @RequestParam(required = false)
-            @Parameter(description = "Offer status for filtration. Can be null." +
-                    " Optional parameter", example = "DrAfT")
-            String status,
-            @RequestParam(required = false)
-            @Parameter(description = "Is offer free or not for filtration. Can be null." +
-                    " Optional parameter", example = "true, false")
-            Boolean free,
+            @ParameterObject
+            @ModelAttribute
+            @Valid
+            OfferFilterDto filter,
             @PathVariable
             @Parameter(description = "User id in Long format. ", example = "2321")
             Long id) {
         return ResponseEntity.ok(service.findUserAuctionParticipations(
                 id,
                 getPageable(page, size, sortBy, isAsc),
-                category_id,
-                status,
-                free));
+                filter));
     }
 
     private Pageable getPageable(int page, int size, String sortBy, Boolean isAsc) {
@@ -420,4 +586,32 @@ public class OfferController {
             throw new PaginationParameterIsWrongException(page, size, sortBy);
         }
     }
+
+    private OfferCursor getCursor(String cursor, int size, String sortBy, Boolean isAsc) {
+        if (size < 1 || cursor == null && !OfferCursor.isSortable(sortBy)) {
+            throw new PaginationParameterIsWrongException(0, size, sortBy);
+        }
+        if (cursor == null) {
+            return OfferCursor.first(sortBy, isAsc);
+        }
+        OfferCursor decoded = OfferCursor.decode(cursor);
+        if (decoded.isByRelevance()) {
+            throw new CursorIsWrongException(cursor);
+        }
+        return decoded;
+    }
+
+    private OfferCursor getSearchCursor(String cursor, int size) {
+        if (size < 1) {
+            throw new PaginationParameterIsWrongException(0, size, OfferCursor.RELEVANCE);
+        }
+        if (cursor == null) {
+            return OfferCursor.firstByRelevance();
+        }
+        OfferCursor decoded = OfferCursor.decode(cursor);
+        if (!decoded.isByRelevance()) {
+            throw new CursorIsWrongException(cursor);
+        }
+        return decoded;
+    }
 }
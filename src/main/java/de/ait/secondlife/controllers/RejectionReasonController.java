@@ -1,6 +1,7 @@
 package de.ait.secondlife.controllers;
 
 import de.ait.secondlife.domain.dto.RejectionReasonsDto;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 import de.ait.secondlife.services.interfaces.RejectionReasonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -29,8 +30,10 @@ public class RejectionReasonController {
                     responseCode = "200",
                     description = "Successful operation",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = RejectionReasonsDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version given in If-None-Match"),
     })
     public ResponseEntity<RejectionReasonsDto> getAll() {
-        return ResponseEntity.ok(service.getAll());
+        ReferenceDataSnapshot<RejectionReasonsDto> snapshot = service.getAllSnapshot();
+        return ResponseEntity.ok().eTag(snapshot.eTag()).body(snapshot.data());
     }
 }
@@ -0,0 +1,23 @@
+package de.ait.secondlife.domain.dto;
+
+import de.ait.secondlife.constants.ImageProcessingState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of an image uploaded for asynchronous processing")
+public class ImageProcessingDto {
+
+    @Schema(description = "Base name of the image", example = "47424034-00e8-4358-b352-e16023279883")
+    private String baseName;
+
+    @Schema(description = "Processing state of the image", example = "PROCESSING")
+    private ImageProcessingState state;
+
+    @Schema(description = "Paths of the image in all sizes, present when the state is DONE")
+    private ImagePathsResponseDto images;
+}
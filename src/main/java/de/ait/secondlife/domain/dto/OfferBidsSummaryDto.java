@@ -0,0 +1,17 @@
+package de.ait.secondlife.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class OfferBidsSummaryDto {
+
+    private Long offerId;
+
+    private BigDecimal maxBidValue;
+
+    private Long bidsCount;
+}
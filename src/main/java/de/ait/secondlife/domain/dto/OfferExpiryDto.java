@@ -0,0 +1,15 @@
+package de.ait.secondlife.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OfferExpiryDto {
+
+    private Long offerId;
+
+    private LocalDateTime auctionFinishedAt;
+}
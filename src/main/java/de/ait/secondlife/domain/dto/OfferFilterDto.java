@@ -0,0 +1,66 @@
+package de.ait.secondlife.domain.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.web.bind.annotation.BindParam;
+
+import java.math.BigDecimal;
+
+@Data
+public class OfferFilterDto {
+
+    @Parameter(name = "category_id", description = "Category id for filtration. Can be null." +
+            " Optional parameter", example = "3")
+    private final Long categoryId;
+
+    @Parameter(description = "Offer status for filtration. Can be null." +
+            " Optional parameter", example = "DrAfT")
+    private final String status;
+
+    @Parameter(name = "free", description = "Is offer free or not for filtration. Can be null." +
+            " Optional parameter", example = "true")
+    private final Boolean isFree;
+
+    @Parameter(name = "location_id", description = "Location id for filtration. Can be null." +
+            " Optional parameter", example = "3")
+    private final Long locationId;
+
+    @Parameter(name = "min_price", description = "Minimal start price for filtration. Can be null." +
+            " Optional parameter", example = "10")
+    @PositiveOrZero(message = "Minimal price cannot be negative")
+    private final BigDecimal minPrice;
+
+    @Parameter(name = "max_price", description = "Maximal start price for filtration. Can be null." +
+            " Optional parameter", example = "100")
+    @PositiveOrZero(message = "Maximal price cannot be negative")
+    private final BigDecimal maxPrice;
+
+    @Parameter(name = "ending_within_hours", description = "Only offers whose auctions finish within" +
+            " the given number of hours. Can be null. Optional parameter", example = "24")
+    @Positive(message = "Hours until the end of the auction must be positive")
+    private final Integer endingWithinHours;
+
+    /**
+     * Creates the filter from the request parameters, which are bound by their snake case names.
+     */
+    @Builder
+    public OfferFilterDto(
+            @BindParam("category_id") Long categoryId,
+            String status,
+            @BindParam("free") Boolean isFree,
+            @BindParam("location_id") Long locationId,
+            @BindParam("min_price") BigDecimal minPrice,
+            @BindParam("max_price") BigDecimal maxPrice,
+            @BindParam("ending_within_hours") Integer endingWithinHours) {
+        this.categoryId = categoryId;
+        this.status = status;
+        this.isFree = isFree;
+        this.locationId = locationId;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.endingWithinHours = endingWithinHours;
+    }
+}
@@ -0,0 +1,28 @@
+package de.ait.secondlife.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "List of offers response DTO with cursor pagination")
+public class OfferResponseWithCursorDto {
+
+    @Schema(description = "List of offers response DTO in list order")
+    private List<OfferResponseDto> offers;
+
+    @Schema(description = "Current page size", example = "20")
+    private int pageSize;
+
+    @Schema(description = "Cursor of the next page, null for the last page", example = "eyJzb3J0QnkiOiJjcmVhdGVkQXQiLCJhc2MiOnRydWUsInZhbHVlIjoiMjAyNC0wNi0wMVQxMjowMCIsImlkIjo0Mn0")
+    private String nextCursor;
+
+    @Schema(description = "Is last page?", example = "false")
+    private Boolean isLastPage;
+
+    @Schema(description = "Total number of elements, only counted if requested", example = "345")
+    private Long totalElements;
+}
@@ -4,15 +4,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
 
-import java.util.Set;
+import java.util.List;
 
 @Data
 @Builder
 @Schema(description = "List of offers response DTO with pagination")
 public class OfferResponseWithPaginationDto {
 
-    @Schema(description = "Set of offers response DTO")
-    private Set<OfferResponseDto> offers;
+    @Schema(description = "List of offers response DTO in the requested sort order")
+    private List<OfferResponseDto> offers;
 
     @Schema(description = "Current page number", example = "6")
     private int pageNumber;
@@ -0,0 +1,34 @@
+package de.ait.secondlife.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OfferSearchDocumentDto {
+
+    private Long offerId;
+
+    private String title;
+
+    private String description;
+
+    private String categoryName;
+
+    private Long locationId;
+
+    private String locationName;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime auctionFinishedAt;
+
+    private BigDecimal startPrice;
+
+    private BigDecimal winBid;
+}
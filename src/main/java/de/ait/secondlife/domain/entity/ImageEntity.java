@@ -40,4 +40,17 @@ public class ImageEntity {
 
     @Column(name="updated_at")
     private LocalDateTime updatedAt;
+
+    @Column(name="uploaded_by")
+    private Long uploadedBy;
+
+    // storage key of the file before the path migration, unlike full_path which is a URL
+    @Column(name="legacy_key")
+    private String legacyKey;
+
+    @Column(name="migrated_at")
+    private LocalDateTime migratedAt;
+
+    @Column(name="migration_attempts")
+    private int migrationAttempts;
 }
\ No newline at end of file
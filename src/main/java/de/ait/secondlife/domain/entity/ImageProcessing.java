@@ -0,0 +1,58 @@
+package de.ait.secondlife.domain.entity;
+
+import de.ait.secondlife.constants.ImageProcessingState;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "image_processing")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ImageProcessing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "base_name")
+    private String baseName;
+
+    @Column(name = "entity_type")
+    private String entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "original_path")
+    private String originalPath;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state")
+    private ImageProcessingState state;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
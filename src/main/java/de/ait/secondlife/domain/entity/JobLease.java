@@ -0,0 +1,29 @@
+package de.ait.secondlife.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_lease")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class JobLease {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
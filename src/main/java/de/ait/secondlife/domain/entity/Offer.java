@@ -10,7 +10,6 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 
 @Entity
@@ -75,23 +74,20 @@ public class Offer implements EntityWithImage {
     @OneToMany(mappedBy = "offer", fetch = FetchType.LAZY)
     private List<Bid> bids;
 
+    // Bid aggregates are written only by the atomic update of OfferRepository.applyBid
+    @Column(name = "max_bid_value", insertable = false, updatable = false)
+    private BigDecimal maxBidValue;
+
+    @Column(name = "max_bid_id", insertable = false, updatable = false)
+    private Long maxBidId;
+
+    @Column(name = "bids_count", insertable = false, updatable = false)
+    private int bidsCount;
+
     public OfferStatus getOfferStatus() {
         return status.getName();
     }
 
-    public BigDecimal getMaxBidValue() {
-        if (bids == null) {
-            return null;
-        }
-        return bids.stream()
-                .max(Comparator.comparing(Bid::getBidValue))
-                .map(Bid::getBidValue)
-                .orElse(null);
-    }
-
-    public int getBidsCount() {
-        return bids == null ? 0 : bids.size();
-    }
 }
 
 
@@ -0,0 +1,36 @@
+package de.ait.secondlife.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "offer_participation")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class OfferParticipation {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id")
+        private Long userId;
+
+        @Column(name = "offer_id")
+        private Long offerId;
+    }
+}
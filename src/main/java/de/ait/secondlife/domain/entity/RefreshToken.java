@@ -0,0 +1,37 @@
+package de.ait.secondlife.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "refresh_token")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash")
+    private String tokenHash;
+
+    @Column(name = "family")
+    private String family;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used")
+    private boolean used;
+}
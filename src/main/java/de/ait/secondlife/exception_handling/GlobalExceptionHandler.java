@@ -5,6 +5,7 @@ import de.ait.secondlife.exception_handling.dto.ValidationErrorDto;
 import de.ait.secondlife.exception_handling.dto.ValidationErrorsDto;
 import de.ait.secondlife.exception_handling.exceptions.DuplicateCategoryException;
 import de.ait.secondlife.exception_handling.exceptions.DuplicateUserEmailException;
+import de.ait.secondlife.exception_handling.exceptions.ImageUploadIsBusyException;
 import de.ait.secondlife.exception_handling.exceptions.NoRightsException;
 import de.ait.secondlife.exception_handling.exceptions.UserSavingException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadRequestException;
@@ -86,6 +87,11 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new ResponseMessageDto(e.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ImageUploadIsBusyException.class)
+    public ResponseEntity<ResponseMessageDto> handleException(ImageUploadIsBusyException e) {
+        return new ResponseEntity<>(new ResponseMessageDto(e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ResponseMessageDto> handleException(RuntimeException e) {
         log.error("RuntimeException occurred", e);
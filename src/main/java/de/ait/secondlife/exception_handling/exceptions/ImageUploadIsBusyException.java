@@ -0,0 +1,8 @@
+package de.ait.secondlife.exception_handling.exceptions;
+
+public class ImageUploadIsBusyException extends RuntimeException {
+
+    public ImageUploadIsBusyException() {
+        super("Too many images are being uploaded, please try again later");
+    }
+}
@@ -0,0 +1,13 @@
+package de.ait.secondlife.exception_handling.exceptions.bad_request_exception;
+
+
+public class BadImageDimensionsException extends BadRequestException {
+    public BadImageDimensionsException(int width, int height) {
+
+        super(String.format(
+                "Image dimensions <%dx%d> are larger than allowed"
+                , width
+                , height));
+
+    }
+}
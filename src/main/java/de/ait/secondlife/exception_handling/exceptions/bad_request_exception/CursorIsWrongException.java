@@ -0,0 +1,10 @@
+package de.ait.secondlife.exception_handling.exceptions.bad_request_exception;
+
+
+public class CursorIsWrongException extends BadRequestException {
+
+    public CursorIsWrongException(String cursor) {
+
+        super(String.format("Pagination cursor is wrong <%s>", cursor));
+    }
+}
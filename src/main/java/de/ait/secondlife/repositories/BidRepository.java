@@ -1,8 +1,23 @@
 package de.ait.secondlife.repositories;
 
+import de.ait.secondlife.domain.dto.OfferBidsSummaryDto;
 import de.ait.secondlife.domain.entity.Bid;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface BidRepository extends JpaRepository<Bid, Long> {
 
+    boolean existsByOfferIdAndUserId(Long offerId, Long userId);
+
+    @Query("SELECT new de.ait.secondlife.domain.dto.OfferBidsSummaryDto(b.offer.id, MAX(b.bidValue), COUNT(b)) " +
+            "FROM Bid b " +
+            "WHERE b.offer.id IN :offerIds AND b.user.id = :userId " +
+            "GROUP BY b.offer.id")
+    List<OfferBidsSummaryDto> summarizeByOfferIdsAndUserId(
+            @Param("offerIds") Collection<Long> offerIds,
+            @Param("userId") Long userId);
 }
@@ -0,0 +1,60 @@
+package de.ait.secondlife.repositories;
+
+import de.ait.secondlife.constants.ImageProcessingState;
+import de.ait.secondlife.domain.entity.ImageProcessing;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageProcessingRepository extends JpaRepository<ImageProcessing, Long> {
+
+    @Query(value = "SELECT * FROM image_processing " +
+            "WHERE state = 'PROCESSING' AND next_attempt_at <= :currentTime " +
+            "ORDER BY next_attempt_at, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<ImageProcessing> findPendingForUpdate(
+            @Param("currentTime") LocalDateTime currentTime,
+            @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageProcessing p SET p.attempts = p.attempts + 1, p.nextAttemptAt = :claimedUntil " +
+            "WHERE p.id IN :ids")
+    void claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageProcessing p SET p.nextAttemptAt = :nextAttemptAt WHERE p.id = :id")
+    void scheduleAttempt(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageProcessing p SET p.entityId = :entityId, p.updatedAt = :updatedAt " +
+            "WHERE p.baseName = :baseName AND p.entityType = :entityType " +
+            "AND p.entityId IS NULL AND p.state = de.ait.secondlife.constants.ImageProcessingState.PROCESSING")
+    int attachPending(
+            @Param("baseName") String baseName,
+            @Param("entityType") String entityType,
+            @Param("entityId") Long entityId,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ImageProcessing p WHERE p.id = :id")
+    Optional<ImageProcessing> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    long lockSubmissions(@Param("key") long key);
+
+    long countByState(ImageProcessingState state);
+
+    long countByEntityTypeAndEntityIdAndState(String entityType, Long entityId, ImageProcessingState state);
+
+    Optional<ImageProcessing> findByBaseName(String baseName);
+}
@@ -1,9 +1,11 @@
 package de.ait.secondlife.repositories;
 
 import de.ait.secondlife.domain.entity.ImageEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -11,10 +13,17 @@ public interface ImageRepository extends JpaRepository<ImageEntity,Long> {
 
     Set<ImageEntity> findAllByEntityIdAndEntityType(Long id, String entityType);
 
+    List<ImageEntity> findAllByEntityTypeAndEntityIdIn(String entityType, Collection<Long> entityIds);
+
     Set<ImageEntity> findAllByBaseName(String baseName);
 
     List<ImageEntity> findAllByEntityIdIsNullAndCreatedAtLessThan(LocalDateTime dateTime);
 
+    List<ImageEntity> findAllByIdGreaterThanAndEntityIdIsNotNullAndFullPathNotLikeAndMigrationAttemptsLessThanOrderById(
+            Long id, String fullPathPattern, int maxAttempts, Pageable pageable);
+
+    List<ImageEntity> findAllByLegacyKeyIsNotNullAndMigratedAtLessThan(LocalDateTime dateTime);
+
     void deleteAllByBaseName(String baseName);
 
     void deleteAllByBaseNameIn(Set<String> baseNames);
@@ -0,0 +1,28 @@
+package de.ait.secondlife.repositories;
+
+import de.ait.secondlife.domain.entity.JobLease;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (name, owner, expires_at) " +
+            "VALUES (:name, :owner, LOCALTIMESTAMP + :ttlSeconds * INTERVAL '1 second') " +
+            "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+            "WHERE job_lease.owner = EXCLUDED.owner OR job_lease.expires_at < LOCALTIMESTAMP",
+            nativeQuery = true)
+    int acquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("ttlSeconds") long ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JobLease l WHERE l.owner = :owner")
+    void deleteAllByOwner(@Param("owner") String owner);
+}
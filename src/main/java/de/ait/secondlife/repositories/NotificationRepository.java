@@ -2,8 +2,40 @@ package de.ait.secondlife.repositories;
 
 import de.ait.secondlife.domain.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    Notification findFirstBySentAtIsNull();
+    @Query(value = "SELECT * FROM notification " +
+            "WHERE sent_at IS NULL AND failed_at IS NULL " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :currentTime) " +
+            "ORDER BY id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Notification> findPendingForUpdate(
+            @Param("currentTime") LocalDateTime currentTime,
+            @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.attempts = n.attempts + 1, n.nextAttemptAt = :claimedUntil WHERE n.id IN :ids")
+    void claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.sentAt = :sentAt WHERE n.id IN :ids")
+    void markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.nextAttemptAt = :nextAttemptAt WHERE n.id IN :ids")
+    void scheduleRetry(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.failedAt = :failedAt WHERE n.id IN :ids")
+    void markFailed(@Param("ids") Collection<Long> ids, @Param("failedAt") LocalDateTime failedAt);
 }
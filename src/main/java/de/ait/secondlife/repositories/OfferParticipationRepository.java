@@ -0,0 +1,22 @@
+package de.ait.secondlife.repositories;
+
+import de.ait.secondlife.domain.entity.OfferParticipation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface OfferParticipationRepository extends JpaRepository<OfferParticipation, OfferParticipation.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO offer_participation (user_id, offer_id, created_at) " +
+            "VALUES (:userId, :offerId, :createdAt) " +
+            "ON CONFLICT (user_id, offer_id) DO NOTHING",
+            nativeQuery = true)
+    void add(
+            @Param("userId") Long userId,
+            @Param("offerId") Long offerId,
+            @Param("createdAt") LocalDateTime createdAt);
+}
@@ -1,64 +1,133 @@
 package de.ait.secondlife.repositories;
 
 import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.dto.OfferExpiryDto;
+import de.ait.secondlife.domain.dto.OfferSearchDocumentDto;
 import de.ait.secondlife.domain.entity.Offer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-
-public interface OfferRepository extends JpaRepository<Offer, Long> {
-
-    @Query("SELECT o FROM Offer o WHERE" +
-            " (:categoryId IS NULL OR o.category.id = :categoryId) " +
-            "AND (:offerStatus IS NULL OR o.status.name = :offerStatus ) " +
-            "AND (:isFree IS NULL OR o.isFree = :isFree )")
-    Page<Offer> findAll(
-            @Param("categoryId") Long categoryId,
-            @Param("offerStatus") OfferStatus offerStatus,
-            @Param("isFree") Boolean isFree,
+import java.util.Optional;
+
+public interface OfferRepository extends JpaRepository<Offer, Long>, JpaSpecificationExecutor<Offer> {
+
+    String SEARCH_VECTOR = "setweight(to_tsvector('english', coalesce(title, '')), 'A') " +
+            "|| setweight(to_tsvector('german', coalesce(title, '')), 'A') " +
+            "|| setweight(to_tsvector('english', coalesce(description, '')), 'B') " +
+            "|| setweight(to_tsvector('german', coalesce(description, '')), 'B')";
+
+    String SEARCH_QUERY = "(to_tsquery('english', :query) || to_tsquery('german', :query))";
+
+    String SEARCH_CONDITION = " WHERE o.search_vector @@ " + SEARCH_QUERY +
+            " AND o.status_id = (SELECT s.id FROM status s WHERE s.name = :offerStatus)" +
+            " AND (CAST(:locationId AS bigint) IS NULL OR o.location_id = :locationId)";
+
+    @Query("SELECT o.id FROM Offer o " +
+            "WHERE o.auctionFinishedAt <= :currentTime AND o.status.name = :status AND o.id > :lastId " +
+            "ORDER BY o.id")
+    List<Long> findFinishedAuctionIds(
+            @Param("currentTime") LocalDateTime currentTime,
+            @Param("status") OfferStatus status,
+            @Param("lastId") Long lastId,
             Pageable pageable);
 
-    @Query("SELECT o FROM Offer o WHERE" +
-            " (:categoryId IS NULL OR o.category.id = :categoryId) " +
-            "AND (:offerStatus IS NULL OR o.status.name = :offerStatus ) " +
-            "AND (:isFree IS NULL OR o.isFree = :isFree ) " +
-            "AND o.user.id =:id")
-    Page<Offer> findByUserId(
-            @Param("id") Long id,
-            @Param("categoryId") Long categoryId,
-            @Param("offerStatus") OfferStatus offerStatus,
-            @Param("isFree") Boolean isFree,
+    @Query("SELECT new de.ait.secondlife.domain.dto.OfferExpiryDto(o.id, o.auctionFinishedAt) " +
+            "FROM Offer o WHERE o.status.name = :status AND o.auctionFinishedAt IS NOT NULL")
+    List<OfferExpiryDto> findAuctionExpiries(@Param("status") OfferStatus status);
+
+    @Query("SELECT new de.ait.secondlife.domain.dto.OfferSearchDocumentDto(" +
+            "o.id, o.title, o.description, c.name, l.id, l.name, " +
+            "o.createdAt, o.updatedAt, o.auctionFinishedAt, o.startPrice, o.winBid) " +
+            "FROM Offer o LEFT JOIN o.category c LEFT JOIN o.location l " +
+            "WHERE o.status.name = :status AND o.id > :lastId " +
+            "ORDER BY o.id")
+    List<OfferSearchDocumentDto> findSearchDocuments(
+            @Param("status") OfferStatus status,
+            @Param("lastId") Long lastId,
             Pageable pageable);
 
-    @Query("SELECT o FROM Offer o WHERE o.auctionFinishedAt <= :currentTime AND o.status.name = :status")
-    List<Offer> findFinishedAuctions(LocalDateTime currentTime, OfferStatus status);
+    @Query("SELECT new de.ait.secondlife.domain.dto.OfferSearchDocumentDto(" +
+            "o.id, o.title, o.description, c.name, l.id, l.name, " +
+            "o.createdAt, o.updatedAt, o.auctionFinishedAt, o.startPrice, o.winBid) " +
+            "FROM Offer o LEFT JOIN o.category c LEFT JOIN o.location l " +
+            "WHERE o.status.name = :status AND o.id = :id")
+    Optional<OfferSearchDocumentDto> findSearchDocument(
+            @Param("status") OfferStatus status,
+            @Param("id") Long id);
 
-    @Query("SELECT o FROM Offer o" +
-            " WHERE (o.status.name = :offerStatus)" +
-            " AND (:locationId IS NULL OR o.location.id = :locationId)" +
-            " AND (LOWER(o.title) LIKE LOWER(CONCAT('%', :pattern, '%'))" +
-            " OR LOWER(o.description) LIKE LOWER(CONCAT('%', :pattern, '%')))")
-    Page<Offer> searchAll(OfferStatus offerStatus, Pageable pageable, Long locationId, String pattern);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Offer o WHERE o.id = :id")
+    Optional<Offer> findByIdForUpdate(@Param("id") Long id);
 
-    @Query("SELECT o FROM Offer o " +
-            "JOIN o.bids b " +
-            "WHERE " +
-            "(:categoryId IS NULL OR o.category.id = :categoryId) " +
-            "AND (:offerStatus IS NULL OR o.status.name = :offerStatus) " +
-            "AND (:isFree IS NULL OR o.isFree = :isFree) " +
-            "AND o.status.name IN :statuses " +
-            "AND b.user.id = :id " )
-    Page<Offer> findUserAuctionParticipations(
-            @Param("id") Long id,
-            @Param("categoryId") Long categoryId,
-            @Param("offerStatus") OfferStatus offerStatus,
-            @Param("isFree") Boolean isFree,
-            @Param("statuses") Set<OfferStatus> statuses,
+    @Query("SELECT COUNT(o) FROM Offer o WHERE o.auctionFinishedAt <= :currentTime AND o.status.name = :status")
+    long countFinishedAuctions(
+            @Param("currentTime") LocalDateTime currentTime,
+            @Param("status") OfferStatus status);
+
+    // The ranked offers are wrapped in a subquery, so relevance is a column the appended ORDER BY can use
+    @Query(value = "SELECT * FROM (SELECT o.*, ts_rank_cd(o.search_vector, " + SEARCH_QUERY + ") AS relevance" +
+            " FROM offer o" + SEARCH_CONDITION + ") o",
+            countQuery = "SELECT COUNT(*) FROM offer o" + SEARCH_CONDITION,
+            nativeQuery = true)
+    Page<Offer> searchAll(
+            @Param("offerStatus") String offerStatus,
+            @Param("locationId") Long locationId,
+            @Param("query") String query,
             Pageable pageable);
+
+    @Query(value = "SELECT o.id AS id, ts_rank_cd(o.search_vector, " + SEARCH_QUERY + ") AS relevance " +
+            "FROM offer o" + SEARCH_CONDITION +
+            " AND (CAST(:lastId AS bigint) IS NULL" +
+            " OR (ts_rank_cd(o.search_vector, " + SEARCH_QUERY + "), o.id) < (CAST(:lastRelevance AS real), :lastId))" +
+            " ORDER BY relevance DESC, o.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<OfferRelevance> searchAfter(
+            @Param("offerStatus") String offerStatus,
+            @Param("locationId") Long locationId,
+            @Param("query") String query,
+            @Param("lastRelevance") Float lastRelevance,
+            @Param("lastId") Long lastId,
+            @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE offer SET search_vector = " + SEARCH_VECTOR + " WHERE id = :id", nativeQuery = true)
+    void updateSearchVector(@Param("id") Long id);
+
+    @Query("SELECT o FROM Offer o " +
+            "LEFT JOIN FETCH o.user " +
+            "LEFT JOIN FETCH o.status " +
+            "LEFT JOIN FETCH o.winnerBid wb " +
+            "LEFT JOIN FETCH wb.user " +
+            "WHERE o.id IN :ids")
+    List<Offer> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE offer SET " +
+            "bids_count = bids_count + 1, " +
+            "max_bid_id = CASE WHEN max_bid_value IS NULL OR max_bid_value < :bidValue THEN :bidId ELSE max_bid_id END, " +
+            "max_bid_value = CASE WHEN max_bid_value IS NULL OR max_bid_value < :bidValue THEN :bidValue ELSE max_bid_value END " +
+            "WHERE id = :offerId",
+            nativeQuery = true)
+    void applyBid(
+            @Param("offerId") Long offerId,
+            @Param("bidId") Long bidId,
+            @Param("bidValue") BigDecimal bidValue);
+
+    interface OfferRelevance {
+
+        Long getId();
+
+        Float getRelevance();
+    }
 }
@@ -0,0 +1,32 @@
+package de.ait.secondlife.repositories;
+
+import de.ait.secondlife.domain.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.used = true " +
+            "WHERE t.id = :id AND t.used = false AND t.expiresAt > :currentTime")
+    int markUsed(@Param("id") Long id, @Param("currentTime") LocalDateTime currentTime);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.family = :family")
+    void deleteAllByFamily(@Param("family") String family);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.subject = :subject")
+    void deleteAllBySubject(@Param("subject") String subject);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :currentTime")
+    int deleteAllExpired(@Param("currentTime") LocalDateTime currentTime);
+}
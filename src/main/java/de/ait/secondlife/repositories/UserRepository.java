@@ -1,13 +1,26 @@
 package de.ait.secondlife.repositories;
 
 import de.ait.secondlife.domain.entity.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByIdAndActiveTrue(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastActive = :lastActive " +
+            "WHERE u.id IN :ids AND (u.lastActive IS NULL OR u.lastActive < :lastActive)")
+    int updateLastActive(@Param("ids") Collection<Long> ids, @Param("lastActive") LocalDateTime lastActive);
 }
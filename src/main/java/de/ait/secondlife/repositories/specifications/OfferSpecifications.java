@@ -0,0 +1,165 @@
+package de.ait.secondlife.repositories.specifications;
+
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.domain.entity.OfferParticipation;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Query conditions for offers.(Version 1.0)
+ *
+ * <p>
+ * Each filter returns no condition when its value is null, so combined specifications
+ * contain only the conditions of the supplied filters. Unlike "(:value IS NULL OR ...)" conditions,
+ * every combination of filters becomes its own statement, which the database plans with the indexes
+ * of the supplied filters. References to other entities are compared by their foreign keys
+ * without joins.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public final class OfferSpecifications {
+
+    private OfferSpecifications() {
+    }
+
+    /**
+     * Fetches the owner, the status and the winner bid with its bidder together with the offers,
+     * which the listing DTOs are built from. Count queries are left without the fetches.
+     *
+     * @return specification without a condition
+     */
+    public static Specification<Offer> fetchListingDetails() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("user", JoinType.LEFT);
+                root.fetch("status", JoinType.LEFT);
+                root.fetch("winnerBid", JoinType.LEFT).fetch("user", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Offer> hasCategory(Long categoryId) {
+        return (root, query, cb) -> categoryId == null ? null
+                : cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * Compares the status foreign key of the offer, so the status table is not joined.
+     *
+     * @param statusId ID of the status, can be null
+     * @return condition on the status of the offer
+     */
+    public static Specification<Offer> hasStatus(Long statusId) {
+        return (root, query, cb) -> statusId == null ? null
+                : cb.equal(root.get("status").get("id"), statusId);
+    }
+
+    public static Specification<Offer> hasStatusIn(Collection<Long> statusIds) {
+        return (root, query, cb) -> statusIds == null ? null
+                : root.get("status").get("id").in(statusIds);
+    }
+
+    public static Specification<Offer> isFree(Boolean isFree) {
+        return (root, query, cb) -> isFree == null ? null
+                : cb.equal(root.get("isFree"), isFree);
+    }
+
+    public static Specification<Offer> hasOwner(Long userId) {
+        return (root, query, cb) -> userId == null ? null
+                : cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * Selects offers the user has placed a bid on. The participation of the user is looked up
+     * by the primary key of offer_participation, which has one row per user and offer.
+     *
+     * @param userId ID of the bidder, can be null
+     * @return condition on the participation of the user
+     */
+    public static Specification<Offer> hasParticipant(Long userId) {
+        return (root, query, cb) -> {
+            if (userId == null) {
+                return null;
+            }
+            Subquery<Long> participation = query.subquery(Long.class);
+            Root<OfferParticipation> participationRoot = participation.from(OfferParticipation.class);
+            participation.select(participationRoot.get("id").get("offerId"))
+                    .where(cb.equal(participationRoot.get("id").get("userId"), userId),
+                            cb.equal(participationRoot.get("id").get("offerId"), root.get("id")));
+            return cb.exists(participation);
+        };
+    }
+
+    public static Specification<Offer> hasLocation(Long locationId) {
+        return (root, query, cb) -> locationId == null ? null
+                : cb.equal(root.get("location").get("id"), locationId);
+    }
+
+    public static Specification<Offer> startPriceFrom(BigDecimal minPrice) {
+        return (root, query, cb) -> minPrice == null ? null
+                : cb.greaterThanOrEqualTo(root.get("startPrice"), minPrice);
+    }
+
+    public static Specification<Offer> startPriceTo(BigDecimal maxPrice) {
+        return (root, query, cb) -> maxPrice == null ? null
+                : cb.lessThanOrEqualTo(root.get("startPrice"), maxPrice);
+    }
+
+    /**
+     * Selects offers whose auctions finish between now and the given time.
+     *
+     * @param now   current time
+     * @param until latest finish time, can be null
+     * @return condition on the finish time of the auction
+     */
+    public static Specification<Offer> auctionFinishesBetween(LocalDateTime now, LocalDateTime until) {
+        return (root, query, cb) -> until == null ? null
+                : cb.between(root.get("auctionFinishedAt"), now, until);
+    }
+
+    /**
+     * Selects offers placed after the given offer in the list sorted by the field and ID
+     * in the same direction. Empty field values are placed after the others in ascending order
+     * and before them in descending order. The condition on the field alone is repeated,
+     * so the database can start an index range scan at the given offer.
+     *
+     * @param field    sort field
+     * @param value    sort value of the given offer, can be null
+     * @param id       ID of the given offer
+     * @param asc      whether the sort direction is ascending
+     * @param nullable whether the field can be empty
+     * @return condition of the offers following the given one
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Offer> after(String field, Comparable value, Long id, boolean asc, boolean nullable) {
+        return (root, query, cb) -> {
+            Path<Comparable> sortField = root.get(field);
+            Path<Long> offerId = root.get("id");
+            Predicate nextId = asc ? cb.greaterThan(offerId, id) : cb.lessThan(offerId, id);
+
+            if (value == null) {
+                Predicate nextEmpty = cb.and(cb.isNull(sortField), nextId);
+                return asc ? nextEmpty : cb.or(nextEmpty, cb.isNotNull(sortField));
+            }
+            Predicate next = asc
+                    ? cb.and(cb.greaterThanOrEqualTo(sortField, value), cb.or(cb.greaterThan(sortField, value), nextId))
+                    : cb.and(cb.lessThanOrEqualTo(sortField, value), cb.or(cb.lessThan(sortField, value), nextId));
+            return asc && nullable ? cb.or(next, cb.isNull(sortField)) : next;
+        };
+    }
+}
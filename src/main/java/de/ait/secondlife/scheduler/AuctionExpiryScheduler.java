@@ -0,0 +1,127 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.services.interfaces.AuctionExpiryService;
+import de.ait.secondlife.services.interfaces.OfferService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finishes auctions exactly at their deadline.(Version 1.0)
+ *
+ * <p>
+ * Finish times of running auctions are kept in a delay queue. They are loaded once at startup
+ * and added whenever an auction is started. A single daemon thread waits for the nearest deadline
+ * and finishes the offer through {@link AuctionFinisher#finishOffer(Long)}, so the offer table
+ * is not polled while no auction is due.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuctionExpiryScheduler implements AuctionExpiryService {
+
+    private final OfferService offerService;
+    private final AuctionFinisher auctionFinisher;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final Map<Long, Expiry> scheduled = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        offerService.findRunningAuctionExpiries()
+                .forEach(expiry -> schedule(expiry.getOfferId(), expiry.getAuctionFinishedAt()));
+
+        worker = new Thread(this::run, "auction-expiry-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Schedules finishing of the auction of the given offer at its auction finish time.
+     * A previously scheduled finish time of the same offer is replaced.
+     *
+     * @param offer offer with a started auction
+     */
+    @Override
+    public void register(Offer offer) {
+        schedule(offer.getId(), offer.getAuctionFinishedAt());
+    }
+
+    private void schedule(Long offerId, LocalDateTime auctionFinishedAt) {
+        if (offerId == null || auctionFinishedAt == null) {
+            return;
+        }
+        Expiry expiry = new Expiry(offerId, toEpochMillis(auctionFinishedAt));
+        Expiry previous = scheduled.put(offerId, expiry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.put(expiry);
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Expiry expiry = queue.take();
+                scheduled.remove(expiry.offerId(), expiry);
+                auctionFinisher.finishOffer(expiry.offerId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Auction expiry scheduler failed", e);
+            }
+        }
+    }
+
+    /**
+     * Converts the finish time to epoch milliseconds, rounding up, so that the queue never
+     * releases an offer before its finish time has passed.
+     */
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.plusNanos(999_999)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    private record Expiry(Long offerId, long deadlineMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
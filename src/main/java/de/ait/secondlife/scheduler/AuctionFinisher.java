@@ -1,22 +1,194 @@
 package de.ait.secondlife.scheduler;
 
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
 import de.ait.secondlife.services.interfaces.OfferService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduled task finishing expired auctions.(Version 1.0)
+ *
+ * <p>
+ * Auctions are normally finished at their deadline by {@link AuctionExpiryScheduler}; this task
+ * runs with a low frequency (property auction.finisher.rate) as a safety net for auctions missed
+ * by it, e.g. expired while the application was down. When several instances are running,
+ * only the holder of the job lease executes the scheduled run.
+ * </p>
+ *
+ * <p>
+ * Expired offers are read by ID in chunks using keyset paging, and every offer is finished
+ * in its own transaction, so a failing offer does not roll back the others. Failed offers are
+ * retried in later runs with an exponential backoff. Retry records of offers which a run no longer
+ * finds among the expired auctions, e.g. cancelled or finished elsewhere, are dropped at the end
+ * of the run. Offers of a chunk can be processed by
+ * several parallel workers (property auction.finisher.workers).
+ * </p>
+ *
+ * <p>
+ * Metrics: auction.finisher.backlog (expired auctions waiting to be finished),
+ * auction.finisher.lag (delay between auction end and its actual finishing),
+ * auction.finisher.failures (failed finishing attempts).
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Slf4j
 @Component
 @EnableScheduling
 @RequiredArgsConstructor
 public class AuctionFinisher {
 
+    private static final String JOB_NAME = "auction-finisher";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(30);
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofMinutes(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
     private final OfferService offerService;
+    private final MeterRegistry meterRegistry;
+    private final JobLeaseService leaseService;
+
+    @Value("${auction.finisher.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${auction.finisher.workers:1}")
+    private int workers;
+
+    private final Map<Long, FailedAttempt> failedAttempts = new ConcurrentHashMap<>();
+    private final AtomicLong backlog = new AtomicLong();
+    private ExecutorService executor;
+    private Timer lagTimer;
+    private Counter failureCounter;
+
+    @PostConstruct
+    public void init() {
+        if (workers > 1) {
+            executor = Executors.newFixedThreadPool(workers);
+        }
+        meterRegistry.gauge("auction.finisher.backlog", backlog);
+        lagTimer = Timer.builder("auction.finisher.lag")
+                .description("Delay between auction end and its actual finishing")
+                .register(meterRegistry);
+        failureCounter = meterRegistry.counter("auction.finisher.failures");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${auction.finisher.rate:600000}")
+    public void finishAuctionOnLeaseHolder() {
+        if (leaseService.acquire(JOB_NAME, LEASE_TTL)) {
+            finishAuction();
+        }
+    }
 
-    @Scheduled(fixedRate = 60000)
-    @Transactional
     public void finishAuction() {
-        offerService.findUnfinishedAuctions().forEach(offerService::finishAuction);
+        backlog.set(offerService.countUnfinishedAuctions());
+        Set<Long> obsoleteAttempts = new HashSet<>(failedAttempts.keySet());
+
+        long lastId = 0;
+        List<Long> chunk;
+        do {
+            chunk = offerService.findUnfinishedAuctionIds(lastId, chunkSize);
+            if (!chunk.isEmpty()) {
+                chunk.forEach(obsoleteAttempts::remove);
+                processChunk(chunk);
+                lastId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+
+        obsoleteAttempts.forEach(failedAttempts::remove);
+        backlog.set(offerService.countUnfinishedAuctions());
+    }
+
+    private void processChunk(List<Long> offerIds) {
+        List<Long> dueOfferIds = offerIds.stream()
+                .filter(this::isRetryDue)
+                .toList();
+
+        if (executor == null) {
+            dueOfferIds.forEach(this::finishOffer);
+            return;
+        }
+
+        List<Callable<Void>> tasks = dueOfferIds.stream()
+                .<Callable<Void>>map(id -> () -> {
+                    finishOffer(id);
+                    return null;
+                })
+                .toList();
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finishes the auction of the offer in its own transaction if it is expired.
+     * Failures are logged and remembered for a delayed retry by the next run.
+     *
+     * @param offerId ID of the offer
+     */
+    public void finishOffer(Long offerId) {
+        try {
+            Offer offer = offerService.finishExpiredAuction(offerId);
+            failedAttempts.remove(offerId);
+            if (offer != null) {
+                lagTimer.record(Duration.between(offer.getAuctionFinishedAt(), LocalDateTime.now()));
+            }
+        } catch (RuntimeException e) {
+            FailedAttempt attempt = failedAttempts.merge(
+                    offerId,
+                    new FailedAttempt(1, LocalDateTime.now().plus(FIRST_RETRY_DELAY)),
+                    (previous, first) -> previous.next()
+            );
+            failureCounter.increment();
+            log.error("Failed to finish auction of offer [ID={}], attempt {}, next attempt at {}",
+                    offerId, attempt.attempts(), attempt.nextAttemptAt(), e);
+        }
+    }
+
+    private boolean isRetryDue(Long offerId) {
+        FailedAttempt attempt = failedAttempts.get(offerId);
+        return attempt == null || !attempt.nextAttemptAt().isAfter(LocalDateTime.now());
+    }
+
+    private record FailedAttempt(int attempts, LocalDateTime nextAttemptAt) {
+
+        FailedAttempt next() {
+            Duration delay = FIRST_RETRY_DELAY.multipliedBy(1L << Math.min(attempts, 6));
+            if (delay.compareTo(MAX_RETRY_DELAY) > 0) {
+                delay = MAX_RETRY_DELAY;
+            }
+            return new FailedAttempt(attempts + 1, LocalDateTime.now().plus(delay));
+        }
     }
 }
@@ -1,20 +1,29 @@
 package de.ait.secondlife.scheduler;
 
 import de.ait.secondlife.services.interfaces.ConfirmationService;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @EnableScheduling
 @RequiredArgsConstructor
 public class ConfirmationCodeCleaner {
 
+    private static final String JOB_NAME = "confirmation-code-cleaner";
+    private static final Duration LEASE_TTL = Duration.ofHours(1);
+
     private final ConfirmationService service;
+    private final JobLeaseService leaseService;
 
     @Scheduled(cron = "0 5 4 * * *")
     public void clean(){
-        service.deleteAllExpired();
+        if (leaseService.acquire(JOB_NAME, LEASE_TTL)) {
+            service.deleteAllExpired();
+        }
     }
 }
@@ -0,0 +1,124 @@
+package de.ait.secondlife.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base class of components receiving notifications sent with pg_notify by other instances.(Version 1.0)
+ *
+ * <p>
+ * A daemon thread keeps a connection listening on a channel and passes every notification to
+ * {@link #onNotification(String)}. If the connection is lost, notifications sent in the meantime
+ * are lost too, so {@link #onListen()} is called whenever listening (re)starts to let the subclass
+ * reload its state.
+ * </p>
+ *
+ * <p>
+ * The connection is opened with the driver from the spring.datasource settings and not taken from
+ * the pool. A pooled connection would be held for the lifetime of the application and returned
+ * to the pool still listening. Every listener therefore opens one connection in addition to the
+ * pool, which counts toward max_connections of the database.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Slf4j
+public abstract class DatabaseNotificationListener {
+
+    private static final int POLL_TIMEOUT_MILLIS = 10000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final boolean enabled;
+
+    private Thread worker;
+
+    protected DatabaseNotificationListener(DataSourceProperties dataSourceProperties, String channel, boolean enabled) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Called when the channel is listened to, before any notification is passed.
+     */
+    protected abstract void onListen();
+
+    /**
+     * Called for every notification received on the channel.
+     *
+     * @param payload payload of the notification
+     */
+    protected abstract void onNotification(String payload);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        worker = new Thread(this::run, channel.replace('_', '-') + "-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                listen();
+            } catch (SQLException | RuntimeException e) {
+                log.error("Listener of channel {} lost its connection", channel, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void listen() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+            onListen();
+
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            while (!Thread.currentThread().isInterrupted()) {
+                PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                if (notifications == null) {
+                    continue;
+                }
+                for (PGNotification notification : notifications) {
+                    onNotification(notification.getParameter());
+                }
+            }
+        }
+    }
+}
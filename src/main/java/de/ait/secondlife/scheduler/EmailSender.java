@@ -1,20 +1,29 @@
 package de.ait.secondlife.scheduler;
 
 import de.ait.secondlife.services.interfaces.EmailService;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @EnableScheduling
 @RequiredArgsConstructor
 public class EmailSender {
 
+    private static final String JOB_NAME = "email-sender";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
     private final EmailService emailService;
+    private final JobLeaseService leaseService;
 
     @Scheduled(fixedRate = 60000)
     public void sendEmail(){
-        emailService.sendPendingEmails();
+        if (leaseService.acquire(JOB_NAME, LEASE_TTL)) {
+            emailService.sendPendingEmails();
+        }
     }
 }
@@ -0,0 +1,68 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.services.interfaces.ImageService;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Moves files of attached images to keys derived from their base names.(Version 1.0)
+ *
+ * <p>
+ * Enabled by image.path-migration.enabled. Every run migrates one batch of
+ * image.path-migration.batch-size images on the instance holding the job lease and continues
+ * after the last processed image on the next run. At the end of the table a new pass starts from
+ * the beginning, so images whose files could not be copied are retried and an instance taking
+ * over the lease picks up all images left by the previous holder. Images which failed
+ * image.path-migration.max-attempts times are skipped, so the migration stops once a pass started
+ * from the beginning finds no images to migrate, even if some files can never be copied.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "image.path-migration.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ImagePathMigrator {
+
+    private static final String JOB_NAME = "image-path-migrator";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+
+    private final ImageService imageService;
+    private final JobLeaseService leaseService;
+
+    @Value("${image.path-migration.batch-size:200}")
+    private int batchSize;
+
+    private volatile long lastId;
+    private volatile boolean finished;
+
+    @Scheduled(fixedDelayString = "${image.path-migration.delay:5000}")
+    public void migrate() {
+        if (finished || !leaseService.acquire(JOB_NAME, LEASE_TTL)) return;
+
+        Long processedId = imageService.migrateImagePaths(lastId, batchSize);
+        if (processedId != null) {
+            lastId = processedId;
+        } else if (lastId == 0) {
+            finished = true;
+            log.info("Image path migration is finished");
+        } else {
+            lastId = 0;
+        }
+    }
+}
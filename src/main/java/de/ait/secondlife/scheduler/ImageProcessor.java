@@ -0,0 +1,36 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.services.interfaces.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks up images waiting for asynchronous processing.(Version 1.0)
+ *
+ * <p>
+ * Images are normally processed right after their upload. The periodic check picks up images
+ * whose retry is due and images claimed by an instance which stopped before processing them.
+ * Every instance processes images; the queue hands out disjoint images.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+@EnableScheduling
+@RequiredArgsConstructor
+public class ImageProcessor {
+
+    private final ImageService imageService;
+
+    @Scheduled(fixedDelayString = "${image.processing.poll-delay:10000}")
+    public void processImages() {
+        imageService.processPendingImages();
+    }
+}
@@ -0,0 +1,20 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.services.interfaces.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@EnableScheduling
+@RequiredArgsConstructor
+public class LastActiveFlusher {
+
+    private final CustomUserDetails userDetailsService;
+
+    @Scheduled(fixedRateString = "${user.last-active.flush-rate:60000}")
+    public void flushLastActive() {
+        userDetailsService.flushLastActive();
+    }
+}
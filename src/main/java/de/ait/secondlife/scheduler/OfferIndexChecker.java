@@ -0,0 +1,29 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.services.OfferIndexSearchServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "offer.search.engine", havingValue = "index")
+@RequiredArgsConstructor
+public class OfferIndexChecker {
+
+    private final OfferIndexSearchServiceImpl searchService;
+
+    @Scheduled(fixedRateString = "${offer.search.index.check-rate:3600000}",
+            initialDelayString = "${offer.search.index.check-rate:3600000}")
+    public void check() {
+        OfferIndexSearchServiceImpl.CheckResult result = searchService.check();
+        if (!result.isConsistent()) {
+            log.warn("Offer search index is inconsistent with the database: {}, rebuilding", result);
+            searchService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.services.OfferIndexSearchServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives offer changes published by other instances to the offer search index.(Version 1.0)
+ *
+ * <p>
+ * Listens on the channel {@value OfferIndexSearchServiceImpl#CHANNEL} and passes every notification
+ * to the {@link OfferIndexSearchServiceImpl}. The index is rebuilt whenever listening (re)starts,
+ * which also builds it when the application starts.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+@ConditionalOnProperty(name = "offer.search.engine", havingValue = "index")
+public class OfferIndexListener extends DatabaseNotificationListener {
+
+    private final OfferIndexSearchServiceImpl searchService;
+
+    public OfferIndexListener(DataSourceProperties dataSourceProperties, OfferIndexSearchServiceImpl searchService) {
+        super(dataSourceProperties, OfferIndexSearchServiceImpl.CHANNEL, true);
+        this.searchService = searchService;
+    }
+
+    @Override
+    protected void onListen() {
+        searchService.rebuild();
+    }
+
+    @Override
+    protected void onNotification(String payload) {
+        searchService.onNotification(payload);
+    }
+}
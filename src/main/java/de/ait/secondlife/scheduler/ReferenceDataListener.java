@@ -0,0 +1,46 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.services.cache.ReferenceDataCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives reference data invalidations published by other instances.(Version 1.0)
+ *
+ * <p>
+ * Listens on the channel {@value ReferenceDataCache#CHANNEL} and passes every notification to the
+ * {@link ReferenceDataCache}. All cached data is dropped whenever listening (re)starts, since
+ * notifications sent while the connection was lost are not delivered.
+ * Listening can be switched off with reference-data.cache.listen=false.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+public class ReferenceDataListener extends DatabaseNotificationListener {
+
+    private final ReferenceDataCache cache;
+
+    public ReferenceDataListener(DataSourceProperties dataSourceProperties,
+                                 ReferenceDataCache cache,
+                                 @Value("${reference-data.cache.listen:true}") boolean enabled) {
+        super(dataSourceProperties, ReferenceDataCache.CHANNEL, enabled);
+        this.cache = cache;
+    }
+
+    @Override
+    protected void onListen() {
+        cache.evictAll();
+    }
+
+    @Override
+    protected void onNotification(String payload) {
+        cache.onNotification(payload);
+    }
+}
@@ -0,0 +1,29 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.security.services.RefreshTokenStore;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@EnableScheduling
+@RequiredArgsConstructor
+public class RefreshTokenCleaner {
+
+    private static final String JOB_NAME = "refresh-token-cleaner";
+    private static final Duration LEASE_TTL = Duration.ofHours(1);
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final JobLeaseService leaseService;
+
+    @Scheduled(cron = "0 15 4 * * *")
+    public void clean() {
+        if (leaseService.acquire(JOB_NAME, LEASE_TTL)) {
+            refreshTokenStore.deleteAllExpired();
+        }
+    }
+}
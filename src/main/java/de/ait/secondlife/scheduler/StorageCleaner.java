@@ -1,20 +1,30 @@
 package de.ait.secondlife.scheduler;
 
 import de.ait.secondlife.services.interfaces.ImageService;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @EnableScheduling
 @RequiredArgsConstructor
 public class StorageCleaner {
 
+    private static final String JOB_NAME = "storage-cleaner";
+    private static final Duration LEASE_TTL = Duration.ofHours(1);
+
     private final ImageService service;
+    private final JobLeaseService leaseService;
 
     @Scheduled(cron = "0 10 4 * * *")
     public void clean(){
-        service.deleteUnattachedImages();
+        if (leaseService.acquire(JOB_NAME, LEASE_TTL)) {
+            service.deleteUnattachedImages();
+            service.deleteLegacyImageFiles();
+        }
     }
 }
@@ -1,6 +1,7 @@
 package de.ait.secondlife.security;
 
 import de.ait.secondlife.domain.interfaces.AuthenticatedUser;
+import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,12 +15,24 @@ public class AuthInfo implements Authentication {
     private final String userEmail;
     private final Set<Role> roles;
 
+    @Getter
+    private final Long userId;
+
+    @Getter
+    private final boolean active;
+
     @Setter
     private AuthenticatedUser authenticatedUser;
 
     public AuthInfo(String username, Set<Role> roles) {
+        this(username, roles, null, true);
+    }
+
+    public AuthInfo(String username, Set<Role> roles, Long userId, boolean active) {
         this.userEmail = username;
         this.roles = roles;
+        this.userId = userId;
+        this.active = active;
     }
 
     @Override
@@ -54,12 +54,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PATCH, "/v1/categories/{category-id}/set-active").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/v1/categories/{category-id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/v1/offers/all", "/v1/offers/{id}", "/v1/offers/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/v1/offers/all/cursor", "/v1/offers/search/cursor").permitAll()
                         .requestMatchers(HttpMethod.GET, "/v1/offers/user/{id}","/v1/offers/participations/user/{id}").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/v1/offers/user/{id}/cursor").authenticated()
                         .requestMatchers(HttpMethod.POST, "/v1/offers").hasRole("USER")
                         .requestMatchers(HttpMethod.PUT, "/v1/offers").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/v1/images").authenticated()
                         .requestMatchers(HttpMethod.GET, "/v1/locations", "/v1/locations/{id}").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/v1/images").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/v1/images", "/v1/images/async").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/v1/images/{base-name}/state").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/v1/offers/{id}").authenticated()
                         .requestMatchers(HttpMethod.GET, "/v1/locations","/v1/locations/{id}").permitAll()
                         .requestMatchers(HttpMethod.PATCH, "/v1/offers/{id}/reject").hasRole("ADMIN")
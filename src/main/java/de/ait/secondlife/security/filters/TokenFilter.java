@@ -4,6 +4,7 @@ import de.ait.secondlife.domain.entity.User;
 import de.ait.secondlife.domain.interfaces.AuthenticatedUser;
 import de.ait.secondlife.security.AuthInfo;
 import de.ait.secondlife.security.Role;
+import de.ait.secondlife.security.services.AuthenticatedUserCache;
 import de.ait.secondlife.security.services.TokenService;
 import de.ait.secondlife.services.interfaces.CustomAdminDetails;
 import de.ait.secondlife.services.interfaces.CustomUserDetails;
@@ -17,7 +18,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -38,6 +38,7 @@ public class TokenFilter extends GenericFilterBean {
     private final TokenService service;
     private final CustomUserDetails userDetailsService;
     private final CustomAdminDetails adminDetailsService;
+    private final AuthenticatedUserCache userCache;
 
     @Override
     public void doFilter(
@@ -54,36 +55,51 @@ public class TokenFilter extends GenericFilterBean {
         if (token == null) {
             return;
         }
-        if (!service.validateAccessToken(token)) {
+        Claims claims = service.parseAccessToken(token);
+        if (claims == null) {
             return;
         }
-
-        Claims claims = service.getAccessClaims(token);
         AuthInfo authInfo = service.mapClaims(claims);
+        if (!authInfo.isActive()) {
+            return;
+        }
 
-        UserDetailsService userDetailsService = getUserDetailsService(authInfo.getAuthorities());
-        UserDetails userDetails;
-        try {
-            userDetails = userDetailsService.loadUserByUsername(authInfo.getName());
-        } catch (UsernameNotFoundException e) {
+        Role role = getRole(authInfo.getAuthorities());
+        UserDetailsService userDetailsService = getUserDetailsService(role);
+        AuthenticatedUser authenticatedUser = userCache.get(role, authInfo.getName());
+        if (authenticatedUser == null) {
+            try {
+                authenticatedUser = (AuthenticatedUser) userDetailsService.loadUserByUsername(authInfo.getName());
+            } catch (UsernameNotFoundException e) {
+                return;
+            }
+            userCache.put(authenticatedUser);
+        }
+        if (authInfo.getUserId() != null && !authInfo.getUserId().equals(authenticatedUser.getId())) {
+            return;
+        }
+        if (!authenticatedUser.isEnabled()) {
             return;
         }
 
         authInfo.setAuthenticated(true);
-        authInfo.setAuthenticatedUser((AuthenticatedUser) userDetails);
+        authInfo.setAuthenticatedUser(authenticatedUser);
         SecurityContextHolder.getContext().setAuthentication(authInfo);
 
-        updateUserLastActivity(userDetailsService, userDetails);
+        updateUserLastActivity(userDetailsService, authenticatedUser);
     }
 
-    private void updateUserLastActivity(UserDetailsService userDetailsService, UserDetails userDetails) {
+    private void updateUserLastActivity(UserDetailsService userDetailsService, AuthenticatedUser user) {
         if (userDetailsService instanceof CustomUserDetails) {
-            ((CustomUserDetails) userDetailsService).updateLastActive((User)userDetails);
+            ((CustomUserDetails) userDetailsService).updateLastActive((User) user);
         }
     }
 
-    private UserDetailsService getUserDetailsService(Collection<? extends GrantedAuthority> authorities) throws IOException {
-        Role role = (Role) authorities.stream().findFirst().orElseThrow(IOException::new);
+    private Role getRole(Collection<? extends GrantedAuthority> authorities) throws IOException {
+        return (Role) authorities.stream().findFirst().orElseThrow(IOException::new);
+    }
+
+    private UserDetailsService getUserDetailsService(Role role) throws IOException {
         if (role == Role.ROLE_ADMIN) {
             return adminDetailsService;
         } else if (role == Role.ROLE_USER) {
@@ -30,8 +30,8 @@ import javax.security.auth.login.AccountException;
 import javax.security.auth.login.AccountNotFoundException;
 import javax.security.auth.login.CredentialException;
 import javax.security.auth.login.LoginException;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Service for managing user authentication and authorization.
@@ -70,6 +70,7 @@ public class AuthService {
     private final TokenFilter tokenFilter;
     private final BCryptPasswordEncoder encoder;
     private final CustomUserDetails userDetailsService;
+    private final RefreshTokenStore refreshTokenStore;
 
     private UserService userService;
 
@@ -83,8 +84,6 @@ public class AuthService {
         this.userService = userService;
     }
 
-    private final Map<String, String> refreshStorage = new HashMap<>();
-
     /**
      * Retrieves the currently authenticated user if they have the ROLE_USER role.
      *
@@ -170,7 +169,12 @@ public class AuthService {
         if (encoder.matches(authDto.getPassword(), foundUser.getPassword())) {
             String accessToken = tokenService.generateAccessToken(foundUser);
             String refreshToken = tokenService.generateRefreshToken(foundUser);
-            refreshStorage.put(getTokenStorageKey(role, userEmail), refreshToken);
+            refreshTokenStore.save(
+                    getTokenStorageKey(role, userEmail),
+                    tokenService.hashToken(refreshToken),
+                    UUID.randomUUID().toString(),
+                    getRefreshTokenExpiration()
+            );
             return new TokenResponseDto(foundUser.getId(), accessToken, refreshToken);
         } else {
             throw new CredentialException("Password is incorrect");
@@ -182,19 +186,25 @@ public class AuthService {
      *
      * @param role the role of the user.
      * @param inboundRefreshToken the refresh token.
-     * @return a TokenResponseDto containing the new access token.
+     * @return a TokenResponseDto containing the new access token and the new refresh token replacing the given one.
      * @throws LoginException if there is an error during token retrieval.
      */
     public TokenResponseDto getAccessToken(Role role, @NonNull String inboundRefreshToken) throws LoginException {
-        if (tokenService.validateRefreshToken(inboundRefreshToken)) {
-            Claims refreshClaims = tokenService.getRefreshClaims(inboundRefreshToken);
+        Claims refreshClaims = tokenService.parseRefreshToken(inboundRefreshToken);
+        if (refreshClaims != null) {
             String userEmail = refreshClaims.getSubject();
-            String storedRefreshToken = refreshStorage.get(getTokenStorageKey(role, userEmail));
+            AuthenticatedUser user = getAuthenticatedUser(role, userEmail);
+            String refreshToken = tokenService.generateRefreshToken(user);
+            boolean rotated = refreshTokenStore.rotate(
+                    getTokenStorageKey(role, userEmail),
+                    tokenService.hashToken(inboundRefreshToken),
+                    tokenService.hashToken(refreshToken),
+                    getRefreshTokenExpiration()
+            );
 
-            if (inboundRefreshToken.equals(storedRefreshToken)) {
-                AuthenticatedUser user = getAuthenticatedUser(role, userEmail);
+            if (rotated) {
                 String accessToken = tokenService.generateAccessToken(user);
-                return new TokenResponseDto(user.getId(), accessToken, inboundRefreshToken);
+                return new TokenResponseDto(user.getId(), accessToken, refreshToken);
             }
         }
         throw new AuthException("Refresh token is incorrect");
@@ -253,20 +263,24 @@ public class AuthService {
     }
 
     /**
-     * Logs out the user by removing their refresh token from storage.
+     * Logs out the user by revoking all their refresh tokens.
      *
      * @param request the HTTP request containing the access token.
      * @param role the role of the user.
      */
     public void logout(HttpServletRequest request, Role role) {
         String accessToken = tokenFilter.getAccessTokenFromRequest(request);
-        if (accessToken != null && tokenService.validateAccessToken(accessToken)) {
-            Claims accessClaims = tokenService.getAccessClaims(accessToken);
+        Claims accessClaims = accessToken == null ? null : tokenService.parseAccessToken(accessToken);
+        if (accessClaims != null) {
             String userEmail = accessClaims.getSubject();
-            refreshStorage.remove(getTokenStorageKey(role, userEmail));
+            refreshTokenStore.revokeAll(getTokenStorageKey(role, userEmail));
         }
     }
 
+    private LocalDateTime getRefreshTokenExpiration() {
+        return LocalDateTime.now().plusDays(TokenService.REFRESH_TOKEN_EXPIRATION_DAYS);
+    }
+
     /**
      * Generates a key for storing refresh tokens based on the user's role and email.
      *
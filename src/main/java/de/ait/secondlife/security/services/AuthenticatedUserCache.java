@@ -0,0 +1,126 @@
+package de.ait.secondlife.security.services;
+
+import de.ait.secondlife.domain.entity.Admin;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.domain.interfaces.AuthenticatedUser;
+import de.ait.secondlife.security.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived cache of authenticated users used by the token filter.(Version 1.0)
+ * Users are cached by role and email (the subject of the access token), so an authenticated
+ * request does not load its user from the database as long as the entry is fresh.
+ *
+ * <p>
+ * The cache holds at most auth.user-cache.max-size entries and evicts the least recently used
+ * ones. An entry expires after auth.user-cache.ttl-seconds, which bounds the time a change made
+ * on another application instance stays invisible. Changes made on this instance invalidate
+ * the entry explicitly. Every lookup returns a copy, so the cached user is never modified
+ * by a request.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public AuthenticatedUserCache(
+            @Value("${auth.user-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${auth.user-cache.max-size:10000}") int maxSize
+    ) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the cached user.
+     *
+     * @param role  role of the user
+     * @param email email of the user
+     * @return cached user or null if it is not cached or the entry has expired
+     */
+    public AuthenticatedUser get(Role role, String email) {
+        String key = getKey(role, email);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt() < System.currentTimeMillis()) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        return entry == null ? null : copy(entry.user());
+    }
+
+    /**
+     * Caches a copy of the user.
+     *
+     * @param user user loaded from the database
+     */
+    public void put(AuthenticatedUser user) {
+        Entry entry = new Entry(copy(user), System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(getKey(user.getRole(), user.getEmail()), entry);
+        }
+    }
+
+    /**
+     * Removes the user from the cache, so the next request loads its current state.
+     *
+     * @param user changed user
+     */
+    public void invalidate(AuthenticatedUser user) {
+        synchronized (entries) {
+            entries.remove(getKey(user.getRole(), user.getEmail()));
+        }
+    }
+
+    private String getKey(Role role, String email) {
+        return role + ":" + email;
+    }
+
+    private static AuthenticatedUser copy(AuthenticatedUser user) {
+        if (user instanceof User source) {
+            User copy = new User();
+            copy.setId(source.getId());
+            copy.setFirstName(source.getFirstName());
+            copy.setLastName(source.getLastName());
+            copy.setEmail(source.getEmail());
+            copy.setPassword(source.getPassword());
+            copy.setActive(source.isActive());
+            copy.setCreatedAt(source.getCreatedAt());
+            copy.setUpdatedAt(source.getUpdatedAt());
+            copy.setLastActive(source.getLastActive());
+            copy.setLocation(source.getLocation());
+            return copy;
+        }
+        if (user instanceof Admin source) {
+            Admin copy = new Admin();
+            copy.setId(source.getId());
+            copy.setEmail(source.getEmail());
+            copy.setPassword(source.getPassword());
+            return copy;
+        }
+        return user;
+    }
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+}
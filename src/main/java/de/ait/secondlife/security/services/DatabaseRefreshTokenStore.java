@@ -0,0 +1,75 @@
+package de.ait.secondlife.security.services;
+
+import de.ait.secondlife.domain.entity.RefreshToken;
+import de.ait.secondlife.repositories.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token store backed by the refresh_token table.(Version 1.0)
+ * Only hashes of the tokens are stored.
+ *
+ * <p>
+ * A token is marked as used by a conditional UPDATE, so of several concurrent rotations of the same
+ * token exactly one succeeds, on any application instance. Used tokens are kept until they expire
+ * to detect their reuse.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Service
+@ConditionalOnProperty(name = "auth.refresh-token-store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository repository;
+
+    @Transactional
+    @Override
+    public void save(String subject, String tokenHash, String family, LocalDateTime expiresAt) {
+        repository.save(RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .family(family)
+                .subject(subject)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Transactional
+    @Override
+    public boolean rotate(String subject, String tokenHash, String newTokenHash, LocalDateTime expiresAt) {
+        RefreshToken token = repository.findByTokenHash(tokenHash).orElse(null);
+        if (token == null || !token.getSubject().equals(subject)) {
+            return false;
+        }
+        if (repository.markUsed(token.getId(), LocalDateTime.now()) == 0) {
+            if (token.isUsed() || token.getExpiresAt().isAfter(LocalDateTime.now())) {
+                repository.deleteAllByFamily(token.getFamily());
+            }
+            return false;
+        }
+        save(subject, newTokenHash, token.getFamily(), expiresAt);
+        return true;
+    }
+
+    @Transactional
+    @Override
+    public void revokeAll(String subject) {
+        repository.deleteAllBySubject(subject);
+    }
+
+    @Transactional
+    @Override
+    public void deleteAllExpired() {
+        repository.deleteAllExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,71 @@
+package de.ait.secondlife.security.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh token store keeping tokens in the memory of the application instance.(Version 1.0)
+ * Suitable for a single instance only: tokens are lost on restart and are not visible to other instances.
+ *
+ * <p>
+ * A token is marked as used by an atomic replacement of its map entry, so of several concurrent
+ * rotations of the same token exactly one succeeds.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Service
+@ConditionalOnProperty(name = "auth.refresh-token-store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String subject, String tokenHash, String family, LocalDateTime expiresAt) {
+        tokens.put(tokenHash, new Entry(subject, family, expiresAt, false));
+    }
+
+    @Override
+    public boolean rotate(String subject, String tokenHash, String newTokenHash, LocalDateTime expiresAt) {
+        Entry entry = tokens.get(tokenHash);
+        if (entry == null || !entry.subject().equals(subject)) {
+            return false;
+        }
+        boolean valid = !entry.used() && entry.expiresAt().isAfter(LocalDateTime.now());
+        if (!valid || !tokens.replace(tokenHash, entry, entry.markUsed())) {
+            if (entry.used() || entry.expiresAt().isAfter(LocalDateTime.now())) {
+                tokens.values().removeIf(token -> token.family().equals(entry.family()));
+            }
+            return false;
+        }
+        save(subject, newTokenHash, entry.family(), expiresAt);
+        return true;
+    }
+
+    @Override
+    public void revokeAll(String subject) {
+        tokens.values().removeIf(token -> token.subject().equals(subject));
+    }
+
+    @Override
+    public void deleteAllExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        tokens.values().removeIf(token -> token.expiresAt().isBefore(now));
+    }
+
+    private record Entry(String subject, String family, LocalDateTime expiresAt, boolean used) {
+
+        Entry markUsed() {
+            return new Entry(subject, family, expiresAt, true);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package de.ait.secondlife.security.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Storage of issued refresh tokens.(Version 1.0)
+ * Tokens are stored by their hash under a subject (role and email of the user) and belong to a family:
+ * all tokens issued by rotation starting from one login.
+ *
+ * <p>
+ * The implementation is selected with property auth.refresh-token-store: "database" (default) keeps tokens
+ * in the refresh_token table shared by all application instances, "memory" keeps them in the memory of
+ * the instance and loses them on restart.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores a refresh token issued at login as the first token of a new family.
+     *
+     * @param subject   role and email of the user
+     * @param tokenHash hash of the refresh token
+     * @param family    ID of the new token family
+     * @param expiresAt expiration time of the token
+     */
+    void save(String subject, String tokenHash, String family, LocalDateTime expiresAt);
+
+    /**
+     * Replaces a refresh token with a new token of the same family. A token can be rotated only once;
+     * presenting an already rotated token revokes its whole family, since the token has leaked.
+     *
+     * @param subject      role and email of the user
+     * @param tokenHash    hash of the presented refresh token
+     * @param newTokenHash hash of the new refresh token
+     * @param expiresAt    expiration time of the new token
+     * @return true if the presented token was valid and has been replaced
+     */
+    boolean rotate(String subject, String tokenHash, String newTokenHash, LocalDateTime expiresAt);
+
+    /**
+     * Revokes all refresh tokens of the subject.
+     *
+     * @param subject role and email of the user
+     */
+    void revokeAll(String subject);
+
+    /**
+     * Deletes all expired refresh tokens.
+     */
+    void deleteAllExpired();
+}
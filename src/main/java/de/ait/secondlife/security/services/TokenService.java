@@ -4,6 +4,7 @@ import de.ait.secondlife.domain.interfaces.AuthenticatedUser;
 import de.ait.secondlife.security.AuthInfo;
 import de.ait.secondlife.security.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,6 +12,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -22,6 +26,8 @@ import java.util.*;
  *
  * <p>
  * This class uses HMAC SHA keys for signing and verifying JWT tokens. The keys are provided through configuration properties.
+ * Parsers are built once per key and reused. Claims of verified access tokens are kept in a bounded cache
+ * (property auth.token-cache.max-size) keyed by the SHA-256 hash of the token until the token expires.
  * </p>
  *
  * <p>
@@ -37,19 +43,37 @@ public class TokenService {
 
     private static final String USER_ROLE_VARIABLE_NAME = "roles";
     private static final String USER_EMAIL_VARIABLE_NAME = "email";
+    private static final String USER_ID_VARIABLE_NAME = "id";
+    private static final String USER_ACTIVE_VARIABLE_NAME = "active";
 
     private final SecretKey accessKey;
     private final SecretKey refreshKey;
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
+    private final Map<String, Claims> accessClaimsCache;
 
     /**
      * Constructs a TokenService with the specified access and refresh keys.
      *
-     * @param accessKey  the access key for signing access tokens.
-     * @param refreshKey the refresh key for signing refresh tokens.
+     * @param accessKey    the access key for signing access tokens.
+     * @param refreshKey   the refresh key for signing refresh tokens.
+     * @param cacheMaxSize the maximum number of cached access token claims.
      */
-    public TokenService(@Value("${key.access}") String accessKey, @Value("${key.refresh}") String refreshKey) {
+    public TokenService(
+            @Value("${key.access}") String accessKey,
+            @Value("${key.refresh}") String refreshKey,
+            @Value("${auth.token-cache.max-size:10000}") int cacheMaxSize
+    ) {
         this.accessKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(accessKey));
         this.refreshKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(refreshKey));
+        this.accessParser = Jwts.parser().verifyWith(this.accessKey).build();
+        this.refreshParser = Jwts.parser().verifyWith(this.refreshKey).build();
+        this.accessClaimsCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
     }
 
     /**
@@ -72,6 +96,8 @@ public class TokenService {
                 .signWith(accessKey)
                 .claim(USER_ROLE_VARIABLE_NAME, user.getAuthorities())
                 .claim(USER_EMAIL_VARIABLE_NAME, user.getEmail())
+                .claim(USER_ID_VARIABLE_NAME, user.getId())
+                .claim(USER_ACTIVE_VARIABLE_NAME, user.isEnabled())
                 .compact();
     }
 
@@ -91,87 +117,86 @@ public class TokenService {
 
         return Jwts.builder()
                 .subject(user.getEmail())
+                .id(UUID.randomUUID().toString())
                 .expiration(expirationDate)
                 .signWith(refreshKey)
                 .compact();
     }
 
     /**
-     * Validates the specified access token.
+     * Verifies the specified access token and retrieves its claims.
+     * Verified claims are cached until the token expires, so a token is parsed and verified
+     * only once however many requests it is sent with.
      *
-     * @param accessToken the access token to validate.
-     * @return true if the token is valid, false otherwise.
+     * @param accessToken the access token.
+     * @return the claims contained in the token, or null if the token is invalid or expired.
      */
-    public boolean validateAccessToken(String accessToken) {
-        return validateToken(accessToken, accessKey);
+    public Claims parseAccessToken(String accessToken) {
+        String key = hashToken(accessToken);
+        long now = System.currentTimeMillis();
+        synchronized (accessClaimsCache) {
+            Claims cached = accessClaimsCache.get(key);
+            if (cached != null) {
+                if (cached.getExpiration().getTime() > now) {
+                    return cached;
+                }
+                accessClaimsCache.remove(key);
+            }
+        }
+
+        Claims claims = parseToken(accessToken, accessParser);
+        if (claims != null && claims.getExpiration() != null) {
+            synchronized (accessClaimsCache) {
+                accessClaimsCache.put(key, claims);
+            }
+        }
+        return claims;
     }
 
     /**
-     * Validates the specified refresh token.
+     * Verifies the specified refresh token and retrieves its claims.
      *
-     * @param refreshToken the refresh token to validate.
-     * @return true if the token is valid, false otherwise.
+     * @param refreshToken the refresh token.
+     * @return the claims contained in the token, or null if the token is invalid or expired.
      */
-    public boolean validateRefreshToken(String refreshToken) {
-        return validateToken(refreshToken, refreshKey);
+    public Claims parseRefreshToken(String refreshToken) {
+        return parseToken(refreshToken, refreshParser);
     }
 
     /**
-     * Validates the specified token with the given key.
+     * Verifies the specified token with the given parser and retrieves its claims.
      *
-     * @param token the token to validate.
-     * @param key   the key to use for validation.
-     * @return true if the token is valid, false otherwise.
+     * @param token  the token.
+     * @param parser the parser verifying the token signature.
+     * @return the claims contained in the token, or null if the token is invalid.
      */
-    private boolean validateToken(String token, SecretKey key) {
+    private Claims parseToken(String token, JwtParser parser) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
     /**
-     * Retrieves claims from the specified access token.
-     *
-     * @param accessToken the access token.
-     * @return the claims contained in the token.
-     */
-    public Claims getAccessClaims(String accessToken) {
-        return getClaims(accessToken, accessKey);
-    }
-
-    /**
-     * Retrieves claims from the specified refresh token.
-     *
-     * @param refreshToken the refresh token.
-     * @return the claims contained in the token.
-     */
-    public Claims getRefreshClaims(String refreshToken) {
-        return getClaims(refreshToken, refreshKey);
-    }
-
-    /**
-     * Retrieves claims from the specified token with the given key.
+     * Calculates the SHA-256 hash of the specified token.
      *
      * @param token the token.
-     * @param key   the key to use for retrieving claims.
-     * @return the claims contained in the token.
+     * @return the Base64 encoded hash of the token.
      */
-    private Claims getClaims(String token, SecretKey key) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String hashToken(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
      * Maps the claims to an AuthInfo object.
+     * Tokens issued before the ID and active flag were added to the claims are mapped
+     * with an empty ID and as active.
      *
      * @param claims the claims to map.
      * @return the AuthInfo object containing the mapped information.
@@ -183,6 +208,13 @@ public class TokenService {
         for (String role : roleList) {
             roles.add(Role.valueOf(role));
         }
-        return new AuthInfo(userEmail, roles);
+        Number userId = claims.get(USER_ID_VARIABLE_NAME, Number.class);
+        Boolean active = claims.get(USER_ACTIVE_VARIABLE_NAME, Boolean.class);
+        return new AuthInfo(
+                userEmail,
+                roles,
+                userId == null ? null : userId.longValue(),
+                active == null || active
+        );
     }
 }
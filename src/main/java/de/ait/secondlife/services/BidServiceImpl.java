@@ -9,7 +9,10 @@ import de.ait.secondlife.domain.entity.Offer;
 import de.ait.secondlife.domain.entity.User;
 import de.ait.secondlife.exception_handling.exceptions.UserIsNotAuthorizedException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BidCreationException;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.is_null_exceptions.IdIsNullException;
+import de.ait.secondlife.exception_handling.exceptions.not_found_exception.OfferNotFoundException;
 import de.ait.secondlife.repositories.BidRepository;
+import de.ait.secondlife.repositories.OfferRepository;
 import de.ait.secondlife.security.services.AuthService;
 import de.ait.secondlife.services.interfaces.BidService;
 import de.ait.secondlife.services.interfaces.OfferService;
@@ -33,11 +36,17 @@ import java.util.stream.Collectors;
  * and various checks and validations related to bids and offers.
  *
  * <p>
- * This service interacts with the BidRepository, BidMappingService, OfferService,
+ * This service interacts with the BidRepository, OfferRepository, BidMappingService, OfferService,
  * and uses an EntityManager for transaction management.
  * </p>
  *
  * <p>
+ * Bids on the same offer are serialized by a pessimistic row lock on the offer, which is held
+ * until the transaction of the bid commits. Bids on different offers lock different rows
+ * and are placed in parallel.
+ * </p>
+ *
+ * <p>
  * Exceptions that may be thrown by this class include:
  * <ul>
  *     <li>{@link CredentialException} - if there is an issue with user credentials</li>
@@ -58,6 +67,7 @@ import java.util.stream.Collectors;
 public class BidServiceImpl implements BidService {
 
     private final BidRepository bidRepository;
+    private final OfferRepository offerRepository;
     private final BidMappingService mappingService;
     private final OfferService offerService;
     private final EntityManager entityManager;
@@ -82,7 +92,7 @@ public class BidServiceImpl implements BidService {
     @Transactional
     @Override
     public void save(BidCreationDto dto) throws CredentialException {
-        Offer offer = offerService.findById(dto.getOfferId());
+        Offer offer = lockOffer(dto.getOfferId());
 
         checkOfferStatus(offer);
 
@@ -101,6 +111,7 @@ public class BidServiceImpl implements BidService {
         newBid.setUser(user);
         newBid.setOffer(offer);
         bidRepository.save(newBid);
+        offerService.applyBid(offer, newBid);
 
         if (isWinningBid(offer, newBidValue)) {
             entityManager.refresh(offer);
@@ -108,6 +119,20 @@ public class BidServiceImpl implements BidService {
         }
     }
 
+    /**
+     * Loads the offer with a SELECT ... FOR UPDATE, which locks its row until the end of
+     * the current transaction. Status and maximum bid value are read under the lock, so they
+     * reflect all bids committed before.
+     *
+     * @param offerId the ID of the offer.
+     * @return the locked Offer object.
+     */
+    private Offer lockOffer(Long offerId) {
+        if (offerId == null) throw new IdIsNullException();
+        return offerRepository.findByIdForUpdate(offerId)
+                .orElseThrow(() -> new OfferNotFoundException(offerId));
+    }
+
     /**
      * Finds all bids for a specific offer by its ID and returns them as a BidsResponseDto.
      *
@@ -168,11 +193,7 @@ public class BidServiceImpl implements BidService {
             throw new BidCreationException("Bid cannot be created by offer owner");
         }
         if (offer.getIsFree()) {
-            List<Long> auctionParticipantIds = offer.getBids()
-                    .stream()
-                    .map(bid -> bid.getUser().getId())
-                    .toList();
-            if (auctionParticipantIds.contains(user.getId())) {
+            if (bidRepository.existsByOfferIdAndUserId(offer.getId(), user.getId())) {
                 throw new BidCreationException("Bid cannot be created twice by one user in free auction");
             }
         }
@@ -10,6 +10,9 @@ import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.Cat
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.is_null_exceptions.IdIsNullException;
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.CategoryNotFoundException;
 import de.ait.secondlife.repositories.CategoryRepository;
+import de.ait.secondlife.services.cache.ReferenceData;
+import de.ait.secondlife.services.cache.ReferenceDataCache;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 import de.ait.secondlife.services.interfaces.CategoryService;
 import de.ait.secondlife.services.interfaces.ImageService;
 import de.ait.secondlife.services.mapping.NewCategoryMappingService;
@@ -17,6 +20,7 @@ import de.ait.secondlife.services.utilities.UserPermissionsUtilities;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -32,6 +36,11 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * The list of categories is served from the {@link ReferenceDataCache} and is invalidated
+ * whenever a category or one of its images is changed.
+ * </p>
+ *
+ * <p>
  * Exceptions that may be thrown by this class include:
  * <ul>
  *     <li>{@link IllegalArgumentException} - if the category ID is invalid</li>
@@ -59,6 +68,8 @@ public class CategoryServiceImpl implements CategoryService {
     private final NewCategoryMappingService mappingService;
 
     private final UserPermissionsUtilities utilities;
+
+    private final ReferenceDataCache cache;
     @Lazy
     @Autowired
     private ImageService imageService;
@@ -90,11 +101,7 @@ public class CategoryServiceImpl implements CategoryService {
      */
     @Override
     public List<CategoryDto> getAll() {
-        return repository.findAll()
-                .stream()
-                .filter(Category::isActive)
-                .map(mappingService::toDto)
-                .toList();
+        return getAllSnapshot(false).data();
     }
 
     /**
@@ -104,10 +111,30 @@ public class CategoryServiceImpl implements CategoryService {
      */
     @Override
     public List<CategoryDto> getAllPlusHidden() {
-        return repository.findAll()
+        return getAllSnapshot(true).data();
+    }
+
+    /**
+     * Retrieves the cached list of categories together with its ETag.
+     *
+     * @param includeHidden whether hidden categories are included.
+     * @return snapshot of the list of CategoryDto objects ordered by ID.
+     */
+    @Override
+    public ReferenceDataSnapshot<List<CategoryDto>> getAllSnapshot(boolean includeHidden) {
+        ReferenceDataSnapshot<List<CategoryDto>> snapshot = cache.get(ReferenceData.CATEGORIES, () ->
+                repository.findAll(Sort.by("id"))
+                        .stream()
+                        .map(mappingService::toDto)
+                        .toList());
+        if (includeHidden) {
+            return snapshot;
+        }
+        List<CategoryDto> active = snapshot.data()
                 .stream()
-                .map(mappingService::toDto)
+                .filter(CategoryDto::isActive)
                 .toList();
+        return new ReferenceDataSnapshot<>(snapshot.version(), active, snapshot.eTag());
     }
 
     /**
@@ -140,6 +167,7 @@ public class CategoryServiceImpl implements CategoryService {
         } catch (Exception e) {
             throw new RuntimeException("Cannot save category to db", e);
         }
+        cache.invalidate(ReferenceData.CATEGORIES);
         return mappingService.toDto(entity);
     }
 
@@ -165,11 +193,14 @@ public class CategoryServiceImpl implements CategoryService {
                 dto.getBaseNameOfImages(),
                 EntityTypeWithImages.CATEGORY.getType(),
                 id);
+        CategoryDto result;
         try {
-            return mappingService.toDto(repository.save(existingCategory));
+            result = mappingService.toDto(repository.save(existingCategory));
         } catch (Exception e) {
             throw new RuntimeException("Cannot save category to db", e);
         }
+        cache.invalidate(ReferenceData.CATEGORIES);
+        return result;
     }
 
     /**
@@ -187,11 +218,14 @@ public class CategoryServiceImpl implements CategoryService {
 
         existingCategory.setActive(true);
 
+        CategoryDto result;
         try {
-            return mappingService.toDto(repository.save(existingCategory));
+            result = mappingService.toDto(repository.save(existingCategory));
         } catch (Exception e) {
             throw new RuntimeException("Cannot save category to db", e);
         }
+        cache.invalidate(ReferenceData.CATEGORIES);
+        return result;
     }
 
     /**
@@ -211,11 +245,14 @@ public class CategoryServiceImpl implements CategoryService {
 
         existingCategory.setActive(false);
 
+        CategoryDto result;
         try {
-            return mappingService.toDto(repository.save(existingCategory));
+            result = mappingService.toDto(repository.save(existingCategory));
         } catch (Exception e) {
             throw new RuntimeException("Cannot save category to db", e);
         }
+        cache.invalidate(ReferenceData.CATEGORIES);
+        return result;
     }
 
     /**
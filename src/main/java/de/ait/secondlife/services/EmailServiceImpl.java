@@ -8,27 +8,41 @@ import de.ait.secondlife.security.services.AuthService;
 import de.ait.secondlife.services.emails.EmailTemplateServiceFactory;
 import de.ait.secondlife.services.interfaces.EmailService;
 import de.ait.secondlife.services.interfaces.EmailTemplateService;
+import de.ait.secondlife.services.interfaces.NotificationService;
 import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.MruCacheStorage;
 import freemarker.template.Configuration;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for sending emails.(Version 1.0)
  * This service manages the creation and sending of notification emails to users.
  *
  * <p>
- * This service interacts with the JavaMailSender, NotificationRepository,
+ * This service interacts with the JavaMailSender, NotificationRepository, NotificationService,
  * AuthService, and EmailTemplateServiceFactory.
  * </p>
  *
  * <p>
+ * Email templates are bundled with the application, so compiled templates are cached
+ * without checking the templates for updates.
+ * </p>
+ *
+ * <p>
  * Author: Second Life Team
  * </p>
  *
@@ -44,8 +58,11 @@ public class EmailServiceImpl implements EmailService {
     private NotificationRepository notificationRepository;
     private AuthService authService;
     private EmailTemplateServiceFactory templateServiceFactory;
+    private NotificationService notificationService;
+    private ExecutorService executor;
 
     private static final String TEMPLATES_PATH = "/mail/";
+    private static final int TEMPLATES_CACHE_SIZE = 50;
 
     @Value("${spring.mail.username}")
     private String senderEmail;
@@ -53,21 +70,41 @@ public class EmailServiceImpl implements EmailService {
     @Value("${spring.application.name}")
     private String applicationName;
 
+    @Value("${notification.dispatcher.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.dispatcher.workers:4}")
+    private int workers;
+
     public EmailServiceImpl(
             JavaMailSender sender,
             Configuration mailConfig,
             NotificationRepository notificationRepository,
             AuthService authService,
-            EmailTemplateServiceFactory templateServiceFactory
+            EmailTemplateServiceFactory templateServiceFactory,
+            NotificationService notificationService
     ) {
         this.sender = sender;
         this.mailConfig = mailConfig;
         this.notificationRepository = notificationRepository;
         this.authService = authService;
         this.templateServiceFactory = templateServiceFactory;
+        this.notificationService = notificationService;
 
         mailConfig.setDefaultEncoding("UTF-8");
         mailConfig.setTemplateLoader(new ClassTemplateLoader(EmailServiceImpl.class, TEMPLATES_PATH));
+        mailConfig.setCacheStorage(new MruCacheStorage(TEMPLATES_CACHE_SIZE, 0));
+        mailConfig.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
     }
 
     /**
@@ -109,42 +146,155 @@ public class EmailServiceImpl implements EmailService {
     }
 
     /**
-     * Sends pending emails by retrieving unsent notifications from the repository.
-     * It attempts to send each notification email and updates the sent status accordingly.
+     * Sends pending emails.
+     * Pending notifications are claimed in batches; every batch is split between the workers,
+     * and each worker renders its part and sends it over a single SMTP connection.
+     * Delivery results of the batch are stored in bulk, failed notifications are retried later.
      */
     @Override
     public void sendPendingEmails() {
-        Notification pendingEmail = notificationRepository.findFirstBySentAtIsNull();
-        while (pendingEmail != null) {
-            pendingEmail.setSentAt(LocalDateTime.now());
-            notificationRepository.save(pendingEmail);
+        List<Notification> batch;
+        do {
+            batch = notificationService.claimPending(batchSize);
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Delivers the batch on the workers and stores the results. A worker which fails as a whole
+     * marks only its own partition as failed; the results of the other partitions are stored as usual.
+     */
+    private void dispatch(List<Notification> batch) {
+        List<List<List<Notification>>> partitions = partitionGroups(batch);
+        List<Callable<List<Notification>>> tasks = new ArrayList<>();
+        for (List<List<Notification>> partition : partitions) {
+            tasks.add(() -> deliver(partition));
+        }
 
+        List<Future<List<Notification>>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        List<Notification> failed = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
             try {
-                sendEmail(pendingEmail);
-            } catch (Exception e) {
-                log.error("Failed to send email", e);
-                pendingEmail.setSentAt(null);
-                notificationRepository.save(pendingEmail);
+                failed.addAll(results.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 return;
+            } catch (ExecutionException e) {
+                log.error("Failed to dispatch emails", e);
+                partitions.get(i).forEach(failed::addAll);
+            }
+        }
+
+        Set<Long> failedIds = failed.stream()
+                .map(Notification::getId)
+                .collect(Collectors.toSet());
+        notificationService.markSent(batch.stream()
+                .filter(notification -> !failedIds.contains(notification.getId()))
+                .toList());
+        notificationService.markFailed(failed);
+    }
+
+    /**
+     * Groups the notifications by type and context and distributes the groups between the workers,
+     * keeping every group within one worker and the workers loaded evenly.
+     *
+     * @param batch claimed notifications
+     * @return groups of notifications for each worker
+     */
+    private List<List<List<Notification>>> partitionGroups(List<Notification> batch) {
+        List<List<Notification>> groups = new ArrayList<>(batch.stream()
+                .collect(Collectors.groupingBy(
+                        notification -> Arrays.asList(notification.getNotificationType(), notification.getContextId()),
+                        LinkedHashMap::new,
+                        Collectors.toList()))
+                .values());
+        groups.sort(Comparator.comparingInt(List<Notification>::size).reversed());
+
+        int partitionsCount = Math.min(workers, groups.size());
+        List<List<List<Notification>>> partitions = new ArrayList<>(partitionsCount);
+        int[] partitionSizes = new int[partitionsCount];
+        for (int i = 0; i < partitionsCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (List<Notification> group : groups) {
+            int smallest = 0;
+            for (int i = 1; i < partitionsCount; i++) {
+                if (partitionSizes[i] < partitionSizes[smallest]) {
+                    smallest = i;
+                }
+            }
+            partitions.get(smallest).add(group);
+            partitionSizes[smallest] += group.size();
+        }
+        return partitions;
+    }
+
+    /**
+     * Renders and sends the notifications over one SMTP connection.
+     * Notifications of a group share one template service, so the shared part of the template
+     * model is loaded once per group.
+     *
+     * @param groups groups of notifications with the same type and context
+     * @return notifications which could not be rendered or sent
+     */
+    private List<Notification> deliver(List<List<Notification>> groups) {
+        List<Notification> failed = new ArrayList<>();
+        Map<MimeMessage, Notification> messages = new LinkedHashMap<>();
+        for (List<Notification> group : groups) {
+            EmailTemplateService templateService = templateServiceFactory.createService(
+                    group.get(0).getNotificationType(),
+                    mailConfig,
+                    group.get(0)
+            );
+            for (Notification notification : group) {
+                try {
+                    messages.put(createMessage(notification, templateService), notification);
+                } catch (Exception e) {
+                    log.error("Failed to create email for notification [ID={}]", notification.getId(), e);
+                    failed.add(notification);
+                }
+            }
+        }
+        if (messages.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            sender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            log.error("Failed to send emails", e);
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(messages.values());
+            } else {
+                e.getFailedMessages().keySet().forEach(message -> failed.add(messages.get(message)));
             }
-            pendingEmail = notificationRepository.findFirstBySentAtIsNull();
+        } catch (MailException e) {
+            log.error("Failed to send emails", e);
+            failed.addAll(messages.values());
         }
+        return failed;
     }
 
     /**
-     * Sends an email using the provided notification details.
+     * Creates an email using the provided notification details.
      *
-     * @param notification the notification containing email details.
-     * @throws Exception if there is an error while sending the email.
+     * @param notification    the notification containing email details.
+     * @param templateService the template service of the notification group.
+     * @return the message ready to be sent.
+     * @throws Exception if there is an error while creating the email.
      */
-    private void sendEmail(Notification notification) throws Exception {
+    private MimeMessage createMessage(Notification notification, EmailTemplateService templateService) throws Exception {
         MimeMessage message = sender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
-        EmailTemplateService templateService = templateServiceFactory.createService(
-                notification.getNotificationType(),
-                mailConfig,
-                notification
-        );
 
         helper.setFrom(getSender());
 
@@ -154,11 +304,14 @@ public class EmailServiceImpl implements EmailService {
         );
         helper.setTo(authenticatedUser.getEmail());
 
+        templateService.setNotification(notification);
+        templateService.setRecipient(authenticatedUser);
+
         helper.setSubject(templateService.getSubject());
         String body = templateService.getBody();
         helper.setText(body, true);
 
-        sender.send(message);
+        return message;
     }
 
     /**
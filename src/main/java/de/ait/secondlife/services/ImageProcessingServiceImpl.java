@@ -0,0 +1,229 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.constants.ImageProcessingState;
+import de.ait.secondlife.domain.entity.ImageEntity;
+import de.ait.secondlife.domain.entity.ImageProcessing;
+import de.ait.secondlife.exception_handling.exceptions.ImageUploadIsBusyException;
+import de.ait.secondlife.repositories.ImageProcessingRepository;
+import de.ait.secondlife.repositories.ImageRepository;
+import de.ait.secondlife.services.interfaces.ImageProcessingService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service implementation for the queue of images waiting for asynchronous processing.(Version 1.0)
+ * An uploaded original is registered once, claimed by a processing worker, and either completed
+ * together with its resized images or retried.
+ *
+ * <p>
+ * Claiming locks waiting rows with SELECT ... FOR UPDATE SKIP LOCKED, so workers of all instances
+ * get disjoint images, and moves next_attempt_at of the claimed rows into the future. An image
+ * claimed by an instance which dies before storing the result becomes pending again after
+ * {@link #CLAIM_TIMEOUT}. A failed image is retried with an exponential backoff and is moved to
+ * the FAILED state after {@value #MAX_ATTEMPTS} attempts.
+ * </p>
+ *
+ * <p>
+ * Submissions are serialized with a transaction-level advisory lock, so the number of pending images
+ * never exceeds the allowed maximum across instances. A submitted image becomes claimable once its
+ * original is stored. An image can be attached to its entity while it is still processing; the entity
+ * is read from the locked row when the processing is finished, so the resized images are saved with it.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageProcessingServiceImpl implements ImageProcessingService {
+
+    public static final int MAX_ATTEMPTS = 5;
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final long SUBMISSION_LOCK_KEY = 0x696d6167L;
+
+    private final ImageProcessingRepository repository;
+    private final ImageRepository imageRepository;
+
+    /**
+     * Registers an image for processing. The image is not claimed by workers until it is activated
+     * or {@link #CLAIM_TIMEOUT} has passed, which gives time to store its original.
+     *
+     * @param baseName     base name of the image
+     * @param entityType   type of the entity the image belongs to
+     * @param entityId     ID of the entity, null for images uploaded before the entity is created
+     * @param userId       ID of the uploading user
+     * @param originalPath storage key of the original
+     * @param contentType  content type of the original
+     * @param maxPending   maximum number of pending images
+     * @return registered image processing
+     * @throws ImageUploadIsBusyException if the maximum number of images is already pending
+     */
+    @Transactional
+    @Override
+    public ImageProcessing submit(String baseName, String entityType, Long entityId, Long userId,
+                                  String originalPath, String contentType, int maxPending) {
+        repository.lockSubmissions(SUBMISSION_LOCK_KEY);
+        if (repository.countByState(ImageProcessingState.PROCESSING) >= maxPending) {
+            throw new ImageUploadIsBusyException();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return repository.save(ImageProcessing.builder()
+                .baseName(baseName)
+                .entityType(entityType)
+                .entityId(entityId)
+                .userId(userId)
+                .originalPath(originalPath)
+                .contentType(contentType)
+                .state(ImageProcessingState.PROCESSING)
+                .nextAttemptAt(now.plus(CLAIM_TIMEOUT))
+                .createdAt(now)
+                .build());
+    }
+
+    /**
+     * Makes a submitted image claimable immediately, once its original is stored.
+     *
+     * @param processing submitted image
+     */
+    @Transactional
+    @Override
+    public void activate(ImageProcessing processing) {
+        repository.scheduleAttempt(processing.getId(), LocalDateTime.now());
+    }
+
+    /**
+     * Removes a submitted image whose original could not be stored.
+     *
+     * @param processing submitted image
+     */
+    @Transactional
+    @Override
+    public void cancel(ImageProcessing processing) {
+        repository.deleteById(processing.getId());
+    }
+
+    /**
+     * Counts images of the entity waiting for processing, including the ones being processed.
+     *
+     * @param entityType type of the entity
+     * @param entityId   ID of the entity
+     * @return number of pending images
+     */
+    @Override
+    public long countPending(String entityType, Long entityId) {
+        return repository.countByEntityTypeAndEntityIdAndState(entityType, entityId, ImageProcessingState.PROCESSING);
+    }
+
+    /**
+     * Attaches an image which is still processing to an entity. The resized images are saved with
+     * the entity once the processing is done.
+     *
+     * @param baseName   base name of the image
+     * @param entityType type of the entity
+     * @param entityId   ID of the entity
+     * @return true if the image is still processing and was not attached to an entity before
+     */
+    @Transactional
+    @Override
+    public boolean attachPending(String baseName, String entityType, Long entityId) {
+        return repository.attachPending(baseName, entityType, entityId, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Claims a batch of pending images for processing.
+     *
+     * @param limit maximum number of images in the batch
+     * @return claimed images with the current attempt counted
+     */
+    @Transactional
+    @Override
+    public List<ImageProcessing> claimPending(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageProcessing> pending = repository.findPendingForUpdate(now, limit);
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        repository.claim(pending.stream().map(ImageProcessing::getId).toList(), now.plus(CLAIM_TIMEOUT));
+        pending.forEach(processing -> {
+            processing.setAttempts(processing.getAttempts() + 1);
+            processing.setNextAttemptAt(now.plus(CLAIM_TIMEOUT));
+        });
+        return pending;
+    }
+
+    /**
+     * Stores the resized images and marks the processing as done. The images are saved with the
+     * entity the image is attached to at this moment, which is also set on the given processing.
+     *
+     * @param processing processed image
+     * @param images     resized images uploaded to the storage
+     */
+    @Transactional
+    @Override
+    public void markDone(ImageProcessing processing, Collection<ImageEntity> images) {
+        ImageProcessing locked = lock(processing);
+        images.forEach(image -> image.setEntityId(locked.getEntityId()));
+        imageRepository.saveAll(images);
+        locked.setState(ImageProcessingState.DONE);
+        locked.setLastError(null);
+        locked.setUpdatedAt(LocalDateTime.now());
+        processing.setEntityId(locked.getEntityId());
+        processing.setState(locked.getState());
+    }
+
+    /**
+     * Schedules the next processing attempt, or marks the processing as failed when no attempts
+     * are left or the failure cannot be fixed by retrying.
+     *
+     * @param processing image which could not be processed
+     * @param error      description of the failure
+     * @param retryable  false if the original can never be processed, e.g. it is not an image
+     * @return true if the processing has finally failed
+     */
+    @Transactional
+    @Override
+    public boolean markFailed(ImageProcessing processing, String error, boolean retryable) {
+        ImageProcessing locked = lock(processing);
+        LocalDateTime now = LocalDateTime.now();
+        boolean failed = !retryable || locked.getAttempts() >= MAX_ATTEMPTS;
+        if (failed) {
+            locked.setState(ImageProcessingState.FAILED);
+        } else {
+            locked.setNextAttemptAt(now.plus(FIRST_RETRY_DELAY.multipliedBy(1L << (locked.getAttempts() - 1))));
+        }
+        locked.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error);
+        locked.setUpdatedAt(now);
+        processing.setState(locked.getState());
+        return failed;
+    }
+
+    private ImageProcessing lock(ImageProcessing processing) {
+        return repository.findByIdForUpdate(processing.getId())
+                .orElseThrow(() -> new IllegalStateException("Image processing " + processing.getId() + " is removed"));
+    }
+
+    /**
+     * Retrieves the processing of an image by its base name.
+     *
+     * @param baseName base name of the image
+     * @return image processing, or null if the image was not uploaded for asynchronous processing
+     */
+    @Override
+    public ImageProcessing getByBaseName(String baseName) {
+        return repository.findByBaseName(baseName).orElse(null);
+    }
+}
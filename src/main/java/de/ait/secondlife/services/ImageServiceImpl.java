@@ -2,14 +2,18 @@ package de.ait.secondlife.services;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import de.ait.secondlife.constants.EntityTypeWithImages;
 import de.ait.secondlife.constants.ImageConstants;
+import de.ait.secondlife.constants.ImageProcessingState;
 import de.ait.secondlife.domain.dto.ImageCreationDto;
 import de.ait.secondlife.domain.dto.ImagePathsResponseDto;
+import de.ait.secondlife.domain.dto.ImageProcessingDto;
 import de.ait.secondlife.domain.entity.ImageEntity;
+import de.ait.secondlife.domain.entity.ImageProcessing;
+import de.ait.secondlife.exception_handling.exceptions.ImageUploadIsBusyException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadFileFormatException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadFileSizeException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadRequestException;
@@ -17,29 +21,36 @@ import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.Max
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.BadEntityTypeException;
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.ImagesNotFoundException;
 import de.ait.secondlife.repositories.ImageRepository;
+import de.ait.secondlife.services.cache.ReferenceData;
+import de.ait.secondlife.services.cache.ReferenceDataCache;
+import de.ait.secondlife.services.images.ImageResizer;
+import de.ait.secondlife.services.images.ImageStorage;
+import de.ait.secondlife.services.images.ResizedImages;
 import de.ait.secondlife.services.interfaces.*;
 import de.ait.secondlife.services.utilities.UserPermissionsUtilities;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
 import javax.security.auth.login.CredentialException;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +65,13 @@ import java.util.stream.Collectors;
  *
  * <p>
  * The class uses Amazon S3 for storing images and various utilities for permission checking and metadata creation.
+ * Moving and deleting files is delegated to {@link ImageStorage}, which copies concurrently and deletes in batches.
+ * </p>
+ *
+ * <p>
+ * Asynchronous uploads store only the original file and queue an image_processing job. Jobs are
+ * claimed by at most image.processing.workers threads per instance, resized and attached to the
+ * entity in the background; new uploads are refused while image.processing.max-pending jobs wait.
  * </p>
  *
  * <p>
@@ -100,6 +118,10 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
     @Autowired
     private CategoryService categoryService;
     private final UserPermissionsUtilities userCredentialsUtilities;
+    private final ReferenceDataCache referenceDataCache;
+    private final ImageResizer imageResizer;
+    private final ImageStorage imageStorage;
+    private final ImageProcessingService imageProcessingService;
 
     @Value("${do.buket.name}")
     private String bucketName;
@@ -110,9 +132,37 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
     @Value("${do.base.path}")
     private String basePath;
 
+    @Value("${image.processing.workers:2}")
+    private int processingWorkers;
+
+    @Value("${image.processing.max-pending:100}")
+    private int maxPendingImages;
+
+    @Value("${image.path-migration.legacy-retention-days:30}")
+    private int legacyRetentionDays;
+
+    @Value("${image.path-migration.max-attempts:5}")
+    private int maxMigrationAttempts;
+
+    private ExecutorService processingExecutor;
+    private Semaphore processingSlots;
+    private final ReentrantLock claimLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        processingExecutor = Executors.newFixedThreadPool(processingWorkers);
+        processingSlots = new Semaphore(processingWorkers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        processingExecutor.shutdown();
+    }
+
     /**
      * Saves a new image for a given entity type and entity ID.
-     * The image is validated, compressed, and uploaded to S3.
+     * The image is validated, resized to all sizes of the entity type by the {@link ImageResizer},
+     * and uploaded to S3.
      *
      * @param entityType the type of the entity (e.g., "offer", "user", "category")
      * @param entityId   the ID of the entity
@@ -128,62 +178,111 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
     @Transactional
     public ImagePathsResponseDto saveNewImage(String entityType, Long entityId, ImageCreationDto dto) {
 
-        checkEntityExists(entityType, entityId);
-        Long userId = -1L;
-        try {
-            userId = userService.getCurrentUser().getId();
-        } catch (CredentialException ignored) {
-        }
-        if (entityId != null) userCredentialsUtilities.checkUserPermissions(entityType, entityId);
-
         MultipartFile file = dto.getFile();
-        checkFile(file);
+        Long userId = checkUpload(entityType, entityId, file);
+        ObjectMetadata metadata = createMetadata(file);
 
-        ImagePathsResponseDto currentImages = findAllImageForEntity(entityType, entityId);
+        String baseName = UUID.randomUUID().toString();
+        Set<ImageEntity> savedImgEntities;
+        try (InputStream input = file.getInputStream()) {
+            savedImgEntities = new HashSet<>(repository.saveAll(
+                    uploadResizedImages(input, entityType, entityId, userId, baseName, metadata)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (entityId != null) invalidateCachedEntities(entityType);
+        return getImagePathsResponseDto(savedImgEntities);
+    }
 
-        if (entityId != null) checkCountOfImageForEntityType(currentImages, entityType);
+    /**
+     * Saves a new image for a given entity type and entity ID without waiting for its processing.
+     * The original is stored once and registered for processing; resizing and uploading of all sizes
+     * is done by the processing workers. The processing state can be queried by the returned base name,
+     * and the image can be referenced once its state is DONE.
+     *
+     * @param entityType the type of the entity (e.g., "offer", "user", "category")
+     * @param entityId   the ID of the entity
+     * @param dto        the image creation DTO containing the image file
+     * @return ImageProcessingDto with the base name of the image and the PROCESSING state
+     * @throws BadRequestException         if the provided file is empty
+     * @throws BadFileSizeException        if the file size exceeds the maximum allowed size
+     * @throws BadFileFormatException      if the file format is not supported
+     * @throws MaxImageCountException      if the number of images for the entity type exceeds the allowed limit
+     * @throws BadEntityTypeException      if the entity type is not recognized or the entity does not exist
+     * @throws ImageUploadIsBusyException if too many images are waiting for processing
+     */
+    @Override
+    public ImageProcessingDto saveNewImageAsync(String entityType, Long entityId, ImageCreationDto dto) {
 
+        MultipartFile file = dto.getFile();
+        Long userId = checkUpload(entityType, entityId, file);
         ObjectMetadata metadata = createMetadata(file);
 
-        Set<int[]> fileSizes = getFileSizesForEntityType(entityType);
-
-        UUID baseName = UUID.randomUUID();
-        Path path = entityId != null ?
-                Path.of(dirPrefix, entityType, entityId.toString()) :
-                Path.of(TEMP_IMAGE_DIR, userId.toString(), baseName.toString());
-        Set<ImageEntity> savedImgEntities = new HashSet<>();
-        fileSizes.forEach(e -> {
-            String size = e[0] + "x" + e[1];
-
-            Path pathForDo = Path.of(path.toString(), makeFileName(size, baseName.toString()));
-
-            String imagePath = toUnixStylePath(pathForDo.toString());
-
-            PutObjectRequest request = new PutObjectRequest(
-                    bucketName,
-                    imagePath,
-                    compressFile(file, e),
-                    metadata
-            ).withCannedAcl(CannedAccessControlList.PublicReadWrite);
-
-            s3Client.putObject(request);
-
-            LocalDateTime now = LocalDateTime.now();
-            ImageEntity savedImgEntity = repository.save(
-                    ImageEntity.builder()
-                            .size(size)
-                            .baseName(baseName.toString())
-                            .entityType(entityType)
-                            .entityId(entityId)
-                            .fullPath(toUnixStylePath(basePath + imagePath))
-                            .updatedAt(now)
-                            .build()
-            );
-            if (entityId == null) savedImgEntity.setCreatedAt(now);
+        String baseName = UUID.randomUUID().toString();
+        String originalPath = toUnixStylePath(Path.of(ORIGINAL_IMAGE_DIR, baseName).toString());
+        ImageProcessing processing = imageProcessingService.submit(
+                baseName, entityType, entityId, userId, originalPath, metadata.getContentType(), maxPendingImages);
+
+        metadata.setContentLength(file.getSize());
+        try (InputStream input = file.getInputStream()) {
+            s3Client.putObject(new PutObjectRequest(bucketName, originalPath, input, metadata));
+        } catch (IOException | RuntimeException e) {
+            imageProcessingService.cancel(processing);
+            throw e instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e);
+        }
 
-            savedImgEntities.add(savedImgEntity);
-        });
-        return getImagePathsResponseDto(savedImgEntities);
+        imageProcessingService.activate(processing);
+        processingExecutor.execute(this::processPendingImages);
+        return new ImageProcessingDto(baseName, ImageProcessingState.PROCESSING, null);
+    }
+
+    /**
+     * Retrieves the processing state of an image by its base name.
+     * Images uploaded synchronously are reported as DONE.
+     *
+     * @param baseName the base name of the image
+     * @return ImageProcessingDto with the state of the image and its paths once it is processed
+     * @throws ImagesNotFoundException if no image with the given base name was uploaded
+     */
+    @Override
+    public ImageProcessingDto getProcessingState(String baseName) {
+        ImageProcessing processing = imageProcessingService.getByBaseName(baseName);
+        Set<ImageEntity> images = findAllImagesByBaseName(baseName);
+        if (processing == null) {
+            if (images.isEmpty()) throw new ImagesNotFoundException(baseName);
+            return new ImageProcessingDto(baseName, ImageProcessingState.DONE, getImagePathsResponseDto(images));
+        }
+        return new ImageProcessingDto(
+                baseName,
+                processing.getState(),
+                processing.getState() == ImageProcessingState.DONE ? getImagePathsResponseDto(images) : null);
+    }
+
+    /**
+     * Claims pending images up to the number of idle processing workers and processes them.
+     * Only one thread of an instance claims images at a time; a worker which finishes an image
+     * looks for the next one.
+     */
+    @Override
+    public void processPendingImages() {
+        if (!claimLock.tryLock()) return;
+        try {
+            int idleWorkers = processingSlots.availablePermits();
+            if (idleWorkers == 0) return;
+            for (ImageProcessing processing : imageProcessingService.claimPending(idleWorkers)) {
+                processingSlots.acquireUninterruptibly();
+                processingExecutor.execute(() -> {
+                    try {
+                        processImage(processing);
+                    } finally {
+                        processingSlots.release();
+                    }
+                    processPendingImages();
+                });
+            }
+        } finally {
+            claimLock.unlock();
+        }
     }
 
     /**
@@ -200,9 +299,31 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
         return getImagePathsResponseDto(images);
     }
 
+    /**
+     * Finds all images for a set of entities of the same type with a single query.
+     * Entities without images are not present in the resulting map.
+     *
+     * @param entityType the type of the entities
+     * @param entityIds  the IDs of the entities
+     * @return map of entity ID to ImagePathsResponseDto containing paths of the images
+     */
+    @Override
+    public Map<Long, ImagePathsResponseDto> findAllImagesForEntities(String entityType, Collection<Long> entityIds) {
+        Map<Long, ImagePathsResponseDto> result = new HashMap<>();
+        if (entityIds == null || entityIds.isEmpty()) return result;
+
+        repository.findAllByEntityTypeAndEntityIdIn(entityType, entityIds)
+                .stream()
+                .collect(Collectors.groupingBy(ImageEntity::getEntityId, Collectors.toSet()))
+                .forEach((entityId, images) -> result.put(entityId, getImagePathsResponseDto(images)));
+        return result;
+    }
+
     /**
      * Connects temporary images to a given entity.
-     * This method updates the entity ID and paths of the images.
+     * Files are stored under keys derived from the base name only, so attaching an image changes
+     * just its entity ID. Images uploaded to the former temporary directory are moved to such keys.
+     * Images which are still processing are attached when their processing is done.
      *
      * @param baseNames  the set of base names of the images
      * @param entityType the type of the entity
@@ -213,29 +334,31 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
     public void connectTempImagesToEntity(Set<String> baseNames, String entityType, Long entityId) {
         if (baseNames != null && entityId != null) {
             Set<String> usedBaseNames = new HashSet<>();
+            List<ImageEntity> connectedImages = new ArrayList<>();
+            Map<String, String> moves = new HashMap<>();
             baseNames.forEach(e -> {
+                        if (imageProcessingService.attachPending(e, entityType, entityId)) return;
+
                         Set<ImageEntity> images = findAllImagesByBaseName(e);
+                        if (images.isEmpty()) usedBaseNames.add(e);
 
                         images.forEach(k -> {
                             if (k.getEntityId() == null && k.getEntityType().equals(entityType)) {
 
                                 k.setEntityId(entityId);
-                                Path path = Path.of(dirPrefix,
-                                        k.getEntityType(),
-                                        entityId.toString(),
-                                        makeFileName(k.getSize(), e));
-
-                                String oldPath = k.getFullPath();
-                                String newPath = toUnixStylePath(basePath + path);
-
-                                k.setFullPath(newPath);
                                 k.setUpdatedAt(LocalDateTime.now());
-                                repository.save(k);
-                                relocateImageFile(oldPath, newPath);
+                                if (!isContentAddressed(k.getFullPath())) {
+                                    String newPath = toFullPath(getImageKey(k.getSize(), e));
+                                    moves.put(toStorageKey(k.getFullPath()), toStorageKey(newPath));
+                                    k.setFullPath(newPath);
+                                }
+                                connectedImages.add(k);
                             } else usedBaseNames.add(k.getBaseName());
                         });
                     }
             );
+            repository.saveAll(connectedImages);
+            if (!moves.isEmpty()) imageStorage.move(moves);
             if (!usedBaseNames.isEmpty())
                 log.warn("Images with base names <{}> were not uploaded as they had been used previously " +
                                 "or the type of entity is wrong",
@@ -260,11 +383,23 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
 
         userCredentialsUtilities.checkUserPermissionsForImageByImageEntities(images);
 
+        List<String> keys = new ArrayList<>();
         images.forEach(e -> {
-            String doFileName = e.getFullPath().substring(basePath.length());
-            s3Client.deleteObject(bucketName, doFileName);
+            keys.add(toStorageKey(e.getFullPath()));
+            if (e.getLegacyKey() != null) keys.add(e.getLegacyKey());
         });
+        imageStorage.delete(keys);
         repository.deleteAllByBaseName(baseName);
+        images.stream()
+                .filter(e -> e.getEntityId() != null)
+                .map(ImageEntity::getEntityType)
+                .distinct()
+                .forEach(this::invalidateCachedEntities);
+    }
+
+    private void invalidateCachedEntities(String entityType) {
+        if (EntityTypeWithImages.CATEGORY.getType().equalsIgnoreCase(entityType))
+            referenceDataCache.invalidate(ReferenceData.CATEGORIES);
     }
 
     /**
@@ -278,25 +413,6 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
         return repository.findAllByBaseName(baseName);
     }
 
-    /**
-     * Relocates an image file from one path to another in S3.
-     *
-     * @param oldPath the old path of the image
-     * @param newPath the new path of the image
-     */
-    private void relocateImageFile(String oldPath, String newPath) {
-        String oldDoPath = oldPath.substring(basePath.length());
-        String newDoPath = newPath.substring(basePath.length());
-        CopyObjectRequest copyObjRequest = new CopyObjectRequest(
-                bucketName,
-                oldDoPath,
-                bucketName,
-                newDoPath
-        ).withCannedAccessControlList(CannedAccessControlList.PublicReadWrite);
-        s3Client.copyObject(copyObjRequest);
-        s3Client.deleteObject(bucketName, oldDoPath);
-    }
-
     /**
      * Deletes unattached images that are older than a specified date.
      * This method is transactional to ensure atomicity of the delete operation.
@@ -307,14 +423,83 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
         LocalDateTime obsoleteDate = LocalDateTime.now().minusDays(1);
         List<ImageEntity> imagesForDelete = repository.findAllByEntityIdIsNullAndCreatedAtLessThan(obsoleteDate);
         Set<String> baseNames = new HashSet<>();
+        List<String> keys = new ArrayList<>(imagesForDelete.size());
         imagesForDelete.forEach(image -> {
-            String fileName = image.getFullPath().substring(basePath.length());
-            s3Client.deleteObject(bucketName, fileName);
+            keys.add(toStorageKey(image.getFullPath()));
             baseNames.add(image.getBaseName());
         });
+        imageStorage.delete(keys);
         repository.deleteAllByBaseNameIn(baseNames);
     }
 
+    /**
+     * Moves files of attached images stored under entity-specific keys to keys derived from the base name.
+     * The files are copied and the full paths of the images rewritten. The old files stay available for
+     * image.path-migration.legacy-retention-days, so URLs handed out before the migration keep working,
+     * and are deleted by {@link #deleteLegacyImageFiles()} afterwards.
+     * Images whose files cannot be copied are logged and keep their paths. They are retried by later calls
+     * until they have failed image.path-migration.max-attempts times, and skipped afterwards.
+     *
+     * @param afterId ID of the last image processed by the previous call, 0 to start from the beginning
+     * @param limit   maximum number of images to process
+     * @return ID of the last processed image or null if no images are left to migrate
+     */
+    @Override
+    @Transactional
+    public Long migrateImagePaths(Long afterId, int limit) {
+        List<ImageEntity> images =
+                repository.findAllByIdGreaterThanAndEntityIdIsNotNullAndFullPathNotLikeAndMigrationAttemptsLessThanOrderById(
+                        afterId, toFullPath(getImageKeyPrefix()) + "%", maxMigrationAttempts, PageRequest.of(0, limit));
+        if (images.isEmpty()) return null;
+
+        Map<String, String> copies = new HashMap<>();
+        images.forEach(e -> copies.put(toStorageKey(e.getFullPath()), getImageKey(e.getSize(), e.getBaseName())));
+        Map<String, RuntimeException> failures = imageStorage.tryCopy(copies);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageEntity> migratedImages = new ArrayList<>();
+        images.forEach(e -> {
+            String legacyKey = toStorageKey(e.getFullPath());
+            if (failures.containsKey(legacyKey)) {
+                e.setMigrationAttempts(e.getMigrationAttempts() + 1);
+                if (e.getMigrationAttempts() < maxMigrationAttempts) {
+                    log.warn("Cannot migrate image file <{}>", legacyKey, failures.get(legacyKey));
+                } else {
+                    log.error("Cannot migrate image file <{}>, giving up after {} attempts",
+                            legacyKey, e.getMigrationAttempts(), failures.get(legacyKey));
+                }
+                return;
+            }
+            e.setFullPath(toFullPath(copies.get(legacyKey)));
+            e.setLegacyKey(legacyKey);
+            e.setMigratedAt(now);
+            migratedImages.add(e);
+        });
+        repository.saveAll(images);
+        migratedImages.stream()
+                .map(ImageEntity::getEntityType)
+                .distinct()
+                .forEach(this::invalidateCachedEntities);
+        return images.get(images.size() - 1).getId();
+    }
+
+    /**
+     * Deletes the old files of migrated images once their retention period has passed.
+     */
+    @Override
+    @Transactional
+    public void deleteLegacyImageFiles() {
+        LocalDateTime obsoleteDate = LocalDateTime.now().minusDays(legacyRetentionDays);
+        List<ImageEntity> images = repository.findAllByLegacyKeyIsNotNullAndMigratedAtLessThan(obsoleteDate);
+        if (images.isEmpty()) return;
+
+        imageStorage.delete(images.stream()
+                .map(ImageEntity::getLegacyKey)
+                .toList());
+        images.forEach(e -> e.setLegacyKey(null));
+        repository.saveAll(images);
+    }
+
     /**
      * Creates an ImagePathsResponseDto from a set of ImageEntity objects.
      *
@@ -342,49 +527,111 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
     }
 
     /**
-     * Compresses an image file to a specified size.
+     * Checks the entity, the permissions of the current user and the uploaded file.
      *
-     * @param file the image file to compress
-     * @param size the target size for the compressed image
-     * @return InputStream of the compressed image
-     * @throws RuntimeException if an IOException occurs during image processing
+     * @return ID of the current user, or -1 if the user is not authenticated
      */
-    private InputStream compressFile(MultipartFile file, int[] size) {
-
-        ByteArrayOutputStream outputStream;
+    private Long checkUpload(String entityType, Long entityId, MultipartFile file) {
+        checkEntityExists(entityType, entityId);
+        Long userId = -1L;
         try {
-            BufferedImage image = ImageIO.read(file.getInputStream());
-            int originalWidth = image.getWidth();
-            int originalHeight = image.getHeight();
-
-            double aspectRatio = (double) originalWidth / originalHeight;
-            int newWidth, newHeight;
-
-            if (originalWidth > originalHeight) {
-                newWidth = size[0];
-                newHeight = (int) (size[0] / aspectRatio);
-            } else {
-                newHeight = size[1];
-                newWidth = (int) (size[1] * aspectRatio);
-            }
+            userId = userService.getCurrentUser().getId();
+        } catch (CredentialException ignored) {
+        }
+        if (entityId != null) userCredentialsUtilities.checkUserPermissions(entityType, entityId);
 
-            BufferedImage resizedImage = new BufferedImage(size[0], size[1], BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = resizedImage.createGraphics();
+        checkFile(file);
 
-            g2d.setColor(Color.WHITE);
-            g2d.fillRect(0, 0, size[0], size[1]);
+        ImagePathsResponseDto currentImages = findAllImageForEntity(entityType, entityId);
 
-            int x = (size[0] - newWidth) / 2;
-            int y = (size[1] - newHeight) / 2;
-            g2d.drawImage(image.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH), x, y, null);
-            g2d.dispose();
+        if (entityId != null) checkCountOfImageForEntityType(
+                currentImages.getValues().size() + imageProcessingService.countPending(entityType, entityId),
+                entityType);
+        return userId;
+    }
 
-            outputStream = new ByteArrayOutputStream();
-            ImageIO.write(resizedImage, IMAGE, outputStream);
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
+    /**
+     * Resizes the original to all sizes of the entity type and uploads them to S3.
+     *
+     * @return not yet saved image entities of the uploaded sizes
+     */
+    private List<ImageEntity> uploadResizedImages(
+            InputStream original,
+            String entityType,
+            Long entityId,
+            Long userId,
+            String baseName,
+            ObjectMetadata metadata) {
+
+        List<ImageEntity> imgEntities = new ArrayList<>();
+        try (ResizedImages resizedImages = imageResizer.resize(original, getFileSizesForEntityType(entityType))) {
+            resizedImages.getImages().forEach(e -> {
+                String size = e.getSize();
+
+                String imagePath = getImageKey(size, baseName);
+
+                ObjectMetadata imageMetadata = metadata.clone();
+                imageMetadata.setContentLength(e.getContentLength());
+
+                PutObjectRequest request = new PutObjectRequest(
+                        bucketName,
+                        imagePath,
+                        e.getInputStream(),
+                        imageMetadata
+                ).withCannedAcl(CannedAccessControlList.PublicReadWrite);
+
+                s3Client.putObject(request);
+
+                LocalDateTime now = LocalDateTime.now();
+                imgEntities.add(ImageEntity.builder()
+                        .size(size)
+                        .baseName(baseName)
+                        .entityType(entityType)
+                        .entityId(entityId)
+                        .fullPath(toFullPath(imagePath))
+                        .createdAt(entityId == null ? now : null)
+                        .updatedAt(now)
+                        .uploadedBy(userId)
+                        .build());
+            });
+        }
+        return imgEntities;
+    }
+
+    /**
+     * Resizes and uploads an image registered for asynchronous processing. A failed attempt is
+     * retried later; the original is deleted once the image is processed or has finally failed.
+     */
+    private void processImage(ImageProcessing processing) {
+        try {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType(processing.getContentType());
+            List<ImageEntity> images;
+            try (S3Object original = s3Client.getObject(bucketName, processing.getOriginalPath())) {
+                images = uploadResizedImages(
+                        original.getObjectContent(),
+                        processing.getEntityType(),
+                        processing.getEntityId(),
+                        processing.getUserId(),
+                        processing.getBaseName(),
+                        metadata);
+            }
+            imageProcessingService.markDone(processing, images);
+            if (processing.getEntityId() != null) invalidateCachedEntities(processing.getEntityType());
+            deleteOriginal(processing);
+        } catch (Exception e) {
+            log.warn("Cannot process image <{}>, attempt {}", processing.getBaseName(), processing.getAttempts(), e);
+            boolean retryable = !(e instanceof BadRequestException);
+            if (imageProcessingService.markFailed(processing, e.toString(), retryable)) deleteOriginal(processing);
+        }
+    }
+
+    private void deleteOriginal(ImageProcessing processing) {
+        try {
+            s3Client.deleteObject(bucketName, processing.getOriginalPath());
+        } catch (RuntimeException e) {
+            log.warn("Cannot delete original of image <{}>", processing.getBaseName(), e);
         }
-        return new ByteArrayInputStream(outputStream.toByteArray());
     }
 
     /**
@@ -404,15 +651,15 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
     /**
      * Checks if the number of images for an entity type exceeds the allowed maximum.
      *
-     * @param currentImages the current images for the entity
-     * @param entityType    the type of the entity
+     * @param currentImageCount the number of current and processing images of the entity
+     * @param entityType        the type of the entity
      * @throws MaxImageCountException if the number of images for the entity type exceeds the allowed limit
      */
     private void checkCountOfImageForEntityType(
-            ImagePathsResponseDto currentImages,
+            long currentImageCount,
             String entityType) {
         int maxCountOfImage = EntityTypeWithImages.get(entityType.toLowerCase()).getMaxCountOfImages();
-        if (currentImages.getValues().size() >= maxCountOfImage) {
+        if (currentImageCount >= maxCountOfImage) {
             throw new MaxImageCountException(entityType, maxCountOfImage);
         }
     }
@@ -450,6 +697,40 @@ public class ImageServiceImpl implements ImageService, ImageConstants {
         };
     }
 
+    /**
+     * Returns the storage key of an image file. The key depends only on the base name and size,
+     * so the file never has to be moved when the image is attached to an entity.
+     *
+     * @param size     the size of the image
+     * @param baseName the base name of the image
+     * @return the key of the file
+     */
+    private String getImageKey(String size, String baseName) {
+        return toUnixStylePath(Path.of(dirPrefix, IMAGE_DIR, baseName, makeFileName(size, baseName)).toString());
+    }
+
+    private boolean isContentAddressed(String fullPath) {
+        return toStorageKey(fullPath).startsWith(getImageKeyPrefix());
+    }
+
+    private String getImageKeyPrefix() {
+        return toUnixStylePath(Path.of(dirPrefix, IMAGE_DIR).toString()) + "/";
+    }
+
+    private String toFullPath(String key) {
+        return toUnixStylePath(basePath + key);
+    }
+
+    /**
+     * Converts a full path of an image to the key of its file in the storage.
+     *
+     * @param fullPath the full path of the image
+     * @return the key of the file
+     */
+    private String toStorageKey(String fullPath) {
+        return fullPath.substring(basePath.length());
+    }
+
     /**
      * Converts a file path to Unix style.
      *
@@ -0,0 +1,84 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.repositories.JobLeaseRepository;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Service implementation for cluster-wide leases of scheduled jobs.(Version 1.0)
+ * A lease is a row of the job_lease table holding the owner (application instance) and
+ * the expiration time of the lease. A scheduled job runs only on the instance holding its lease.
+ *
+ * <p>
+ * The lease is acquired and renewed with a single atomic upsert: the row is taken over only if
+ * it belongs to this instance already or has expired, so a dead instance loses its leases after
+ * their time-to-live. Expiration is checked against the database clock to be independent
+ * of clock differences between instances. Leases are released on shutdown.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Service
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private final JobLeaseRepository repository;
+    private final String owner;
+
+    @Autowired
+    public JobLeaseServiceImpl(JobLeaseRepository repository) {
+        this(repository, generateOwner());
+    }
+
+    public JobLeaseServiceImpl(JobLeaseRepository repository, String owner) {
+        this.repository = repository;
+        this.owner = owner;
+    }
+
+    /**
+     * Acquires the lease of the job for this instance, or renews it if it is already held.
+     *
+     * @param jobName name of the job
+     * @param ttl     time after which the lease expires if it is not renewed
+     * @return true if this instance holds the lease and may run the job
+     */
+    @Override
+    public boolean acquire(String jobName, Duration ttl) {
+        return repository.acquire(jobName, owner, ttl.toSeconds()) > 0;
+    }
+
+    /**
+     * Releases all leases held by this instance, so other instances can take over immediately.
+     */
+    @PreDestroy
+    @Override
+    public void releaseAll() {
+        repository.deleteAllByOwner(owner);
+    }
+
+    @Override
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String generateOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID();
+    }
+}
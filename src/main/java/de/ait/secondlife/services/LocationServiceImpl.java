@@ -5,9 +5,13 @@ import de.ait.secondlife.domain.entity.Location;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.is_null_exceptions.IdIsNullException;
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.LocationNotFoundException;
 import de.ait.secondlife.repositories.LocationRepository;
+import de.ait.secondlife.services.cache.ReferenceData;
+import de.ait.secondlife.services.cache.ReferenceDataCache;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 import de.ait.secondlife.services.interfaces.LocationService;
 import de.ait.secondlife.services.mapping.LocationMappingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -29,7 +33,8 @@ import java.util.List;
  * The methods in this service allow fetching location details by ID,
  * retrieving all available locations, and obtaining a Location entity
  * based on its ID. These methods utilize the LocationMappingService
- * to convert Location entities to DTOs for external use.
+ * to convert Location entities to DTOs for external use. The list of all
+ * locations is served from the {@link ReferenceDataCache}.
  * </p>
  *
  * <p>
@@ -62,6 +67,8 @@ public class LocationServiceImpl implements LocationService {
 
     private final LocationRepository repository;
 
+    private final ReferenceDataCache cache;
+
     /**
      * Retrieves a LocationDto object by its ID.
      *
@@ -89,10 +96,20 @@ public class LocationServiceImpl implements LocationService {
      */
     @Override
     public List<LocationDto> getAll() {
-        return repository.findAll()
+        return getAllSnapshot().data();
+    }
+
+    /**
+     * Retrieves the cached list of all locations together with its ETag.
+     *
+     * @return snapshot of the list of LocationDto ordered by ID
+     */
+    @Override
+    public ReferenceDataSnapshot<List<LocationDto>> getAllSnapshot() {
+        return cache.get(ReferenceData.LOCATIONS, () -> repository.findAll(Sort.by("id"))
                 .stream()
                 .map(mappingService::toDto)
-                .toList();
+                .toList());
     }
 
     /**
@@ -0,0 +1,113 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.domain.entity.Notification;
+import de.ait.secondlife.repositories.NotificationRepository;
+import de.ait.secondlife.services.interfaces.NotificationService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for the delivery queue of notifications.(Version 1.0)
+ * Pending notifications are claimed in batches and their delivery results are stored in bulk.
+ *
+ * <p>
+ * Claiming locks pending rows with SELECT ... FOR UPDATE SKIP LOCKED, so concurrent dispatchers
+ * get disjoint batches, and moves next_attempt_at of the claimed rows into the future. The rows
+ * stay invisible to other dispatchers while they are being sent, and become pending again if
+ * the claiming instance dies before storing the result. A failed notification is retried with
+ * an exponential backoff and is moved to the dead-letter state (failed_at is set) after
+ * {@value #MAX_ATTEMPTS} attempts.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+
+    public static final int MAX_ATTEMPTS = 5;
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final NotificationRepository repository;
+
+    /**
+     * Claims a batch of pending notifications for delivery.
+     *
+     * @param limit maximum number of notifications in the batch
+     * @return claimed notifications with the current attempt counted
+     */
+    @Transactional
+    @Override
+    public List<Notification> claimPending(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> pending = repository.findPendingForUpdate(now, limit);
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        repository.claim(getIds(pending), now.plus(CLAIM_TIMEOUT));
+        pending.forEach(notification -> {
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setNextAttemptAt(now.plus(CLAIM_TIMEOUT));
+        });
+        return pending;
+    }
+
+    /**
+     * Marks the notifications as sent.
+     *
+     * @param notifications delivered notifications
+     */
+    @Transactional
+    @Override
+    public void markSent(Collection<Notification> notifications) {
+        if (!notifications.isEmpty()) {
+            repository.markSent(getIds(notifications), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Schedules the next delivery attempt of the notifications, or moves them to the dead-letter
+     * state when no attempts are left.
+     *
+     * @param notifications notifications which could not be delivered
+     */
+    @Transactional
+    @Override
+    public void markFailed(Collection<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, List<Notification>> byAttempts = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getAttempts));
+
+        byAttempts.forEach((attempts, failed) -> {
+            if (attempts >= MAX_ATTEMPTS) {
+                repository.markFailed(getIds(failed), now);
+            } else {
+                repository.scheduleRetry(getIds(failed), now.plus(getRetryDelay(attempts)));
+            }
+        });
+    }
+
+    private Duration getRetryDelay(int attempts) {
+        return FIRST_RETRY_DELAY.multipliedBy(1L << (attempts - 1));
+    }
+
+    private List<Long> getIds(Collection<Notification> notifications) {
+        return notifications.stream()
+                .map(Notification::getId)
+                .toList();
+    }
+}
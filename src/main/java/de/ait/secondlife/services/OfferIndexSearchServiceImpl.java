@@ -0,0 +1,465 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.dto.OfferSearchDocumentDto;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.PaginationParameterIsWrongException;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.services.interfaces.OfferSearchService;
+import de.ait.secondlife.services.pagination.OfferCursor;
+import de.ait.secondlife.services.pagination.OfferCursorPage;
+import de.ait.secondlife.services.search.OfferIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Offer search backed by an in-process inverted index.(Version 1.0)
+ * Used when property offer.search.engine is set to "index", so that searching does not load
+ * the database.
+ *
+ * <p>
+ * The index contains offers with started auctions and is built from the database by
+ * {@link de.ait.secondlife.scheduler.OfferIndexListener} when the application is ready. Afterwards it
+ * is updated incrementally: {@link #index(Offer)} is called on every status change of an offer, which
+ * also follows every creation and update. The contents of the offer are captured before the transaction
+ * commits and applied to the index after the commit, so rolled back changes never reach the index.
+ * A search only loads the offers of the requested page from the database and skips offers whose auction
+ * is no longer running. Offers can be sorted by relevance and by fields which do not change while
+ * the auction is running.
+ * </p>
+ *
+ * <p>
+ * Every instance keeps its own index. Changes are published to the other instances with pg_notify on
+ * the channel {@value #CHANNEL}, delivered by the database when the transaction commits; the payload
+ * is the ID of the offer and the ID of the publishing instance. A receiving instance loads the offer
+ * from the database and updates its index with it.
+ * </p>
+ *
+ * <p>
+ * {@link #rebuild()} loads the index from the database again without blocking searches; changes
+ * made during the rebuild are replayed on the new index. {@link #check()} compares the index with
+ * the database.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "offer.search.engine", havingValue = "index")
+@RequiredArgsConstructor
+public class OfferIndexSearchServiceImpl implements OfferSearchService {
+
+    public static final String CHANNEL = "offer_index";
+    private static final String PAYLOAD_SEPARATOR = ":";
+    private static final String SEARCH_RELEVANCE = "relevance";
+    private static final Map<String, Comparator<OfferIndex.Hit>> SORT_COMPARATORS = Map.of(
+            SEARCH_RELEVANCE, Comparator.comparingInt(OfferIndex.Hit::score).reversed(),
+            "id", byDocument(OfferSearchDocumentDto::getOfferId),
+            "title", byDocument(OfferSearchDocumentDto::getTitle),
+            "createdAt", byDocument(OfferSearchDocumentDto::getCreatedAt),
+            "updatedAt", byDocument(OfferSearchDocumentDto::getUpdatedAt),
+            "auctionFinishedAt", byDocument(OfferSearchDocumentDto::getAuctionFinishedAt),
+            "startPrice", byDocument(OfferSearchDocumentDto::getStartPrice),
+            "winBid", byDocument(OfferSearchDocumentDto::getWinBid));
+
+    private static final Comparator<OfferIndex.Hit> BY_RELEVANCE_AND_ID = SORT_COMPARATORS.get(SEARCH_RELEVANCE)
+            .thenComparing(SORT_COMPARATORS.get("id").reversed());
+
+    private final OfferRepository offerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${offer.search.index.chunk-size:1000}")
+    private int chunkSize;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private OfferIndex index = new OfferIndex();
+    private long version;
+    private List<Consumer<OfferIndex>> changesDuringRebuild;
+
+    /**
+     * Searches offers with started auctions in the index and loads the offers of the requested page.
+     *
+     * @param pattern    search pattern
+     * @param locationId location ID to filter offers, can be null
+     * @param pageable   pagination information
+     * @return page of offers matching the pattern
+     * @throws PaginationParameterIsWrongException if offers cannot be sorted by the requested field
+     */
+    @Override
+    public Page<Offer> search(String pattern, Long locationId, Pageable pageable) {
+        Comparator<OfferIndex.Hit> comparator = getComparator(pageable);
+        List<String> words = OfferIndex.tokenize(pattern);
+        if (words.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<OfferIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(words, locationId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(comparator);
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<Long> ids = hits.subList(from, to).stream()
+                .map(hit -> hit.document().getOfferId())
+                .toList();
+        return new PageImpl<>(loadOffers(ids), pageable, hits.size());
+    }
+
+    /**
+     * Searches offers with started auctions in the index from the best match, starting after
+     * the cursor position, and loads the offers of the page.
+     *
+     * @param pattern    search pattern
+     * @param locationId location ID to filter offers, can be null
+     * @param cursor     position of the last returned offer, sorted by relevance
+     * @param size       maximum number of offers
+     * @return offers matching the pattern and the cursor of the next page
+     */
+    @Override
+    public OfferCursorPage search(String pattern, Long locationId, OfferCursor cursor, int size) {
+        List<String> words = OfferIndex.tokenize(pattern);
+        if (words.isEmpty()) {
+            return new OfferCursorPage(List.of(), null);
+        }
+
+        List<OfferIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(words, locationId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<OfferIndex.Hit> pageHits = hits.stream()
+                .filter(hit -> cursor.isFirst() || isAfter(hit, cursor))
+                .sorted(BY_RELEVANCE_AND_ID)
+                .limit(size + 1L)
+                .toList();
+
+        OfferCursor nextCursor = null;
+        if (pageHits.size() > size) {
+            pageHits = pageHits.subList(0, size);
+            OfferIndex.Hit last = pageHits.get(size - 1);
+            nextCursor = cursor.after(last.document().getOfferId(), last.score());
+        }
+        List<Long> ids = pageHits.stream()
+                .map(hit -> hit.document().getOfferId())
+                .toList();
+        return new OfferCursorPage(loadOffers(ids), nextCursor);
+    }
+
+    /**
+     * Updates the offer in the index after the current transaction commits and notifies the other
+     * instances. Offers without a started auction are removed from the index.
+     *
+     * @param offer created or changed offer
+     */
+    @Override
+    public void index(Offer offer) {
+        if (offer.getId() == null) {
+            return;
+        }
+        publish(offer.getId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(toChange(offer));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Consumer<OfferIndex> change;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                change = toChange(offer);
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    /**
+     * Handles a notification received on the channel {@value #CHANNEL}: loads the changed offer
+     * from the database and updates it in the index.
+     *
+     * @param payload ID of the changed offer, optionally followed by the ID of the publishing instance
+     */
+    public void onNotification(String payload) {
+        String[] parts = payload.split(PAYLOAD_SEPARATOR, 2);
+        if (parts.length == 2 && origin.equals(parts[1])) {
+            return;
+        }
+        Long offerId;
+        try {
+            offerId = Long.valueOf(parts[0].trim());
+        } catch (NumberFormatException e) {
+            log.warn("Unknown offer in notification: {}", payload);
+            return;
+        }
+        Optional<OfferSearchDocumentDto> document =
+                offerRepository.findSearchDocument(OfferStatus.AUCTION_STARTED, offerId);
+        apply(document.<Consumer<OfferIndex>>map(found -> target -> target.put(found))
+                .orElse(target -> target.remove(offerId)));
+    }
+
+    /**
+     * Builds the index from the database and replaces the current one.
+     */
+    public synchronized void rebuild() {
+        List<Consumer<OfferIndex>> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        OfferIndex rebuilt = new OfferIndex();
+        try {
+            loadDocuments().values().forEach(rebuilt::put);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changes.forEach(change -> change.accept(rebuilt));
+            index = rebuilt;
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Offer search index built with {} offers", rebuilt.size());
+    }
+
+    /**
+     * Compares the indexed offers with the offers with started auctions in the database.
+     * Offers changed while the check is running can be reported as inconsistent.
+     *
+     * @return numbers of offers missing in the index, indexed offers which are no longer searchable,
+     * and indexed offers with outdated contents
+     */
+    public CheckResult check() {
+        Map<Long, OfferSearchDocumentDto> expected = loadDocuments();
+        Map<Long, OfferSearchDocumentDto> indexed;
+        lock.readLock().lock();
+        try {
+            indexed = index.getDocuments();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int missing = 0;
+        int outdated = 0;
+        for (OfferSearchDocumentDto document : expected.values()) {
+            OfferSearchDocumentDto indexedDocument = indexed.get(document.getOfferId());
+            if (indexedDocument == null) {
+                missing++;
+            } else if (!hasSameContents(document, indexedDocument)) {
+                outdated++;
+            }
+        }
+        int redundant = (int) indexed.keySet().stream()
+                .filter(offerId -> !expected.containsKey(offerId))
+                .count();
+        return new CheckResult(missing, redundant, outdated);
+    }
+
+    private void apply(Consumer<OfferIndex> change) {
+        boolean needsCompaction;
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            version++;
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            needsCompaction = index.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (needsCompaction) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live documents of the index into a compacted index under the read lock, so
+     * searches go on while the copy is built, and swaps the copy in under the write lock.
+     * If the index has changed in between, the copy is dropped and the next change retries.
+     */
+    private void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            OfferIndex current;
+            long compactedVersion;
+            OfferIndex compacted;
+            lock.readLock().lock();
+            try {
+                current = index;
+                compactedVersion = version;
+                if (!current.needsCompaction()) {
+                    return;
+                }
+                compacted = current.compact();
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (index == current && version == compactedVersion) {
+                    index = compacted;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void publish(Long offerId) {
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, offerId + PAYLOAD_SEPARATOR + origin);
+        } catch (DataAccessException e) {
+            log.error("Cannot notify other instances about changed offer [ID={}]", offerId, e);
+        }
+    }
+
+    private Consumer<OfferIndex> toChange(Offer offer) {
+        Long offerId = offer.getId();
+        if (offer.getStatus() == null || offer.getStatus().getName() != OfferStatus.AUCTION_STARTED) {
+            return target -> target.remove(offerId);
+        }
+        OfferSearchDocumentDto document = new OfferSearchDocumentDto(
+                offerId,
+                offer.getTitle(),
+                offer.getDescription(),
+                offer.getCategory() == null ? null : offer.getCategory().getName(),
+                offer.getLocation() == null ? null : offer.getLocation().getId(),
+                offer.getLocation() == null ? null : offer.getLocation().getName(),
+                offer.getCreatedAt(),
+                offer.getUpdatedAt(),
+                offer.getAuctionFinishedAt(),
+                offer.getStartPrice(),
+                offer.getWinBid());
+        return target -> target.put(document);
+    }
+
+    private Map<Long, OfferSearchDocumentDto> loadDocuments() {
+        Map<Long, OfferSearchDocumentDto> documents = new HashMap<>();
+        long lastId = 0;
+        List<OfferSearchDocumentDto> chunk;
+        do {
+            chunk = offerRepository.findSearchDocuments(
+                    OfferStatus.AUCTION_STARTED, lastId, PageRequest.of(0, chunkSize));
+            chunk.forEach(document -> documents.put(document.getOfferId(), document));
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getOfferId();
+            }
+        } while (chunk.size() == chunkSize);
+        return documents;
+    }
+
+    private List<Offer> loadOffers(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Offer> offers = new HashMap<>();
+        offerRepository.findAllWithDetailsByIdIn(ids).forEach(offer -> offers.put(offer.getId(), offer));
+        return ids.stream()
+                .map(offers::get)
+                .filter(offer -> offer != null && offer.getOfferStatus() == OfferStatus.AUCTION_STARTED)
+                .toList();
+    }
+
+    private Comparator<OfferIndex.Hit> getComparator(Pageable pageable) {
+        Comparator<OfferIndex.Hit> comparator = null;
+        for (Sort.Order order : pageable.getSort()) {
+            Comparator<OfferIndex.Hit> next = SORT_COMPARATORS.get(order.getProperty());
+            if (next == null) {
+                throw new PaginationParameterIsWrongException(
+                        pageable.getPageNumber(), pageable.getPageSize(), order.getProperty());
+            }
+            if (order.isDescending() && !SEARCH_RELEVANCE.equals(order.getProperty())) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<OfferIndex.Hit> byId = SORT_COMPARATORS.get("id");
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static boolean isAfter(OfferIndex.Hit hit, OfferCursor cursor) {
+        float relevance = cursor.getRelevance();
+        return hit.score() < relevance
+                || hit.score() == relevance && hit.document().getOfferId() < cursor.id();
+    }
+
+    private static boolean hasSameContents(OfferSearchDocumentDto expected, OfferSearchDocumentDto indexed) {
+        return Objects.equals(expected.getTitle(), indexed.getTitle())
+                && Objects.equals(expected.getDescription(), indexed.getDescription())
+                && Objects.equals(expected.getCategoryName(), indexed.getCategoryName())
+                && Objects.equals(expected.getLocationId(), indexed.getLocationId())
+                && Objects.equals(expected.getLocationName(), indexed.getLocationName());
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<OfferIndex.Hit> byDocument(
+            Function<OfferSearchDocumentDto, T> key) {
+        return Comparator.comparing(hit -> key.apply(hit.document()), Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    /**
+     * Result of the consistency check of the index.
+     *
+     * @param missing   offers with started auctions which are not indexed
+     * @param redundant indexed offers which are not in the database or have no started auction
+     * @param outdated  indexed offers whose contents differ from the database
+     */
+    public record CheckResult(int missing, int redundant, int outdated) {
+
+        public boolean isConsistent() {
+            return missing == 0 && redundant == 0 && outdated == 0;
+        }
+    }
+}
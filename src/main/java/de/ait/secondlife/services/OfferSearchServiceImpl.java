@@ -0,0 +1,174 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.PaginationParameterIsWrongException;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.services.interfaces.OfferSearchService;
+import de.ait.secondlife.services.pagination.OfferCursor;
+import de.ait.secondlife.services.pagination.OfferCursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Offer search backed by the full-text index of the database.(Version 1.0)
+ * Used unless property offer.search.engine is set to "index".
+ *
+ * <p>
+ * Every offer has a search_vector column with English and German tsvectors of its title (weight A)
+ * and description (weight B), covered by a GIN index. Every word of the search pattern has to match
+ * a word of the offer by its prefix; words are compared after English and German stemming.
+ * Offers can be sorted by relevance, which ranks title matches above description matches.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Service
+@ConditionalOnProperty(name = "offer.search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OfferSearchServiceImpl implements OfferSearchService {
+
+    private static final String SEARCH_RELEVANCE = "relevance";
+    private static final Map<String, String> SEARCH_SORT_COLUMNS = Map.of(
+            SEARCH_RELEVANCE, SEARCH_RELEVANCE,
+            "id", "id",
+            "title", "title",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "auctionFinishedAt", "auction_finished_at",
+            "startPrice", "start_price",
+            "winBid", "win_bid",
+            "maxBidValue", "max_bid_value",
+            "bidsCount", "bids_count");
+
+    private final OfferRepository offerRepository;
+
+    /**
+     * Searches offers with started auctions.
+     *
+     * @param pattern    search pattern
+     * @param locationId location ID to filter offers, can be null
+     * @param pageable   pagination information
+     * @return page of offers matching the pattern
+     * @throws PaginationParameterIsWrongException if offers cannot be sorted by the requested field
+     */
+    @Override
+    public Page<Offer> search(String pattern, Long locationId, Pageable pageable) {
+        String query = toSearchQuery(pattern);
+        if (query.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return offerRepository.searchAll(
+                OfferStatus.AUCTION_STARTED.name(),
+                locationId,
+                query,
+                toSearchPageable(pageable));
+    }
+
+    /**
+     * Searches offers with started auctions from the best match, starting after the cursor position.
+     * The database seeks to the relevance and ID of the cursor instead of skipping previous results.
+     *
+     * @param pattern    search pattern
+     * @param locationId location ID to filter offers, can be null
+     * @param cursor     position of the last returned offer, sorted by relevance
+     * @param size       maximum number of offers
+     * @return offers matching the pattern and the cursor of the next page
+     */
+    @Override
+    public OfferCursorPage search(String pattern, Long locationId, OfferCursor cursor, int size) {
+        String query = toSearchQuery(pattern);
+        if (query.isEmpty()) {
+            return new OfferCursorPage(List.of(), null);
+        }
+        List<OfferRepository.OfferRelevance> hits = offerRepository.searchAfter(
+                OfferStatus.AUCTION_STARTED.name(),
+                locationId,
+                query,
+                cursor.isFirst() ? null : cursor.getRelevance(),
+                cursor.id(),
+                size + 1);
+
+        List<OfferRepository.OfferRelevance> pageHits = hits.subList(0, Math.min(size, hits.size()));
+        OfferCursor nextCursor = null;
+        if (hits.size() > size) {
+            OfferRepository.OfferRelevance last = pageHits.get(pageHits.size() - 1);
+            nextCursor = cursor.after(last.getId(), last.getRelevance());
+        }
+        return new OfferCursorPage(loadOffers(pageHits), nextCursor);
+    }
+
+    /**
+     * Updates the search vector of the offer from its title and description.
+     *
+     * @param offer created or changed offer
+     */
+    @Override
+    public void index(Offer offer) {
+        if (offer.getId() != null) {
+            offerRepository.updateSearchVector(offer.getId());
+        }
+    }
+
+    private List<Offer> loadOffers(List<OfferRepository.OfferRelevance> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream()
+                .map(OfferRepository.OfferRelevance::getId)
+                .toList();
+        Map<Long, Offer> offers = new HashMap<>();
+        offerRepository.findAllWithDetailsByIdIn(ids).forEach(offer -> offers.put(offer.getId(), offer));
+        return ids.stream()
+                .map(offers::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Converts the search pattern to a full-text query matching all its words by prefix.
+     * Characters other than letters and digits only separate words, so the query is always valid.
+     */
+    private String toSearchQuery(String pattern) {
+        if (pattern == null) {
+            return "";
+        }
+        StringJoiner query = new StringJoiner(" & ");
+        for (String word : pattern.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                query.add(word.toLowerCase() + ":*");
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Maps the sort properties to the columns of the offer table; relevance is always sorted
+     * from the best match. Offers with equal sort values are ordered by ID to keep pages stable.
+     */
+    private Pageable toSearchPageable(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SEARCH_SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new PaginationParameterIsWrongException(
+                        pageable.getPageNumber(), pageable.getPageSize(), order.getProperty());
+            }
+            orders.add(SEARCH_RELEVANCE.equals(column) ? Sort.Order.desc(column) : order.withProperty(column));
+        }
+        orders.add(Sort.Order.asc("id"));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+}
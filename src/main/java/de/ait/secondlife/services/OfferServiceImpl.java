@@ -12,27 +12,39 @@ import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.Wro
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.WrongAuctionPriceParameterException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.is_null_exceptions.IdIsNullException;
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.OfferNotFoundException;
+import de.ait.secondlife.exception_handling.exceptions.not_found_exception.StatusNotFoundException;
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.UserNotFoundException;
+import de.ait.secondlife.repositories.OfferParticipationRepository;
 import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.repositories.specifications.OfferSpecifications;
 import de.ait.secondlife.security.services.AuthService;
 import de.ait.secondlife.services.interfaces.*;
 import de.ait.secondlife.services.mapping.OfferMappingService;
+import de.ait.secondlife.services.mapping.OfferPageAssembler;
+import de.ait.secondlife.services.pagination.OfferCursor;
+import de.ait.secondlife.services.pagination.OfferCursorPage;
 import de.ait.secondlife.services.utilities.UserPermissionsUtilities;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import javax.security.auth.login.CredentialException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the OfferService interface. (Version 1.0)
@@ -80,7 +92,10 @@ import java.util.stream.Collectors;
 public class OfferServiceImpl implements OfferService {
 
     private final OfferRepository offerRepository;
+    private final OfferParticipationRepository participationRepository;
     private final OfferMappingService mappingService;
+    private final OfferPageAssembler pageAssembler;
+    private final OfferSearchService searchService;
     private final StatusService statusService;
     private final UserService userService;
     private final CategoryService categoryService;
@@ -91,6 +106,10 @@ public class OfferServiceImpl implements OfferService {
     @Autowired
     private ImageService imageService;
     private final OfferContext offerContext;
+    private final EntityManager entityManager;
+
+    @Value("${offer.listing.stream-chunk-size:100}")
+    private int streamChunkSize;
 
     private Set<OfferStatus> STATUSES_FOR_BID_SEARCH = Set.of(
             OfferStatus.AUCTION_STARTED,
@@ -100,28 +119,96 @@ public class OfferServiceImpl implements OfferService {
             OfferStatus.BLOCKED_BY_ADMIN);
 
     /**
-     * Finds offers based on specified criteria, such as category, status, and free status,
-     * and returns them in paginated format.
+     * Finds offers matching the filter and returns them in paginated format.
      *
-     * @param pageable   pagination information
-     * @param categoryId category ID to filter offers
-     * @param status     status to filter offers
-     * @param isFree     whether the offers are free or not
+     * @param pageable pagination information
+     * @param filter   criteria such as category, status, free status, location, price range
+     *                 and auction end, each can be null
      * @return OfferResponseWithPaginationDto containing offers matching the criteria
      */
     @Override
-    public OfferResponseWithPaginationDto findOffers(
-            Pageable pageable,
-            Long categoryId,
-            String status,
-            Boolean isFree
-    ) {
-        OfferStatus offerStatus = status != null ? OfferStatus.get(status) : null;
-        Page<Offer> pageOfOffer = offerRepository
-                .findAll(categoryId, offerStatus, isFree, pageable);
+    public OfferResponseWithPaginationDto findOffers(Pageable pageable, OfferFilterDto filter) {
+        Page<Offer> pageOfOffer = offerRepository.findAll(toSpecification(filter), pageable);
         return offersToOfferRequestWithPaginationDto(pageOfOffer);
     }
 
+    /**
+     * Finds offers matching the filter and returns the page following the cursor position.
+     *
+     * @param cursor    position of the last returned offer
+     * @param size      page size
+     * @param withTotal whether to count all offers matching the criteria
+     * @param filter    criteria such as category, status, free status, location, price range
+     *                  and auction end, each can be null
+     * @return OfferResponseWithCursorDto containing offers matching the criteria
+     */
+    @Override
+    public OfferResponseWithCursorDto findOffers(OfferCursor cursor, int size, boolean withTotal, OfferFilterDto filter) {
+        return findOffersAfterCursor(toSpecification(filter), cursor, size, withTotal);
+    }
+
+    /**
+     * Finds offers matching the filter and passes them to the consumer in the order of the page.
+     * The page is read from the database in chunks of offer.listing.stream-chunk-size offers,
+     * and each chunk is mapped and written to the client before the next one is loaded, so
+     * neither the entities nor the DTOs of the whole page are held at once. No count query is sent.
+     * Owner, status and winner bid are fetched by the query of the chunk, and the persistence context
+     * is cleared after every chunk, so entities of written chunks are not kept until the end of
+     * the request.
+     *
+     * <p>
+     * The first chunk starts at the offset of the page. Every next chunk continues after the last
+     * offer of the previous one by its sort value and ID, like a cursor page, when offers can be
+     * listed with a cursor by the sort field; otherwise it is read by offset.
+     * </p>
+     *
+     * @param pageable pagination information
+     * @param filter   criteria such as category, status, free status, location, price range
+     *                 and auction end, each can be null
+     * @param consumer receiver of the mapped offers
+     */
+    @Override
+    public void forEachOffer(Pageable pageable, OfferFilterDto filter, Consumer<OfferResponseDto> consumer) {
+        Specification<Offer> specification = toSpecification(filter).and(OfferSpecifications.fetchListingDetails());
+        Sort.Order order = pageable.getSort().iterator().next();
+        Sort sort = Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+        OfferCursor cursor = OfferCursor.isSortable(order.getProperty())
+                ? OfferCursor.first(order.getProperty(), order.isAscending())
+                : null;
+
+        int read = 0;
+        while (read < pageable.getPageSize()) {
+            int limit = Math.min(streamChunkSize, pageable.getPageSize() - read);
+            List<Offer> chunk;
+            if (read == 0 || cursor == null) {
+                ScrollPosition position = ScrollPosition.offset(pageable.getOffset() + read);
+                chunk = offerRepository.findBy(specification, query -> query
+                        .sortBy(sort)
+                        .limit(limit)
+                        .scroll(position)).getContent();
+            } else {
+                Specification<Offer> afterCursor = specification.and(OfferSpecifications.after(
+                        cursor.sortBy(), cursor.getSortValue(), cursor.id(), cursor.asc(), cursor.isSortFieldNullable()));
+                chunk = offerRepository.findBy(afterCursor, query -> query
+                        .sortBy(sort)
+                        .limit(limit)
+                        .all());
+            }
+            if (chunk.isEmpty()) {
+                return;
+            }
+            pageAssembler.toDtosOfFetchedOffers(chunk).forEach(consumer);
+            read += chunk.size();
+            if (chunk.size() < limit) {
+                return;
+            }
+            if (cursor != null) {
+                cursor = cursor.after(chunk.get(chunk.size() - 1));
+            }
+            entityManager.clear();
+        }
+    }
+
     /**
      * Retrieves an offer by its ID.
      *
@@ -152,30 +239,48 @@ public class OfferServiceImpl implements OfferService {
     }
 
     /**
-     * Finds offers created by a specific user based on criteria such as category, status, and free status,
-     * and returns them in paginated format.
+     * Finds offers created by a specific user matching the filter and returns them in paginated format.
      *
-     * @param id         ID of the user who created the offers
-     * @param pageable   pagination information
-     * @param categoryId category ID to filter offers
-     * @param status     status to filter offers
-     * @param isFree     whether the offers are free or not
+     * @param id       ID of the user who created the offers
+     * @param pageable pagination information
+     * @param filter   criteria such as category, status, free status, location, price range
+     *                 and auction end, each can be null
      * @return OfferResponseWithPaginationDto containing offers created by the user matching the criteria
      * @throws IdIsNullException if ID is null
      */
     @Override
-    public OfferResponseWithPaginationDto findOffersByUserId(
-            Long id,
-            Pageable pageable,
-            Long categoryId,
-            String status,
-            Boolean isFree) {
+    public OfferResponseWithPaginationDto findOffersByUserId(Long id, Pageable pageable, OfferFilterDto filter) {
         checkUserId(id);
-        OfferStatus offerStatus = status != null ? OfferStatus.get(status) : null;
-        Page<Offer> pageOfOffer = offerRepository.findByUserId(id, categoryId, offerStatus, isFree, pageable);
+        Specification<Offer> specification = OfferSpecifications.hasOwner(id).and(toSpecification(filter));
+        Page<Offer> pageOfOffer = offerRepository.findAll(specification, pageable);
         return offersToOfferRequestWithPaginationDto(pageOfOffer);
     }
 
+    /**
+     * Finds offers created by a specific user matching the filter and returns the page following
+     * the cursor position.
+     *
+     * @param id        ID of the user who created the offers
+     * @param cursor    position of the last returned offer
+     * @param size      page size
+     * @param withTotal whether to count all offers matching the criteria
+     * @param filter    criteria such as category, status, free status, location, price range
+     *                  and auction end, each can be null
+     * @return OfferResponseWithCursorDto containing offers created by the user matching the criteria
+     * @throws IdIsNullException if ID is null
+     */
+    @Override
+    public OfferResponseWithCursorDto findOffersByUserId(
+            Long id,
+            OfferCursor cursor,
+            int size,
+            boolean withTotal,
+            OfferFilterDto filter) {
+        checkUserId(id);
+        Specification<Offer> specification = OfferSpecifications.hasOwner(id).and(toSpecification(filter));
+        return findOffersAfterCursor(specification, cursor, size, withTotal);
+    }
+
     /**
      * Creates a new offer based on the provided DTO.
      *
@@ -349,6 +454,22 @@ public class OfferServiceImpl implements OfferService {
         offerContext.finishAuction();
     }
 
+    /**
+     * Updates bid aggregates (bids count, maximum bid value and maximum bid ID) of the offer
+     * with a newly placed bid and registers the bidder as a participant of the offer.
+     * The updates are executed as single SQL statements, so the bids collection of the offer
+     * is not loaded and concurrent bids are not lost.
+     *
+     * @param offer offer the bid was placed on
+     * @param bid   newly saved bid
+     */
+    @Transactional
+    @Override
+    public void applyBid(Offer offer, Bid bid) {
+        offerRepository.applyBid(offer.getId(), bid.getId(), bid.getBidValue());
+        participationRepository.add(bid.getUser().getId(), offer.getId(), LocalDateTime.now());
+    }
+
     /**
      * Completes an offer based on the provided completion details.
      *
@@ -391,7 +512,8 @@ public class OfferServiceImpl implements OfferService {
     }
 
     /**
-     * Searches offers based on location ID and search pattern.
+     * Searches offers with started auctions based on location ID and search pattern
+     * using the configured {@link OfferSearchService}.
      *
      * @param pageable   pagination information
      * @param locationId location ID to filter offers
@@ -408,20 +530,43 @@ public class OfferServiceImpl implements OfferService {
             }
         }
 
-        Page<Offer> pageOfOffer = offerRepository.searchAll(OfferStatus.AUCTION_STARTED, pageable, locationId, pattern);
+        Page<Offer> pageOfOffer = searchService.search(pattern, locationId, pageable);
         return offersToOfferRequestWithPaginationDto(pageOfOffer);
     }
 
     /**
-     * Finds offers in which the specified user is participating as a bidder,
-     * based on criteria such as category, status, and free status,
-     * and returns them in paginated format.
+     * Searches offers with started auctions based on location ID and search pattern
+     * and returns the page following the cursor position, sorted by relevance.
      *
-     * @param id         ID of the user who is participating in offers
-     * @param pageable   pagination information
-     * @param categoryId category ID to filter offers
-     * @param status     status to filter offers
-     * @param isFree     whether the offers are free or not
+     * @param cursor     position of the last returned offer
+     * @param size       page size
+     * @param locationId location ID to filter offers
+     * @param pattern    search pattern to filter offers
+     * @return OfferResponseWithCursorDto containing offers matching the criteria
+     */
+    @Override
+    public OfferResponseWithCursorDto searchOffers(OfferCursor cursor, int size, Long locationId, String pattern) {
+        if (locationId != null && cursor.isFirst()) {
+            try {
+                User authenticatedUser = AuthService.getCurrentUser();
+                userService.setLocation(authenticatedUser.getId(), locationId);
+            } catch (CredentialException ignored) {
+            }
+        }
+
+        OfferCursorPage page = searchService.search(pattern, locationId, cursor, size);
+        return offersToOfferResponseWithCursorDto(page, size, null);
+    }
+
+    /**
+     * Finds offers in which the specified user is participating as a bidder, matching the filter,
+     * and returns them in paginated format. Participations are stored once per user and offer,
+     * so every offer appears once regardless of the number of bids of the user.
+     *
+     * @param id       ID of the user who is participating in offers
+     * @param pageable pagination information
+     * @param filter   criteria such as category, status, free status, location, price range
+     *                 and auction end, each can be null
      * @return OfferResponseWithPaginationDto containing offers in which the user is participating
      * @throws IdIsNullException if ID is null
      */
@@ -429,17 +574,18 @@ public class OfferServiceImpl implements OfferService {
     public OfferResponseWithPaginationDto findUserAuctionParticipations(
             Long id,
             Pageable pageable,
-            Long categoryId,
-            String status,
-            Boolean isFree) {
+            OfferFilterDto filter) {
 
         checkUserId(id);
         utilities.checkUserPermissions(id);
-        OfferStatus offerStatus = status != null ? OfferStatus.get(status) : null;
+        List<Long> statusIds = STATUSES_FOR_BID_SEARCH.stream()
+                .map(offerStatus -> statusService.getByOfferStatus(offerStatus).getId())
+                .toList();
 
-        Page<Offer> pageOfOffer = offerRepository.findUserAuctionParticipations(
-                id, categoryId, offerStatus, isFree,
-                STATUSES_FOR_BID_SEARCH, pageable);
+        Specification<Offer> specification = OfferSpecifications.hasParticipant(id)
+                .and(OfferSpecifications.hasStatusIn(statusIds))
+                .and(toSpecification(filter));
+        Page<Offer> pageOfOffer = offerRepository.findAll(specification, pageable);
 
         return offersToOfferRequestWithPaginationDto(pageOfOffer);
     }
@@ -457,7 +603,9 @@ public class OfferServiceImpl implements OfferService {
     }
 
     /**
-     * Sets the status of the specified offer.
+     * Sets the status of the specified offer and updates it in the search index.
+     * Creating and updating an offer always ends with a status transition, so this keeps
+     * the index in sync with offer contents as well.
      *
      * @param offer       offer to set the status for
      * @param offerStatus status to set
@@ -468,10 +616,11 @@ public class OfferServiceImpl implements OfferService {
         offerStatusHistoryService.create(offer, offerStatus);
         offer.setStatus(statusService.getByOfferStatus(offerStatus));
         offer.setUpdatedAt(LocalDateTime.now());
+        searchService.index(offer);
     }
 
     /**
-     * Sets the status of the specified offer with rejection reason.
+     * Sets the status of the specified offer with rejection reason and updates it in the search index.
      *
      * @param offer             offer to set the status for
      * @param offerStatus       status to set
@@ -483,21 +632,69 @@ public class OfferServiceImpl implements OfferService {
         offerStatusHistoryService.create(offer, offerStatus, rejectionReasonId);
         offer.setStatus(statusService.getByOfferStatus(offerStatus));
         offer.setUpdatedAt(LocalDateTime.now());
+        searchService.index(offer);
     }
 
     /**
-     * Finds unfinished auctions based on the current date and auction started status.
+     * Finds IDs of unfinished auctions whose finish time has passed, ordered by ID.
+     * Intended for keyset paging: pass the last ID of the previous chunk to get the next one.
      *
-     * @return List of offers that are unfinished auctions
+     * @param lastId ID after which the chunk starts, 0 for the first chunk
+     * @param limit  maximum number of IDs in the chunk
+     * @return List of IDs of offers that are unfinished auctions
      */
     @Override
-    public List<Offer> findUnfinishedAuctions() {
-        return offerRepository.findFinishedAuctions(
+    public List<Long> findUnfinishedAuctionIds(Long lastId, int limit) {
+        return offerRepository.findFinishedAuctionIds(
                 LocalDateTime.now(),
-                OfferStatus.AUCTION_STARTED
+                OfferStatus.AUCTION_STARTED,
+                lastId,
+                PageRequest.of(0, limit)
         );
     }
 
+    /**
+     * Counts unfinished auctions whose finish time has passed.
+     *
+     * @return number of auctions waiting to be finished
+     */
+    @Override
+    public long countUnfinishedAuctions() {
+        return offerRepository.countFinishedAuctions(LocalDateTime.now(), OfferStatus.AUCTION_STARTED);
+    }
+
+    /**
+     * Finds finish times of all running auctions.
+     *
+     * @return List of offer IDs with their auction finish times
+     */
+    @Override
+    public List<OfferExpiryDto> findRunningAuctionExpiries() {
+        return offerRepository.findAuctionExpiries(OfferStatus.AUCTION_STARTED);
+    }
+
+    /**
+     * Finishes the auction of the offer with the specified ID if it is still running and its finish time
+     * has passed. The offer row is locked, so a concurrent buyout bid or another worker cannot finish
+     * the same auction twice.
+     *
+     * @param id ID of the offer
+     * @return the finished offer, or null if the auction was already finished or is not expired yet
+     */
+    @Transactional
+    @Override
+    public Offer finishExpiredAuction(Long id) {
+        Offer offer = offerRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new OfferNotFoundException(id));
+        if (offer.getOfferStatus() != OfferStatus.AUCTION_STARTED
+                || offer.getAuctionFinishedAt() == null
+                || offer.getAuctionFinishedAt().isAfter(LocalDateTime.now())) {
+            return null;
+        }
+        finishAuction(offer);
+        return offer;
+    }
+
     /**
      * Checks if an entity with the specified ID exists.
      *
@@ -656,18 +853,15 @@ public class OfferServiceImpl implements OfferService {
     }
 
     /**
-     * Converts a Page of Offer entities into OfferResponseWithPaginationDto.
+     * Converts a Page of Offer entities into OfferResponseWithPaginationDto, keeping the order of the page.
+     * Offer details for the whole page are loaded in batches by {@link OfferPageAssembler}.
      *
      * @param pageOfOffer Page containing offers to convert
      * @return OfferResponseWithPaginationDto containing converted offers
      */
     private OfferResponseWithPaginationDto offersToOfferRequestWithPaginationDto(Page<Offer> pageOfOffer) {
-        Set<OfferResponseDto> offers;
-        offers = pageOfOffer.stream()
-                .map(mappingService::toDto)
-                .collect(Collectors.toSet());
         return OfferResponseWithPaginationDto.builder()
-                .offers(offers)
+                .offers(pageAssembler.toDtos(pageOfOffer.getContent()))
                 .pageNumber(pageOfOffer.getNumber())
                 .pageSize(pageOfOffer.getSize())
                 .totalPages(pageOfOffer.getTotalPages())
@@ -677,6 +871,83 @@ public class OfferServiceImpl implements OfferService {
                 .build();
     }
 
+    /**
+     * Builds the query conditions of the supplied filters. The status is compared by its ID,
+     * and the auction end filter selects auctions finishing within the given number of hours.
+     *
+     * @param filter criteria to filter offers
+     * @return conditions of the supplied filters
+     * @throws StatusNotFoundException if the status is unknown
+     */
+    private Specification<Offer> toSpecification(OfferFilterDto filter) {
+        Long statusId = filter.getStatus() == null ? null
+                : statusService.getByOfferStatus(OfferStatus.get(filter.getStatus())).getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime finishedUntil = filter.getEndingWithinHours() == null ? null
+                : now.plusHours(filter.getEndingWithinHours());
+
+        return Specification.where(OfferSpecifications.hasCategory(filter.getCategoryId()))
+                .and(OfferSpecifications.hasStatus(statusId))
+                .and(OfferSpecifications.isFree(filter.getIsFree()))
+                .and(OfferSpecifications.hasLocation(filter.getLocationId()))
+                .and(OfferSpecifications.startPriceFrom(filter.getMinPrice()))
+                .and(OfferSpecifications.startPriceTo(filter.getMaxPrice()))
+                .and(OfferSpecifications.auctionFinishesBetween(now, finishedUntil));
+    }
+
+    /**
+     * Loads the offers following the cursor position. One more offer than requested is loaded
+     * to find out whether there is a next page, so no count query is needed unless requested.
+     *
+     * @param filter    conditions of the offers
+     * @param cursor    position of the last returned offer
+     * @param size      page size
+     * @param withTotal whether to count all offers matching the conditions
+     * @return OfferResponseWithCursorDto containing the offers of the page
+     */
+    private OfferResponseWithCursorDto findOffersAfterCursor(
+            Specification<Offer> filter,
+            OfferCursor cursor,
+            int size,
+            boolean withTotal) {
+        Specification<Offer> afterCursor = cursor.isFirst() ? filter : filter.and(OfferSpecifications.after(
+                cursor.sortBy(), cursor.getSortValue(), cursor.id(), cursor.asc(), cursor.isSortFieldNullable()));
+        Sort.Direction direction = cursor.asc() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        List<Offer> offers = offerRepository.findBy(afterCursor, query -> query
+                .sortBy(Sort.by(direction, cursor.sortBy(), "id"))
+                .limit(size + 1)
+                .all());
+
+        OfferCursor nextCursor = null;
+        if (offers.size() > size) {
+            offers = offers.subList(0, size);
+            nextCursor = cursor.after(offers.get(size - 1));
+        }
+        Long totalElements = withTotal ? offerRepository.count(filter) : null;
+        return offersToOfferResponseWithCursorDto(new OfferCursorPage(offers, nextCursor), size, totalElements);
+    }
+
+    /**
+     * Converts a cursor page of Offer entities into OfferResponseWithCursorDto, keeping the order of the page.
+     *
+     * @param page          page containing offers to convert
+     * @param size          requested page size
+     * @param totalElements number of all offers matching the criteria, null if not counted
+     * @return OfferResponseWithCursorDto containing converted offers
+     */
+    private OfferResponseWithCursorDto offersToOfferResponseWithCursorDto(
+            OfferCursorPage page,
+            int size,
+            Long totalElements) {
+        return OfferResponseWithCursorDto.builder()
+                .offers(pageAssembler.toDtos(page.offers()))
+                .pageSize(size)
+                .nextCursor(page.nextCursor() == null ? null : page.nextCursor().encode())
+                .isLastPage(page.nextCursor() == null)
+                .totalElements(totalElements)
+                .build();
+    }
+
     /**
      * Helper method to validate auction parameters when the offer is free.
      *
@@ -3,9 +3,13 @@ package de.ait.secondlife.services;
 import de.ait.secondlife.domain.dto.RejectionReasonsDto;
 import de.ait.secondlife.domain.entity.RejectionReason;
 import de.ait.secondlife.repositories.RejectionReasonRepository;
+import de.ait.secondlife.services.cache.ReferenceData;
+import de.ait.secondlife.services.cache.ReferenceDataCache;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 import de.ait.secondlife.services.interfaces.RejectionReasonService;
 import de.ait.secondlife.services.mapping.RejectionReasonMappingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 /**
@@ -24,7 +28,8 @@ import org.springframework.stereotype.Service;
  *
  * <p>
  * The {@link RejectionReasonServiceImpl#getAll()} method retrieves all rejection reasons as DTOs
- * encapsulated in a {@link RejectionReasonsDto} object.
+ * encapsulated in a {@link RejectionReasonsDto} object. The reasons are served from the
+ * {@link de.ait.secondlife.services.cache.ReferenceDataCache}.
  * </p>
  *
  * <p>
@@ -40,6 +45,7 @@ public class RejectionReasonServiceImpl implements RejectionReasonService {
 
     private final RejectionReasonRepository reasonRepository;
     private final RejectionReasonMappingService mappingService;
+    private final ReferenceDataCache cache;
 
     /**
      * Retrieves a rejection reason by its ID.
@@ -60,13 +66,24 @@ public class RejectionReasonServiceImpl implements RejectionReasonService {
      */
     @Override
     public RejectionReasonsDto getAll() {
-        RejectionReasonsDto reasonsDto = new RejectionReasonsDto();
-        reasonsDto.setReasons(reasonRepository.findAll()
-                .stream()
-                .map(mappingService::toDto)
-                .toList());
+        return getAllSnapshot().data();
+    }
 
-        return reasonsDto;
+    /**
+     * Retrieves the cached rejection reasons together with their ETag.
+     *
+     * @return snapshot of the {@link RejectionReasonsDto} with reasons ordered by ID
+     */
+    @Override
+    public ReferenceDataSnapshot<RejectionReasonsDto> getAllSnapshot() {
+        return cache.get(ReferenceData.REJECTION_REASONS, () -> {
+            RejectionReasonsDto reasonsDto = new RejectionReasonsDto();
+            reasonsDto.setReasons(reasonRepository.findAll(Sort.by("id"))
+                    .stream()
+                    .map(mappingService::toDto)
+                    .toList());
+            return reasonsDto;
+        });
     }
 
 }
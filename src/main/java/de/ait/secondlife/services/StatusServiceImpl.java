@@ -9,6 +9,10 @@ import de.ait.secondlife.services.interfaces.StatusService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Implementation of the StatusService interface for retrieving status information.(Version 1.0)
  *
@@ -29,6 +33,12 @@ import org.springframework.stereotype.Service;
  * </p>
  *
  * <p>
+ * Statuses are static reference data, so all of them are loaded on first use and kept in an
+ * {@link EnumMap}. State transitions look up their target status without a database query.
+ * The cached entities are shared and must not be modified.
+ * </p>
+ *
+ * <p>
  * Author: Second Life Team
  * </p>
  *
@@ -41,6 +51,8 @@ public class StatusServiceImpl implements StatusService {
 
     private final StatusRepository statusRepository;
 
+    private volatile Map<OfferStatus, Status> statuses;
+
     /**
      * Retrieves a status entity by its ID.
      *
@@ -52,8 +64,10 @@ public class StatusServiceImpl implements StatusService {
     @Override
     public Status getStatusById(Long id) {
         if (id == null) throw new IdIsNullException();
-        return statusRepository.findById(id)
-                .orElseThrow(() -> new StatusNotFoundException(id));
+        for (Status status : getStatuses().values()) {
+            if (id.equals(status.getId())) return status;
+        }
+        throw new StatusNotFoundException(id);
     }
 
     /**
@@ -65,7 +79,19 @@ public class StatusServiceImpl implements StatusService {
      */
     @Override
     public Status getByOfferStatus(OfferStatus offerStatus) {
-        return statusRepository.findByName(offerStatus)
-                .orElseThrow(() -> new StatusNotFoundException(offerStatus));
+        Status status = getStatuses().get(offerStatus);
+        if (status == null) throw new StatusNotFoundException(offerStatus);
+        return status;
+    }
+
+    private Map<OfferStatus, Status> getStatuses() {
+        Map<OfferStatus, Status> loaded = statuses;
+        if (loaded == null) {
+            Map<OfferStatus, Status> byName = new EnumMap<>(OfferStatus.class);
+            statusRepository.findAll().forEach(status -> byName.put(status.getName(), status));
+            loaded = Collections.unmodifiableMap(byName);
+            statuses = loaded;
+        }
+        return loaded;
     }
 }
@@ -4,12 +4,20 @@ import de.ait.secondlife.domain.entity.User;
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.UserNotFoundException;
 import de.ait.secondlife.repositories.UserRepository;
 import de.ait.secondlife.services.interfaces.CustomUserDetails;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of the UserDetailsService interface for loading user details by username.(Version 1.0)
@@ -25,8 +33,11 @@ import java.time.LocalDateTime;
  * </p>
  *
  * <p>
- * The {@link UserDetailsServiceImpl#updateLastActive(User)} method updates the last active timestamp of a user.
- * It saves the updated user entity using the UserRepository.
+ * The {@link UserDetailsServiceImpl#updateLastActive(User)} method records the last active timestamp of a user
+ * in memory, rounded down to the granularity set by property user.last-active.granularity-seconds.
+ * The {@link UserDetailsServiceImpl#flushLastActive()} method writes the recorded timestamps to the database
+ * with one UPDATE per distinct timestamp; it is called periodically and on shutdown, so a user's row
+ * is updated at most once per granularity interval.
  * </p>
  *
  * <p>
@@ -42,6 +53,11 @@ public class UserDetailsServiceImpl implements CustomUserDetails {
 
     private final UserRepository userRepository;
 
+    @Value("${user.last-active.granularity-seconds:60}")
+    private long lastActiveGranularitySeconds;
+
+    private final Map<Long, LocalDateTime> pendingLastActive = new ConcurrentHashMap<>();
+
     /**
      * Loads user details by username.
      *
@@ -59,12 +75,37 @@ public class UserDetailsServiceImpl implements CustomUserDetails {
     }
 
     /**
-     * Updates the last active timestamp of the user.
+     * Records the last active timestamp of the user. The timestamp is written to the database
+     * by the next {@link #flushLastActive()}.
      *
      * @param user the user entity for which to update the last active timestamp
      */
+    @Override
     public void updateLastActive(User user) {
-        user.setLastActive(LocalDateTime.now());
-        userRepository.save(user);
+        LocalDateTime now = LocalDateTime.now();
+        user.setLastActive(now);
+        pendingLastActive.merge(user.getId(), truncate(now), (previous, current) ->
+                current.isAfter(previous) ? current : previous);
+    }
+
+    /**
+     * Writes the recorded last active timestamps to the database.
+     */
+    @PreDestroy
+    @Override
+    public void flushLastActive() {
+        Map<LocalDateTime, List<Long>> userIdsByTime = new HashMap<>();
+        pendingLastActive.forEach((userId, lastActive) -> {
+            if (pendingLastActive.remove(userId, lastActive)) {
+                userIdsByTime.computeIfAbsent(lastActive, time -> new ArrayList<>()).add(userId);
+            }
+        });
+        userIdsByTime.forEach((lastActive, userIds) -> userRepository.updateLastActive(userIds, lastActive));
+    }
+
+    private LocalDateTime truncate(LocalDateTime dateTime) {
+        long epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+        long granularity = Math.max(lastActiveGranularitySeconds, 1);
+        return LocalDateTime.ofEpochSecond(epochSecond - epochSecond % granularity, 0, ZoneOffset.UTC);
     }
 }
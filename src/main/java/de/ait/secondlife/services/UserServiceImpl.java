@@ -14,6 +14,7 @@ import de.ait.secondlife.exception_handling.exceptions.not_found_exception.Locat
 import de.ait.secondlife.exception_handling.exceptions.not_found_exception.UserNotFoundException;
 import de.ait.secondlife.repositories.UserRepository;
 import de.ait.secondlife.security.services.AuthService;
+import de.ait.secondlife.security.services.AuthenticatedUserCache;
 import de.ait.secondlife.services.interfaces.*;
 import de.ait.secondlife.services.mapping.NewUserMappingService;
 import de.ait.secondlife.services.mapping.UserMappingService;
@@ -103,6 +104,7 @@ public class UserServiceImpl implements UserService {
     private final EmailService emailService;
     private final ConfirmationService confirmationService;
     private final UserPermissionsUtilities utilities;
+    private final AuthenticatedUserCache userCache;
     @Lazy
     @Autowired
     private ImageService imageService;
@@ -174,6 +176,7 @@ public class UserServiceImpl implements UserService {
         } catch (Exception e) {
             throw new UserSavingException("User saving failed", e);
         }
+        userCache.invalidate(user);
         return userMappingService.toDto(user);
     }
 
@@ -231,6 +234,7 @@ public class UserServiceImpl implements UserService {
             } catch (Exception e) {
                 throw new UserSavingException("User saving failed", e);
             }
+            userCache.invalidate(user);
             return userMappingService.toDto(user);
         } else {
             throw new ConfirmationEmailCodeNotValidException(code);
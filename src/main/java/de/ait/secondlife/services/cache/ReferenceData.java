@@ -0,0 +1,17 @@
+package de.ait.secondlife.services.cache;
+
+/**
+ * Kinds of reference data kept in the {@link ReferenceDataCache}.(Version 1.0)
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public enum ReferenceData {
+    CATEGORIES,
+    LOCATIONS,
+    REJECTION_REASONS
+}
@@ -0,0 +1,159 @@
+package de.ait.secondlife.services.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of rarely changed reference data.(Version 1.0)
+ * Categories, locations and rejection reasons are loaded once and served from an in-memory
+ * snapshot until they are changed.
+ *
+ * <p>
+ * Every kind of data has a local version which is incremented on invalidation. A snapshot is
+ * stored only if the version did not change while it was being loaded, so a load racing with an
+ * update never overwrites the invalidation. The ETag of a snapshot is computed from its content,
+ * so all instances serving the same data return the same ETag.
+ * </p>
+ *
+ * <p>
+ * Invalidation is published to the other instances with pg_notify on the channel
+ * {@value #CHANNEL}; the payload is the name of the data and the ID of the publishing instance.
+ * The notifications are received by {@link de.ait.secondlife.scheduler.ReferenceDataListener}.
+ * Data changed directly in the database can be reloaded on all instances with
+ * NOTIFY reference_data, 'LOCATIONS'.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    public static final String CHANNEL = "reference_data";
+    private static final String PAYLOAD_SEPARATOR = ":";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<ReferenceData, ReferenceDataSnapshot<?>> snapshots = new ConcurrentHashMap<>();
+    private final Map<ReferenceData, AtomicLong> versions = new EnumMap<>(ReferenceData.class);
+
+    public ReferenceDataCache(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        for (ReferenceData type : ReferenceData.values()) {
+            versions.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached snapshot of the data, loading it if it is not cached.
+     *
+     * @param type   kind of the data
+     * @param loader loads the current data from the database
+     * @param <T>    type of the data
+     * @return snapshot of the data
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ReferenceDataSnapshot<T> get(ReferenceData type, Supplier<T> loader) {
+        ReferenceDataSnapshot<T> snapshot = (ReferenceDataSnapshot<T>) snapshots.get(type);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        AtomicLong version = versions.get(type);
+        long loadedVersion = version.get();
+        T data = loader.get();
+        ReferenceDataSnapshot<T> loaded = new ReferenceDataSnapshot<>(loadedVersion, data, getETag(data));
+        snapshots.compute(type, (key, current) -> version.get() == loadedVersion ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Drops the cached data on this instance and notifies the other instances.
+     * Inside a transaction the notification is delivered by the database on commit, and the
+     * data is dropped locally once more when the transaction completes, so a snapshot loaded
+     * from the not yet committed or rolled back state is not kept.
+     *
+     * @param type kind of the changed data
+     */
+    public void invalidate(ReferenceData type) {
+        evict(type);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(type);
+                }
+            });
+        }
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, type + PAYLOAD_SEPARATOR + origin);
+        } catch (DataAccessException e) {
+            log.error("Cannot notify other instances about changed {}", type, e);
+        }
+    }
+
+    /**
+     * Drops the cached data on this instance.
+     *
+     * @param type kind of the data
+     */
+    public void evict(ReferenceData type) {
+        versions.get(type).incrementAndGet();
+        snapshots.remove(type);
+    }
+
+    /**
+     * Drops all cached data on this instance.
+     */
+    public void evictAll() {
+        for (ReferenceData type : ReferenceData.values()) {
+            evict(type);
+        }
+    }
+
+    /**
+     * Handles a notification received on the channel {@value #CHANNEL}.
+     *
+     * @param payload name of the changed data, optionally followed by the ID of the publishing instance
+     */
+    public void onNotification(String payload) {
+        String[] parts = payload.split(PAYLOAD_SEPARATOR, 2);
+        if (parts.length == 2 && origin.equals(parts[1])) {
+            return;
+        }
+        try {
+            evict(ReferenceData.valueOf(parts[0].trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown reference data in notification: {}", payload);
+        }
+    }
+
+    private String getETag(Object data) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(data)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot compute ETag of reference data", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package de.ait.secondlife.services.cache;
+
+/**
+ * Immutable version of cached reference data.
+ *
+ * @param version local version of the data the snapshot was loaded at
+ * @param data    cached data, must not be modified
+ * @param eTag    quoted hash of the JSON representation of the data, equal on every instance
+ *                holding the same data
+ * @param <T>     type of the cached data
+ */
+public record ReferenceDataSnapshot<T>(long version, T data, String eTag) {
+}
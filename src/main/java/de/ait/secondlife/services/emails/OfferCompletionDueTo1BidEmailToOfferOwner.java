@@ -1,9 +1,6 @@
 package de.ait.secondlife.services.emails;
 
 import de.ait.secondlife.domain.entity.Offer;
-import de.ait.secondlife.domain.entity.User;
-import de.ait.secondlife.security.Role;
-import de.ait.secondlife.security.services.AuthService;
 import de.ait.secondlife.services.interfaces.OfferService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,7 +14,6 @@ import java.util.Map;
 public class OfferCompletionDueTo1BidEmailToOfferOwner extends TemplateService{
 
     private final OfferService offerService;
-    private final AuthService authService;
 
     @Value("${application.fe.host}")
     private String applicationHost;
@@ -29,12 +25,9 @@ public class OfferCompletionDueTo1BidEmailToOfferOwner extends TemplateService{
 
 
     @Override
-    protected Map<String, Object> getTemplateModel() throws Exception {
+    protected Map<String, Object> getSharedModel() {
         Map<String, Object> model = new HashMap<>();
 
-        User user = (User) authService.getAuthenticatedUser(Role.ROLE_USER, notification.getAuthenticatedUserId());
-        model.put("name", user.getFullName());
-
         Long offerId = notification.getContextId();
         Offer offer = offerService.findById(offerId);
         model.put("link", composeEndpointUrl(offer));
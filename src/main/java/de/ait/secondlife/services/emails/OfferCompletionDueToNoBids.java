@@ -1,11 +1,7 @@
 package de.ait.secondlife.services.emails;
 
 import de.ait.secondlife.domain.entity.Offer;
-import de.ait.secondlife.domain.entity.User;
-import de.ait.secondlife.security.Role;
-import de.ait.secondlife.security.services.AuthService;
 import de.ait.secondlife.services.interfaces.OfferService;
-import jakarta.security.auth.message.AuthException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -18,7 +14,6 @@ import java.util.Map;
 public class OfferCompletionDueToNoBids extends TemplateService{
 
     private final OfferService offerService;
-    private final AuthService authService;
 
     @Value("${application.fe.host}")
     private String applicationHost;
@@ -29,12 +24,9 @@ public class OfferCompletionDueToNoBids extends TemplateService{
     }
 
     @Override
-    protected Map<String, Object> getTemplateModel() throws AuthException {
+    protected Map<String, Object> getSharedModel() {
         Map<String, Object> model = new HashMap<>();
 
-        User user = (User) authService.getAuthenticatedUser(Role.ROLE_USER, notification.getAuthenticatedUserId());
-        model.put("name", user.getFullName());
-
         Long offerId = notification.getContextId();
         Offer offer = offerService.findById(offerId);
         model.put("link", composeEndpointUrl(offer));
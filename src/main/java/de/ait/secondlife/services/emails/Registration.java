@@ -1,21 +1,16 @@
 package de.ait.secondlife.services.emails;
 
 import de.ait.secondlife.domain.entity.User;
-import de.ait.secondlife.security.Role;
-import de.ait.secondlife.security.services.AuthService;
 import de.ait.secondlife.services.interfaces.ConfirmationService;
-import jakarta.security.auth.message.AuthException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @RequiredArgsConstructor
 public class Registration extends TemplateService {
 
     private final ConfirmationService confirmationService;
-    private final AuthService authService;
 
     @Override
     public String getSubject() {
@@ -34,11 +29,10 @@ public class Registration extends TemplateService {
     }
 
     @Override
-    protected Map<String, Object> getTemplateModel() throws AuthException {
-        Map<String, Object> model = new HashMap<>();
+    protected Map<String, Object> getPersonalModel() throws Exception {
+        Map<String, Object> model = super.getPersonalModel();
 
-        User user = (User) authService.getAuthenticatedUser(Role.ROLE_USER, notification.getAuthenticatedUserId());
-        model.put("name", user.getFullName());
+        User user = (User) recipient;
 
         String code = confirmationService.generateConfirmationCode(user);
         model.put("link", composeEndpointUrl(user) + code);
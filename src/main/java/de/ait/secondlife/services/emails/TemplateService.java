@@ -1,6 +1,8 @@
 package de.ait.secondlife.services.emails;
 
 import de.ait.secondlife.domain.entity.Notification;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.domain.interfaces.AuthenticatedUser;
 import de.ait.secondlife.exception_handling.exceptions.EmailTemplateException;
 import de.ait.secondlife.services.interfaces.EmailTemplateService;
 import freemarker.template.Configuration;
@@ -8,22 +10,51 @@ import freemarker.template.Template;
 import lombok.Setter;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Base class of email templates.
+ * The template model consists of a shared part, which depends only on the notification type
+ * and context (e.g. links to the offer), and a personal part, which depends on the recipient.
+ * One instance renders a group of notifications with the same type and context, so the shared
+ * part is loaded once for the whole group. By default the personal part holds the name of the
+ * recipient if the recipient is a user.
+ */
 @Setter
 public abstract class TemplateService implements EmailTemplateService {
 
     protected Configuration mailConfiguration;
     protected Notification notification;
+    protected AuthenticatedUser recipient;
+
+    private Map<String, Object> sharedModel;
 
     abstract protected String getTemplateName();
-    abstract protected Map<String, Object> getTemplateModel() throws Exception;
+
+    protected Map<String, Object> getSharedModel() throws Exception {
+        return new HashMap<>();
+    }
+
+    protected Map<String, Object> getPersonalModel() throws Exception {
+        Map<String, Object> model = new HashMap<>();
+        if (recipient instanceof User user) {
+            model.put("name", user.getFullName());
+        }
+        return model;
+    }
 
     @Override
     public String getBody() throws EmailTemplateException {
         try {
+            if (sharedModel == null) {
+                sharedModel = getSharedModel();
+            }
+            Map<String, Object> model = new HashMap<>(sharedModel);
+            model.putAll(getPersonalModel());
+
             Template template = mailConfiguration.getTemplate(getTemplateName());
-            return FreeMarkerTemplateUtils.processTemplateIntoString(template, getTemplateModel());
+            return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
         } catch (Exception e) {
             throw new EmailTemplateException(e);
         }
@@ -0,0 +1,42 @@
+package de.ait.secondlife.services.images;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+/**
+ * Reusable in-memory buffer of an encoded image.(Version 1.0)
+ *
+ * <p>
+ * Unlike {@link ByteArrayOutputStream#toByteArray()}, {@link #toInputStream()} reads the written
+ * bytes directly from the internal array, so an encoded image is never copied before it is
+ * uploaded. Buffers are taken from and returned to the {@link ImageMemoryPool}.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public class ImageBuffer extends ByteArrayOutputStream {
+
+    ImageBuffer(int size) {
+        super(size);
+    }
+
+    /**
+     * Returns a stream reading the written bytes without copying them.
+     * The stream must not be used after the buffer is returned to the pool.
+     *
+     * @return stream of the written bytes
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buf, 0, count);
+    }
+
+    int capacity() {
+        return buf.length;
+    }
+}
@@ -0,0 +1,154 @@
+package de.ait.secondlife.services.images;
+
+import de.ait.secondlife.exception_handling.exceptions.ImageUploadIsBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the memory used by image uploads in progress.(Version 1.0)
+ *
+ * <p>
+ * Every upload reserves the estimated memory it needs for decoding, resizing and keeping the
+ * encoded images until they are stored. The reservations are counted in KiB by a semaphore with
+ * image.upload.max-in-flight-mb MiB of permits. An upload waiting longer than
+ * image.upload.acquire-timeout-seconds for its reservation fails with
+ * {@link ImageUploadIsBusyException}, so a burst of uploads is rejected instead of exhausting the
+ * heap. An upload needing more than the whole limit can never be served and is rejected by the
+ * caller before it is decoded.
+ * </p>
+ *
+ * <p>
+ * Encoded images are written into {@link ImageBuffer}s. Up to image.upload.pooled-buffers buffers
+ * not larger than image.upload.max-pooled-buffer-kb KiB are kept for reuse.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+public class ImageMemoryPool {
+
+    private static final int KIBIBYTE = 1024;
+    private static final int INITIAL_BUFFER_SIZE = 64 * KIBIBYTE;
+
+    private final Semaphore memory;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+    private final int maxPooledBufferSize;
+    private final BlockingQueue<ImageBuffer> buffers;
+
+    public ImageMemoryPool(
+            @Value("${image.upload.max-in-flight-mb:256}") int maxInFlightMb,
+            @Value("${image.upload.acquire-timeout-seconds:30}") long acquireTimeoutSeconds,
+            @Value("${image.upload.pooled-buffers:16}") int pooledBuffers,
+            @Value("${image.upload.max-pooled-buffer-kb:1024}") int maxPooledBufferKb
+    ) {
+        this.maxPermits = maxInFlightMb * KIBIBYTE;
+        this.memory = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMillis = TimeUnit.SECONDS.toMillis(acquireTimeoutSeconds);
+        this.maxPooledBufferSize = maxPooledBufferKb * KIBIBYTE;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, pooledBuffers));
+    }
+
+    /**
+     * Reserves memory for an upload, waiting until enough memory is released by other uploads.
+     *
+     * @param bytes estimated memory needed by the upload
+     * @return reservation which must be released when the upload is finished
+     * @throws ImageUploadIsBusyException if the memory is not available in time
+     * @throws IllegalArgumentException   if more memory than the whole limit is requested
+     */
+    public Reservation reserve(long bytes) {
+        if (bytes > getMaxBytes()) {
+            throw new IllegalArgumentException("Reservation of " + bytes + " bytes exceeds the memory limit");
+        }
+        int permits = toPermits(bytes);
+        try {
+            if (!memory.tryAcquire(permits, acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ImageUploadIsBusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImageUploadIsBusyException();
+        }
+        return new Reservation(permits);
+    }
+
+    /**
+     * Takes an empty buffer from the pool or creates a new one.
+     *
+     * @return empty buffer
+     */
+    public ImageBuffer takeBuffer() {
+        ImageBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return new ImageBuffer(INITIAL_BUFFER_SIZE);
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool. Buffers grown over the pooled size limit are dropped.
+     *
+     * @param buffer buffer which is not used anymore
+     */
+    public void returnBuffer(ImageBuffer buffer) {
+        if (buffer.capacity() <= maxPooledBufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int getAvailableKb() {
+        return memory.availablePermits();
+    }
+
+    public long getMaxBytes() {
+        return (long) maxPermits * KIBIBYTE;
+    }
+
+    private int toPermits(long bytes) {
+        return (int) Math.max(1, (bytes + KIBIBYTE - 1) / KIBIBYTE);
+    }
+
+    /**
+     * Memory reserved by one upload.
+     */
+    public class Reservation {
+
+        private int permits;
+
+        private Reservation(int permits) {
+            this.permits = permits;
+        }
+
+        /**
+         * Releases the part of the reservation exceeding the given amount, e.g. once the decoded
+         * image is not needed anymore.
+         *
+         * @param bytes memory still needed by the upload
+         */
+        public synchronized void shrinkTo(long bytes) {
+            int needed = Math.min(permits, toPermits(bytes));
+            memory.release(permits - needed);
+            permits = needed;
+        }
+
+        /**
+         * Releases the whole reservation. Releasing it again has no effect.
+         */
+        public synchronized void release() {
+            memory.release(permits);
+            permits = 0;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package de.ait.secondlife.services.images;
+
+import de.ait.secondlife.constants.ImageConstants;
+import de.ait.secondlife.exception_handling.exceptions.ImageUploadIsBusyException;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadFileFormatException;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadImageDimensionsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resizes uploaded images to all sizes required for an entity.(Version 1.0)
+ *
+ * <p>
+ * The upload is decoded once. The image is first scaled down to the largest requested size,
+ * and every requested size is then produced from that intermediate image on a bounded pool
+ * of image.resize.workers threads. Scaling down halves the image with bilinear interpolation
+ * until the target size is reached, which gives a quality close to area averaging at a small
+ * fraction of the cost of {@link Image#getScaledInstance(int, int, int)}.
+ * </p>
+ *
+ * <p>
+ * Every image keeps its aspect ratio, is centered on a white square canvas of the requested
+ * size and is encoded as {@value ImageConstants#IMAGE} into a pooled {@link ImageBuffer}.
+ * Decoding and encoding use in-memory image streams instead of the temporary files ImageIO
+ * creates by default.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageResizer implements ImageConstants {
+
+    private static final long BYTES_PER_PIXEL = 4;
+
+    private final ImageMemoryPool memoryPool;
+
+    @Value("${image.resize.workers:4}")
+    private int workers;
+
+    @Value("${image.upload.max-pixels:40000000}")
+    private long maxPixels;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Decodes the image once and produces all requested sizes.
+     * The memory needed for the upload is reserved in the {@link ImageMemoryPool} before the image
+     * is decoded and reduced to the size of the encoded images once resizing is finished.
+     *
+     * @param source encoded image
+     * @param sizes  requested sizes as {width, height}
+     * @return resized images in the order of the requested sizes, must be closed after storing them
+     * @throws BadFileFormatException      if the source is not a readable image
+     * @throws BadImageDimensionsException if the image has more than image.upload.max-pixels pixels
+     *                                     or needs more memory than the whole upload limit
+     * @throws ImageUploadIsBusyException if not enough memory is available for the upload
+     * @throws RuntimeException            if the image cannot be decoded or encoded
+     */
+    public ResizedImages resize(InputStream source, Collection<int[]> sizes) {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(source)) {
+            ImageReader reader = getReader(input);
+            try {
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long memory = estimateMemory(width, height, sizes);
+                if ((long) width * height > maxPixels || memory > memoryPool.getMaxBytes()) {
+                    throw new BadImageDimensionsException(width, height);
+                }
+                ImageMemoryPool.Reservation reservation = memoryPool.reserve(memory);
+                try {
+                    List<ResizedImage> images = resize(reader.read(0), sizes);
+                    reservation.shrinkTo(images.stream()
+                            .mapToLong(image -> image.content().capacity())
+                            .sum());
+                    return new ResizedImages(images, memoryPool, reservation);
+                } catch (IOException | RuntimeException e) {
+                    reservation.release();
+                    throw e;
+                }
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<ResizedImage> resize(BufferedImage image, Collection<int[]> sizes) {
+        double aspectRatio = (double) image.getWidth() / image.getHeight();
+
+        int[] largestSize = sizes.stream()
+                .max(Comparator.comparingInt(size -> size[0] * size[1]))
+                .orElseThrow();
+        int[] largestFit = fit(largestSize, aspectRatio);
+        BufferedImage base = largestFit[0] < image.getWidth() && largestFit[1] < image.getHeight()
+                ? scale(image, largestFit[0], largestFit[1])
+                : image;
+
+        List<Future<ResizedImage>> futures = new ArrayList<>(sizes.size());
+        for (int[] size : sizes) {
+            futures.add(executor.submit(() -> render(base, size, fit(size, aspectRatio))));
+        }
+
+        List<ResizedImage> images = new ArrayList<>(sizes.size());
+        try {
+            for (Future<ResizedImage> future : futures) {
+                images.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Image resizing was interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        }
+        return images;
+    }
+
+    private ImageReader getReader(ImageInputStream input) {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) throw new BadFileFormatException();
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    /**
+     * Estimates the memory needed to resize the image: the decoded image with its step-down
+     * copies (at most a third more) and, for every size, the scaled image and its canvas,
+     * each with 4 bytes per pixel.
+     */
+    private static long estimateMemory(int width, int height, Collection<int[]> sizes) {
+        long memory = BYTES_PER_PIXEL * width * height * 4 / 3;
+        for (int[] size : sizes) {
+            memory += 2L * BYTES_PER_PIXEL * size[0] * size[1];
+        }
+        return memory;
+    }
+
+    /**
+     * Computes the size of the image fitted into the box without changing its aspect ratio.
+     */
+    private static int[] fit(int[] box, double aspectRatio) {
+        if (aspectRatio > 1) {
+            return new int[]{box[0], Math.max(1, (int) (box[0] / aspectRatio))};
+        }
+        return new int[]{Math.max(1, (int) (box[1] * aspectRatio)), box[1]};
+    }
+
+    private ResizedImage render(BufferedImage base, int[] size, int[] fit) {
+        BufferedImage scaled = scale(base, fit[0], fit[1]);
+
+        BufferedImage canvas = new BufferedImage(size[0], size[1], BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = canvas.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, size[0], size[1]);
+        g2d.drawImage(scaled, (size[0] - fit[0]) / 2, (size[1] - fit[1]) / 2, null);
+        g2d.dispose();
+
+        ImageBuffer buffer = memoryPool.takeBuffer();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(buffer)) {
+            ImageIO.write(canvas, IMAGE, output);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return new ResizedImage(size[0], size[1], buffer);
+    }
+
+    /**
+     * Scales the image to the given size. A size smaller than half of the current one is
+     * reached in steps, halving the image in every step.
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        while (currentWidth != width || currentHeight != height) {
+            currentWidth = currentWidth / 2 > width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 > height ? currentHeight / 2 : height;
+            current = draw(current, currentWidth, currentHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = result.createGraphics();
+        if (image.getColorModel().hasAlpha()) {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, width, height);
+        }
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package de.ait.secondlife.services.images;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batched and parallel operations on the stored image files.(Version 1.0)
+ *
+ * <p>
+ * Copies are independent requests, so they run concurrently on a bounded pool of
+ * image.storage.workers threads and the caller waits for all of them. Deletes are sent as
+ * multi-object delete requests of up to {@value #MAX_KEYS_PER_DELETE} keys, so removing all
+ * sizes of several images costs a single request.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageStorage {
+
+    public static final int MAX_KEYS_PER_DELETE = 1000;
+
+    private final AmazonS3 s3Client;
+
+    @Value("${do.buket.name}")
+    private String bucketName;
+
+    @Value("${image.storage.workers:8}")
+    private int workers;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Moves files to new keys. All files are copied first; the sources are deleted only if
+     * every copy has succeeded, so a failed move leaves all files available at their old keys.
+     *
+     * @param moves new keys by old keys
+     * @throws RuntimeException if a file cannot be copied
+     */
+    public void move(Map<String, String> moves) {
+        copy(moves);
+        delete(moves.keySet());
+    }
+
+    /**
+     * Copies files concurrently and waits until all copies are finished.
+     *
+     * @param copies target keys by source keys
+     * @throws RuntimeException if a file cannot be copied, with the failures of other copies suppressed
+     */
+    public void copy(Map<String, String> copies) {
+        if (copies.size() == 1) {
+            copies.forEach(this::copyFile);
+            return;
+        }
+        RuntimeException failure = null;
+        for (RuntimeException cause : tryCopy(copies).values()) {
+            if (failure == null) failure = cause;
+            else failure.addSuppressed(cause);
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Copies files concurrently and waits until all copies are finished, without failing
+     * on files which cannot be copied.
+     *
+     * @param copies target keys by source keys
+     * @return failures by source keys of the files which were not copied
+     */
+    public Map<String, RuntimeException> tryCopy(Map<String, String> copies) {
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        copies.forEach((source, target) -> futures.put(source, executor.submit(() -> copyFile(source, target))));
+
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+            try {
+                future.getValue().get();
+            } catch (ExecutionException e) {
+                failures.put(future.getKey(), e.getCause() instanceof RuntimeException runtimeException ?
+                        runtimeException :
+                        new IllegalStateException(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                throw new IllegalStateException("Interrupted while copying images", e);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Deletes files in batches of up to {@value #MAX_KEYS_PER_DELETE} keys. Files rejected by
+     * the storage are only logged, as they are no longer referenced by any image.
+     *
+     * @param keys keys of the files
+     * @throws RuntimeException if a delete request cannot be sent
+     */
+    public void delete(Collection<String> keys) {
+        List<DeleteObjectsRequest.KeyVersion> keyVersions = keys.stream()
+                .map(DeleteObjectsRequest.KeyVersion::new)
+                .toList();
+        for (int from = 0; from < keyVersions.size(); from += MAX_KEYS_PER_DELETE) {
+            DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                    .withKeys(keyVersions.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, keyVersions.size())))
+                    .withQuiet(true);
+            try {
+                s3Client.deleteObjects(request);
+            } catch (MultiObjectDeleteException e) {
+                e.getErrors().forEach(error ->
+                        log.warn("Cannot delete image file <{}>: {}", error.getKey(), error.getMessage()));
+            }
+        }
+    }
+
+    private void copyFile(String source, String target) {
+        s3Client.copyObject(new CopyObjectRequest(bucketName, source, bucketName, target)
+                .withCannedAccessControlList(CannedAccessControlList.PublicReadWrite));
+    }
+}
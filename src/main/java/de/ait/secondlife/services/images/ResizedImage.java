@@ -0,0 +1,30 @@
+package de.ait.secondlife.services.images;
+
+import java.io.InputStream;
+
+/**
+ * Image produced by the {@link ImageResizer}.
+ *
+ * @param width   width of the image in pixels
+ * @param height  height of the image in pixels
+ * @param content encoded image, valid until the {@link ResizedImages} holding it are closed
+ */
+public record ResizedImage(int width, int height, ImageBuffer content) {
+
+    /**
+     * Returns the size of the image in the form used in image file names.
+     *
+     * @return size of the image, e.g. 320x320
+     */
+    public String getSize() {
+        return width + "x" + height;
+    }
+
+    public long getContentLength() {
+        return content.size();
+    }
+
+    public InputStream getInputStream() {
+        return content.toInputStream();
+    }
+}
@@ -0,0 +1,46 @@
+package de.ait.secondlife.services.images;
+
+import java.util.List;
+
+/**
+ * Images produced from one upload by the {@link ImageResizer}.(Version 1.0)
+ *
+ * <p>
+ * Holds the buffers of the encoded images and the memory reserved for them in the
+ * {@link ImageMemoryPool}. Closing returns both to the pool, so the images must be stored before.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public class ResizedImages implements AutoCloseable {
+
+    private final List<ResizedImage> images;
+    private final ImageMemoryPool pool;
+    private final ImageMemoryPool.Reservation reservation;
+
+    ResizedImages(List<ResizedImage> images, ImageMemoryPool pool, ImageMemoryPool.Reservation reservation) {
+        this.images = images;
+        this.pool = pool;
+        this.reservation = reservation;
+    }
+
+    /**
+     * Returns the images in the order of the requested sizes.
+     *
+     * @return resized images
+     */
+    public List<ResizedImage> getImages() {
+        return images;
+    }
+
+    @Override
+    public void close() {
+        images.forEach(image -> pool.returnBuffer(image.content()));
+        reservation.release();
+    }
+}
@@ -0,0 +1,8 @@
+package de.ait.secondlife.services.interfaces;
+
+import de.ait.secondlife.domain.entity.Offer;
+
+public interface AuctionExpiryService {
+
+    void register(Offer offer);
+}
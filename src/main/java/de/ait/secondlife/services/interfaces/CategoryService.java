@@ -4,6 +4,7 @@ import de.ait.secondlife.domain.dto.CategoryDto;
 import de.ait.secondlife.domain.dto.CategoryCreationDto;
 import de.ait.secondlife.domain.dto.CategoryUpdateDto;
 import de.ait.secondlife.domain.entity.Category;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 
 import java.util.List;
 
@@ -18,4 +19,6 @@ public interface CategoryService extends CheckEntityExistsService{
     Category getCategoryById(Long id);
 
     List<CategoryDto> getAllPlusHidden();
+
+    ReferenceDataSnapshot<List<CategoryDto>> getAllSnapshot(boolean includeHidden);
 }
@@ -9,4 +9,6 @@ public interface CustomUserDetails extends UserDetailsService {
     UserDetails loadUserByUsername(String username);
 
     void updateLastActive(User user);
+
+    void flushLastActive();
 }
@@ -1,6 +1,7 @@
 package de.ait.secondlife.services.interfaces;
 
 import de.ait.secondlife.domain.entity.Notification;
+import de.ait.secondlife.domain.interfaces.AuthenticatedUser;
 import de.ait.secondlife.exception_handling.exceptions.EmailTemplateException;
 import freemarker.template.Configuration;
 
@@ -13,4 +14,6 @@ public interface EmailTemplateService {
     void setMailConfiguration(Configuration mailConfiguration);
 
     void setNotification(Notification notification);
+
+    void setRecipient(AuthenticatedUser recipient);
 }
@@ -0,0 +1,29 @@
+package de.ait.secondlife.services.interfaces;
+
+import de.ait.secondlife.domain.entity.ImageEntity;
+import de.ait.secondlife.domain.entity.ImageProcessing;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageProcessingService {
+
+    ImageProcessing submit(String baseName, String entityType, Long entityId, Long userId,
+                           String originalPath, String contentType, int maxPending);
+
+    void activate(ImageProcessing processing);
+
+    void cancel(ImageProcessing processing);
+
+    long countPending(String entityType, Long entityId);
+
+    boolean attachPending(String baseName, String entityType, Long entityId);
+
+    List<ImageProcessing> claimPending(int limit);
+
+    void markDone(ImageProcessing processing, Collection<ImageEntity> images);
+
+    boolean markFailed(ImageProcessing processing, String error, boolean retryable);
+
+    ImageProcessing getByBaseName(String baseName);
+}
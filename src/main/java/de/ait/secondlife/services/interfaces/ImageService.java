@@ -2,8 +2,11 @@ package de.ait.secondlife.services.interfaces;
 
 import de.ait.secondlife.domain.dto.ImageCreationDto;
 import de.ait.secondlife.domain.dto.ImagePathsResponseDto;
+import de.ait.secondlife.domain.dto.ImageProcessingDto;
 import de.ait.secondlife.domain.entity.ImageEntity;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -11,8 +14,16 @@ public interface ImageService {
 
     ImagePathsResponseDto saveNewImage(String entityType, Long entityId, ImageCreationDto dto) ;
 
+    ImageProcessingDto saveNewImageAsync(String entityType, Long entityId, ImageCreationDto dto);
+
+    ImageProcessingDto getProcessingState(String baseName);
+
+    void processPendingImages();
+
     ImagePathsResponseDto findAllImageForEntity(String entityType, Long entityId);
 
+    Map<Long, ImagePathsResponseDto> findAllImagesForEntities(String entityType, Collection<Long> entityIds);
+
     void connectTempImagesToEntity(Set<String> baseNames, String entityType,Long entityId);
 
     void deleteImage(String baseName);
@@ -20,4 +31,8 @@ public interface ImageService {
     Set<ImageEntity>  findAllImagesByBaseName(String baseName);
 
     void deleteUnattachedImages();
+
+    Long migrateImagePaths(Long afterId, int limit);
+
+    void deleteLegacyImageFiles();
 }
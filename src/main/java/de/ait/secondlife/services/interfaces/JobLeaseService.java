@@ -0,0 +1,12 @@
+package de.ait.secondlife.services.interfaces;
+
+import java.time.Duration;
+
+public interface JobLeaseService {
+
+    boolean acquire(String jobName, Duration ttl);
+
+    void releaseAll();
+
+    String getOwner();
+}
@@ -2,6 +2,7 @@ package de.ait.secondlife.services.interfaces;
 
 import de.ait.secondlife.domain.dto.LocationDto;
 import de.ait.secondlife.domain.entity.Location;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 
 import java.util.List;
 
@@ -11,5 +12,7 @@ public interface LocationService {
 
     List<LocationDto> getAll();
 
+    ReferenceDataSnapshot<List<LocationDto>> getAllSnapshot();
+
     Location getLocationById(Long id);
 }
@@ -0,0 +1,15 @@
+package de.ait.secondlife.services.interfaces;
+
+import de.ait.secondlife.domain.entity.Notification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationService {
+
+    List<Notification> claimPending(int limit);
+
+    void markSent(Collection<Notification> notifications);
+
+    void markFailed(Collection<Notification> notifications);
+}
@@ -13,6 +13,8 @@ public interface OfferContext {
 
     CustomAdminDetails getAdminDetails();
 
+    AuctionExpiryService getAuctionExpiryService();
+
     void setStateStrategy(StateStrategy stateStrategy);
 
     void setOffer(Offer offer);
@@ -0,0 +1,16 @@
+package de.ait.secondlife.services.interfaces;
+
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.services.pagination.OfferCursor;
+import de.ait.secondlife.services.pagination.OfferCursorPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface OfferSearchService {
+
+    Page<Offer> search(String pattern, Long locationId, Pageable pageable);
+
+    OfferCursorPage search(String pattern, Long locationId, OfferCursor cursor, int size);
+
+    void index(Offer offer);
+}
@@ -2,24 +2,33 @@ package de.ait.secondlife.services.interfaces;
 
 import de.ait.secondlife.constants.OfferStatus;
 import de.ait.secondlife.domain.dto.*;
+import de.ait.secondlife.domain.entity.Bid;
 import de.ait.secondlife.domain.entity.Offer;
 import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.services.pagination.OfferCursor;
 import org.springframework.data.domain.Pageable;
 
 import javax.security.auth.login.CredentialException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OfferService extends CheckEntityExistsService{
 
     OfferResponseDto createOffer(OfferCreationDto dto) throws CredentialException;
 
-    OfferResponseWithPaginationDto findOffers(Pageable pageable, Long categoryId, String status, Boolean isFree);
+    OfferResponseWithPaginationDto findOffers(Pageable pageable, OfferFilterDto filter);
+
+    OfferResponseWithCursorDto findOffers(OfferCursor cursor, int size, boolean withTotal, OfferFilterDto filter);
+
+    void forEachOffer(Pageable pageable, OfferFilterDto filter, Consumer<OfferResponseDto> consumer);
 
     Offer findById(Long id);
 
     OfferResponseDto getDto(Long id);
 
-    OfferResponseWithPaginationDto findOffersByUserId(Long id, Pageable pageable, Long categoryId, String status, Boolean isFree);
+    OfferResponseWithPaginationDto findOffersByUserId(Long id, Pageable pageable, OfferFilterDto filter);
+
+    OfferResponseWithCursorDto findOffersByUserId(Long id, OfferCursor cursor, int size, boolean withTotal, OfferFilterDto filter);
 
     OfferResponseDto updateOffer(OfferUpdateDto dto) throws CredentialException;
 
@@ -27,7 +36,13 @@ public interface OfferService extends CheckEntityExistsService{
 
     void setStatus(Offer offer, OfferStatus offerStatus, Long rejectionReasonId);
 
-    List<Offer> findUnfinishedAuctions();
+    List<Long> findUnfinishedAuctionIds(Long lastId, int limit);
+
+    long countUnfinishedAuctions();
+
+    List<OfferExpiryDto> findRunningAuctionExpiries();
+
+    Offer finishExpiredAuction(Long id);
 
     void draftOffer(Offer offer);
 
@@ -39,6 +54,8 @@ public interface OfferService extends CheckEntityExistsService{
 
     void finishAuction(Offer offer);
 
+    void applyBid(Offer offer, Bid bid);
+
     OfferResponseDto completeOffer(Long id, OfferCompletionDto offerCompletionDto);
 
     void cancelOffer(Long id);
@@ -47,7 +64,9 @@ public interface OfferService extends CheckEntityExistsService{
 
     OfferResponseWithPaginationDto searchOffers(Pageable pageable, Long locationId, String pattern);
 
-    OfferResponseWithPaginationDto findUserAuctionParticipations(Long id, Pageable pageable, Long categoryId, String status, Boolean isFree);
+    OfferResponseWithCursorDto searchOffers(OfferCursor cursor, int size, Long locationId, String pattern);
+
+    OfferResponseWithPaginationDto findUserAuctionParticipations(Long id, Pageable pageable, OfferFilterDto filter);
 
     boolean isCurrentUserAuctionParticipant(Offer offer);
 
@@ -2,10 +2,13 @@ package de.ait.secondlife.services.interfaces;
 
 import de.ait.secondlife.domain.dto.RejectionReasonsDto;
 import de.ait.secondlife.domain.entity.RejectionReason;
+import de.ait.secondlife.services.cache.ReferenceDataSnapshot;
 
 public interface RejectionReasonService {
 
     RejectionReason getById(Long id);
 
     RejectionReasonsDto getAll();
+
+    ReferenceDataSnapshot<RejectionReasonsDto> getAllSnapshot();
 }
@@ -1,14 +1,20 @@
 package de.ait.secondlife.services.mapping;
 
+import de.ait.secondlife.constants.OfferStatus;
 import de.ait.secondlife.domain.dto.OfferCreationDto;
+import de.ait.secondlife.domain.dto.OfferForUserDto;
 import de.ait.secondlife.domain.dto.OfferResponseDto;
 import de.ait.secondlife.domain.entity.Offer;
 import de.ait.secondlife.services.interfaces.OfferService;
+import org.mapstruct.Context;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 
+import java.math.BigDecimal;
+
 @Mapper
 public abstract class OfferMappingService extends EntityWIthImageMappingService {
 
@@ -31,21 +37,42 @@ public abstract class OfferMappingService extends EntityWIthImageMappingService
             target = "ownerFullName",
             expression = "java(offer.getUser().getFullName())"
     )
-    @Mapping(target = "maxBidValue", expression = "java(offer.getMaxBidValue())")
-    @Mapping(target = "bidsCount", expression = "java(offer.getBidsCount())")
     @Mapping(target = "isCurrentUserAuctionParticipant", expression = "java(offerService.isCurrentUserAuctionParticipant(offer))")
     @Mapping(target = "winner", expression = "java(offerService.getWinnerDetails(offer))")
     @Mapping(target = "currentUser", expression = "java(offerService.getCurrentUserDetails(offer))")
     public abstract OfferResponseDto toDto(Offer offer);
 
+    @InheritConfiguration(name = "toDto")
+    @Mapping(target = "images", expression = "java(context.getImages(offer.getId()))")
+    @Mapping(
+            target = "isCurrentUserAuctionParticipant",
+            expression = "java(context.getCurrentUserMaxBidValue(offer.getId()) != null)"
+    )
+    @Mapping(target = "currentUser", expression = "java(getCurrentUserDetails(offer, context))")
+    public abstract OfferResponseDto toListingDto(Offer offer, @Context OfferPageContext context);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "updatedAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "maxBidValue", ignore = true)
+    @Mapping(target = "maxBidId", ignore = true)
+    @Mapping(target = "bidsCount", ignore = true)
     public abstract Offer toEntity(OfferCreationDto dto);
 
+    protected OfferForUserDto getCurrentUserDetails(Offer offer, OfferPageContext context) {
+        OfferForUserDto userDto = new OfferForUserDto();
+        BigDecimal maxBidValue = context.getCurrentUserMaxBidValue(offer.getId());
+        userDto.setIsAuctionParticipant(maxBidValue != null);
+        userDto.setMaxBidValue(maxBidValue);
+        userDto.setIsWinner(offer.getOfferStatus() == OfferStatus.COMPLETED
+                && maxBidValue != null
+                && offer.getWinnerBid() != null
+                && offer.getWinnerBid().getBidValue().compareTo(maxBidValue) == 0);
+        return userDto;
+    }
 }
 
 
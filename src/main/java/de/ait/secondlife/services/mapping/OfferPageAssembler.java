@@ -0,0 +1,115 @@
+package de.ait.secondlife.services.mapping;
+
+import de.ait.secondlife.constants.EntityTypeWithImages;
+import de.ait.secondlife.domain.dto.OfferBidsSummaryDto;
+import de.ait.secondlife.domain.dto.OfferResponseDto;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.repositories.BidRepository;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.security.services.AuthService;
+import de.ait.secondlife.services.interfaces.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.security.auth.login.CredentialException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles offer DTOs for a whole page at once.(Version 1.0)
+ *
+ * <p>
+ * Instead of mapping each offer separately (which touches owner, status, winner bid, bids
+ * and images lazily for every row), the assembler takes the IDs of the page and loads owners,
+ * statuses, current user bids and images with a fixed number of batched queries.
+ * DTOs are then built from in-memory maps, so the number of SQL statements does not depend
+ * on the page size. Bids count and maximum bid value are taken from the aggregate
+ * columns of the offer itself.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+@Component
+@RequiredArgsConstructor
+public class OfferPageAssembler {
+
+    private final OfferRepository offerRepository;
+    private final BidRepository bidRepository;
+    private final OfferMappingService mappingService;
+    @Lazy
+    @Autowired
+    private ImageService imageService;
+
+    /**
+     * Maps offers of a page to DTOs, keeping the order of the page.
+     *
+     * @param offers offers of the current page
+     * @return list of OfferResponseDto in the same order as the given offers
+     */
+    public List<OfferResponseDto> toDtos(Collection<Offer> offers) {
+        if (offers.isEmpty()) return new ArrayList<>();
+        List<Long> offerIds = new ArrayList<>(offers.size());
+        offers.forEach(offer -> offerIds.add(offer.getId()));
+
+        Map<Long, Offer> offersWithDetails = offerRepository.findAllWithDetailsByIdIn(offerIds)
+                .stream()
+                .collect(Collectors.toMap(Offer::getId, Function.identity()));
+
+        List<Offer> fetchedOffers = new ArrayList<>(offerIds.size());
+        for (Long offerId : offerIds) {
+            fetchedOffers.add(offersWithDetails.get(offerId));
+        }
+        return toDtosOfFetchedOffers(fetchedOffers);
+    }
+
+    /**
+     * Maps offers whose owner, status and winner bid with its bidder are already fetched to DTOs,
+     * keeping the order of the offers. The offers are not loaded again.
+     *
+     * @param offers offers of the current page with fetched details
+     * @return list of OfferResponseDto in the same order as the given offers
+     */
+    public List<OfferResponseDto> toDtosOfFetchedOffers(List<Offer> offers) {
+        if (offers.isEmpty()) return new ArrayList<>();
+        List<Long> offerIds = new ArrayList<>(offers.size());
+        offers.forEach(offer -> offerIds.add(offer.getId()));
+
+        OfferPageContext context = OfferPageContext.builder()
+                .images(imageService.findAllImagesForEntities(EntityTypeWithImages.OFFER.getType(), offerIds))
+                .currentUserBidsSummaries(getCurrentUserBidsSummaries(offerIds))
+                .build();
+
+        List<OfferResponseDto> dtos = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            dtos.add(mappingService.toListingDto(offer, context));
+        }
+        return dtos;
+    }
+
+    /**
+     * Loads bid summaries of the current user for the given offers.
+     *
+     * @param offerIds IDs of the offers
+     * @return map of offer ID to bid summary, empty if there is no authenticated user
+     */
+    private Map<Long, OfferBidsSummaryDto> getCurrentUserBidsSummaries(List<Long> offerIds) {
+        User user;
+        try {
+            user = AuthService.getCurrentUser();
+        } catch (CredentialException e) {
+            return new HashMap<>();
+        }
+        return bidRepository.summarizeByOfferIdsAndUserId(offerIds, user.getId())
+                .stream()
+                .collect(Collectors.toMap(OfferBidsSummaryDto::getOfferId, Function.identity()));
+    }
+}
@@ -0,0 +1,31 @@
+package de.ait.secondlife.services.mapping;
+
+import de.ait.secondlife.domain.dto.ImagePathsResponseDto;
+import de.ait.secondlife.domain.dto.OfferBidsSummaryDto;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data preloaded for a whole page of offers, keyed by offer ID.
+ * Used by {@link OfferMappingService#toListingDto} so that mapping an offer
+ * does not touch lazy associations or issue per-row queries.
+ */
+@Builder
+public class OfferPageContext {
+
+    private final Map<Long, ImagePathsResponseDto> images;
+    private final Map<Long, OfferBidsSummaryDto> currentUserBidsSummaries;
+
+    public ImagePathsResponseDto getImages(Long offerId) {
+        ImagePathsResponseDto offerImages = images.get(offerId);
+        return offerImages != null ? offerImages : new ImagePathsResponseDto(new HashMap<>());
+    }
+
+    public BigDecimal getCurrentUserMaxBidValue(Long offerId) {
+        OfferBidsSummaryDto summary = currentUserBidsSummaries.get(offerId);
+        return summary != null ? summary.getMaxBidValue() : null;
+    }
+}
@@ -10,7 +10,6 @@ import de.ait.secondlife.services.interfaces.EmailService;
 import de.ait.secondlife.services.interfaces.OfferContext;
 import de.ait.secondlife.services.interfaces.OfferService;
 
-import java.util.Comparator;
 import java.util.List;
 
 public class AuctionFinishedState extends StateStrategy {
@@ -49,11 +48,9 @@ public class AuctionFinishedState extends StateStrategy {
         OfferService offerService = context.getOfferService();
         EmailService emailService = context.getEmailService();
 
-        List<Bid> bids = offer.getBids();
-
-        if (bids == null || bids.isEmpty()) {
+        if (offer.getBidsCount() == 0) {
             completeWithoutBids(offer, offerService, emailService);
-        } else if (bids.size() == 1) {
+        } else if (offer.getBidsCount() == 1) {
             completeWithSingleBid(offer, offerService, emailService);
         } else if (isExistsPayoutBid(offer)) {
             completeWithMaxBid(offer, offerService, emailService);
@@ -69,17 +66,15 @@ public class AuctionFinishedState extends StateStrategy {
         if (offer.getWinBid() == null) {
             return false;
         }
-        return offer.getMaxBidValue().compareTo(offer.getWinBid()) == 0;
+        // Bids cannot exceed the win bid, so a payout bid exists if the maximum bid reaches it
+        return offer.getMaxBidValue() != null && offer.getMaxBidValue().compareTo(offer.getWinBid()) == 0;
     }
 
     private void completeWithMaxBid(Offer offer, OfferService offerService, EmailService emailService) {
         if (offer.getWinnerBid() != null) {
             throw new IllegalStateException(String.format("Offer [ID=%d] already has a winner", offer.getId()));
         }
-        Bid maxBid = offer.getBids().stream()
-                .max(Comparator.comparing(Bid::getBidValue))
-                .get();
-        offer.setWinnerBid(maxBid);
+        offer.setWinnerBid(getMaxBid(offer));
         offerService.setStatus(offer, OfferStatus.COMPLETED);
 
         emailService.createNotification(
@@ -109,8 +104,7 @@ public class AuctionFinishedState extends StateStrategy {
         if (offer.getWinnerBid() != null) {
             throw new IllegalStateException(String.format("Offer [ID=%d] already has a winner", offer.getId()));
         }
-        Bid winnerBid = offer.getBids().get(0);
-        offer.setWinnerBid(winnerBid);
+        offer.setWinnerBid(getMaxBid(offer));
         offerService.setStatus(offer, OfferStatus.COMPLETED);
 
         emailService.createNotification(
@@ -128,6 +122,14 @@ public class AuctionFinishedState extends StateStrategy {
         context.setStateStrategy(new CompleteState());
     }
 
+    private Bid getMaxBid(Offer offer) {
+        Bid maxBid = context.getBidService().getById(offer.getMaxBidId());
+        if (maxBid == null) {
+            throw new IllegalStateException(String.format("Offer [ID=%d] has no maximum bid", offer.getId()));
+        }
+        return maxBid;
+    }
+
     private void completeWithoutBids(Offer offer, OfferService offerService, EmailService emailService) {
         offerService.setStatus(offer, OfferStatus.COMPLETED);
         emailService.createNotification(
@@ -141,8 +143,7 @@ public class AuctionFinishedState extends StateStrategy {
     @Override
     public void qualify(OfferContext context) {
         Offer offer = context.getOffer();
-        List<Bid> bids = offer.getBids();
-        if (bids.size() <= 1) {
+        if (offer.getBidsCount() <= 1) {
             throw new IllegalStateException(
                     String.format("Offer [ID=<%d>] has no/one winner and not require status [%s]", offer.getId(), OfferStatus.QUALIFICATION)
             );
@@ -4,13 +4,15 @@ import de.ait.secondlife.constants.OfferStatus;
 import de.ait.secondlife.domain.entity.Offer;
 import de.ait.secondlife.domain.entity.Status;
 import de.ait.secondlife.services.interfaces.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import java.util.function.Consumer;
+
 @Getter
 @Component
 @RequiredArgsConstructor
@@ -18,11 +20,21 @@ public class OfferContextImpl implements OfferContext {
 
     private OfferService offerService;
     private BidService bidService;
+    private AuctionExpiryService auctionExpiryService;
     private final EmailService emailService;
     private final UserService userService;
     private final CustomAdminDetails adminDetails;
 
-    private Offer offer;
+    /**
+     * The context is a singleton shared by all requests and scheduled jobs, so the offer
+     * and its state are kept per thread to let transitions of different offers run in parallel.
+     * Both are removed when a state operation ends, so pooled threads keep no offers.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<Offer> offer = new ThreadLocal<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<StateStrategy> stateStrategy = new ThreadLocal<>();
 
     @Autowired
     public void setOfferContext(@Lazy OfferService offerService) {
@@ -34,48 +46,58 @@ public class OfferContextImpl implements OfferContext {
         this.bidService = bidService;
     }
 
-    @Setter
-    private StateStrategy stateStrategy;
+    @Autowired
+    public void setAuctionExpiryService(@Lazy AuctionExpiryService auctionExpiryService) {
+        this.auctionExpiryService = auctionExpiryService;
+    }
+
+    public Offer getOffer() {
+        return offer.get();
+    }
 
     public void setOffer(Offer offer) {
-        this.offer = offer;
+        this.offer.set(offer);
         setStateFromOfferStatus(offer);
     }
 
+    public void setStateStrategy(StateStrategy stateStrategy) {
+        this.stateStrategy.set(stateStrategy);
+    }
+
     private void setStateFromOfferStatus(Offer offer) {
         Status status = offer.getStatus();
         if (status == null) {
-            this.stateStrategy = new DraftState();
+            setStateStrategy(new DraftState());
             return;
         }
         OfferStatus offerStatus = status.getName();
         switch (offerStatus) {
             case DRAFT:
-                this.stateStrategy = new DraftState();
+                setStateStrategy(new DraftState());
                 break;
             case REJECTED:
-                this.stateStrategy = new RejectedState();
+                setStateStrategy(new RejectedState());
                 break;
             case VERIFICATION:
-                this.stateStrategy = new VerificationState();
+                setStateStrategy(new VerificationState());
                 break;
             case AUCTION_STARTED:
-                this.stateStrategy = new AuctionStartedState();
+                setStateStrategy(new AuctionStartedState());
                 break;
             case AUCTION_FINISHED:
-                this.stateStrategy = new AuctionFinishedState();
+                setStateStrategy(new AuctionFinishedState());
                 break;
             case QUALIFICATION:
-                this.stateStrategy = new QualificationState();
+                setStateStrategy(new QualificationState());
                 break;
             case COMPLETED:
-                this.stateStrategy = new CompleteState();
+                setStateStrategy(new CompleteState());
                 break;
             case CANCELED:
-                this.stateStrategy = new CancelState();
+                setStateStrategy(new CancelState());
                 break;
             case BLOCKED_BY_ADMIN:
-                this.stateStrategy = new BlockByAdminState();
+                setStateStrategy(new BlockByAdminState());
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported offer status: " + offerStatus);
@@ -83,38 +105,47 @@ public class OfferContextImpl implements OfferContext {
     }
 
     public void draft() {
-        stateStrategy.draft(this);
+        perform(state -> state.draft(this));
     }
 
     public void reject(Long rejectionReasonId) {
-        stateStrategy.reject(this, rejectionReasonId);
+        perform(state -> state.reject(this, rejectionReasonId));
     }
 
     public void verify() {
-        stateStrategy.verify(this);
+        perform(state -> state.verify(this));
     }
 
     public void startAuction() {
-        stateStrategy.startAuction(this);
+        perform(state -> state.startAuction(this));
     }
 
     public void finishAuction() {
-        stateStrategy.finishAuction(this);
+        perform(state -> state.finishAuction(this));
     }
 
     public void qualify() {
-        stateStrategy.qualify(this);
+        perform(state -> state.qualify(this));
     }
 
     public void complete(Long winnerBidId) {
-        stateStrategy.complete(this, winnerBidId);
+        perform(state -> state.complete(this, winnerBidId));
     }
 
     public void cancel() {
-        stateStrategy.cancel(this);
+        perform(state -> state.cancel(this));
     }
 
     public void blockByAdmin() {
-        stateStrategy.blockByAdmin(this);
+        perform(state -> state.blockByAdmin(this));
+    }
+
+    private void perform(Consumer<StateStrategy> operation) {
+        try {
+            operation.accept(stateStrategy.get());
+        } finally {
+            offer.remove();
+            stateStrategy.remove();
+        }
     }
 }
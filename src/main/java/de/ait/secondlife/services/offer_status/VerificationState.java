@@ -44,6 +44,7 @@ public class VerificationState extends StateStrategy {
         offer.setAuctionFinishedAt(auctionFinishedAt);
         OfferService offerService = context.getOfferService();
         offerService.setStatus(offer, OfferStatus.AUCTION_STARTED);
+        context.getAuctionExpiryService().register(offer);
         context.setStateStrategy(new AuctionStartedState());
     }
 
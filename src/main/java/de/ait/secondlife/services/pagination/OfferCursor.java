@@ -0,0 +1,199 @@
+package de.ait.secondlife.services.pagination;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.CursorIsWrongException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Position in a list of offers for cursor pagination.(Version 1.0)
+ *
+ * <p>
+ * The cursor holds the sort field and direction of the list and the sort value and ID of the last
+ * offer returned to the client. The next page starts right after this offer, so the database
+ * seeks to it by index instead of skipping all previous rows. Offers with equal sort values are
+ * ordered by ID in the same direction. Clients get the cursor as an opaque URL-safe string.
+ * </p>
+ *
+ * <p>
+ * Offers can be listed by createdAt, startPrice and title. Search results use {@value #RELEVANCE}
+ * with the relevance of the last offer as the sort value.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @param sortBy sort field
+ * @param asc    whether the sort direction is ascending
+ * @param value  sort value of the last returned offer, null if the offer has no value or if no
+ *               offer was returned yet
+ * @param id     ID of the last returned offer, null for the first page
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public record OfferCursor(String sortBy, boolean asc, String value, Long id) {
+
+    public static final String RELEVANCE = "relevance";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, SortKey> SORT_KEYS = Map.of(
+            "createdAt", new SortKey(Offer::getCreatedAt, LocalDateTime::parse, false),
+            "startPrice", new SortKey(Offer::getStartPrice, BigDecimal::new, true),
+            "title", new SortKey(Offer::getTitle, title -> title, false));
+
+    /**
+     * Creates the cursor of the first page of a list.
+     *
+     * @param sortBy sort field
+     * @param asc    whether the sort direction is ascending
+     * @return cursor pointing before the first offer
+     * @throws CursorIsWrongException if offers cannot be listed by the field
+     */
+    public static OfferCursor first(String sortBy, boolean asc) {
+        if (!isSortable(sortBy)) {
+            throw new CursorIsWrongException(sortBy);
+        }
+        return new OfferCursor(sortBy, asc, null, null);
+    }
+
+    /**
+     * Checks whether offers can be listed with a cursor by the field.
+     *
+     * @param sortBy sort field
+     * @return true if the field is createdAt, startPrice or title
+     */
+    public static boolean isSortable(String sortBy) {
+        return SORT_KEYS.containsKey(sortBy);
+    }
+
+    /**
+     * Creates the cursor of the first page of search results, which are sorted from the best match.
+     *
+     * @return cursor pointing before the best matching offer
+     */
+    public static OfferCursor firstByRelevance() {
+        return new OfferCursor(RELEVANCE, false, null, null);
+    }
+
+    /**
+     * Decodes the cursor received from the client.
+     *
+     * @param cursor encoded cursor
+     * @return decoded cursor
+     * @throws CursorIsWrongException if the cursor is malformed
+     */
+    public static OfferCursor decode(String cursor) {
+        OfferCursor decoded;
+        try {
+            decoded = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), OfferCursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CursorIsWrongException(cursor);
+        }
+        if (decoded.id() == null || decoded.sortBy() == null) {
+            throw new CursorIsWrongException(cursor);
+        }
+        try {
+            if (decoded.isByRelevance()) {
+                Float.parseFloat(decoded.value());
+            } else if (decoded.getSortKey() == null) {
+                throw new CursorIsWrongException(cursor);
+            } else {
+                decoded.getSortValue();
+            }
+        } catch (RuntimeException e) {
+            throw new CursorIsWrongException(cursor);
+        }
+        return decoded;
+    }
+
+    /**
+     * Encodes the cursor for the client.
+     *
+     * @return opaque URL-safe string
+     */
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates the cursor pointing after the offer in the same list.
+     *
+     * @param offer last returned offer
+     * @return cursor of the next page
+     */
+    public OfferCursor after(Offer offer) {
+        Object sortValue = getSortKey().getter().apply(offer);
+        String formatted = sortValue == null ? null
+                : sortValue instanceof BigDecimal decimal ? decimal.toPlainString()
+                : sortValue.toString();
+        return new OfferCursor(sortBy, asc, formatted, offer.getId());
+    }
+
+    /**
+     * Creates the cursor pointing after the search result.
+     *
+     * @param offerId   ID of the last returned offer
+     * @param relevance relevance of the last returned offer
+     * @return cursor of the next page of search results
+     */
+    public OfferCursor after(Long offerId, float relevance) {
+        return new OfferCursor(RELEVANCE, false, Float.toString(relevance), offerId);
+    }
+
+    @JsonIgnore
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    @JsonIgnore
+    public boolean isByRelevance() {
+        return RELEVANCE.equals(sortBy);
+    }
+
+    /**
+     * Returns the sort value parsed to the type of the sort field.
+     *
+     * @return sort value or null if the last offer has no value
+     */
+    @JsonIgnore
+    public Comparable<?> getSortValue() {
+        return value == null ? null : getSortKey().parser().apply(value);
+    }
+
+    @JsonIgnore
+    public float getRelevance() {
+        return Float.parseFloat(value);
+    }
+
+    /**
+     * Checks whether the sort field can be empty; such offers are placed after the others
+     * in ascending order and before them in descending order.
+     */
+    @JsonIgnore
+    public boolean isSortFieldNullable() {
+        return getSortKey().nullable();
+    }
+
+    private SortKey getSortKey() {
+        return SORT_KEYS.get(sortBy);
+    }
+
+    private record SortKey(
+            Function<Offer, Object> getter,
+            Function<String, Comparable<?>> parser,
+            boolean nullable) {
+    }
+}
@@ -0,0 +1,14 @@
+package de.ait.secondlife.services.pagination;
+
+import de.ait.secondlife.domain.entity.Offer;
+
+import java.util.List;
+
+/**
+ * Page of offers loaded with cursor pagination.
+ *
+ * @param offers     offers of the page in list order
+ * @param nextCursor cursor of the next page, null if this is the last page
+ */
+public record OfferCursorPage(List<Offer> offers, OfferCursor nextCursor) {
+}
@@ -0,0 +1,284 @@
+package de.ait.secondlife.services.search;
+
+import de.ait.secondlife.domain.dto.OfferSearchDocumentDto;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * In-memory inverted index of offers.(Version 1.0)
+ *
+ * <p>
+ * Every indexed offer gets a document number. For each of the fields title, description, category
+ * and location the index keeps a sorted dictionary of words, each mapped to a posting list of
+ * document numbers stored in a plain int array. Words are lower-cased and stripped of diacritics.
+ * A query word matches all dictionary words starting with it; an offer matches the query if it
+ * matches all query words. The score of an offer is the sum of the weights of the best matching
+ * field of every query word (title 4, category and location 2, description 1).
+ * </p>
+ *
+ * <p>
+ * Replaced and removed offers are only marked as deleted; their postings are dropped when
+ * the index is compacted. The class is not thread-safe.
+ * </p>
+ *
+ * <p>
+ * Author: Second Life Team
+ * </p>
+ *
+ * @version 1.0
+ * @author: Second Life Team
+ */
+public class OfferIndex {
+
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int CATEGORY = 2;
+    private static final int LOCATION = 3;
+    private static final int[] FIELD_WEIGHTS = {4, 1, 2, 2};
+
+    private final List<NavigableMap<String, IntList>> dictionaries = List.of(
+            new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+    private final List<OfferSearchDocumentDto> documents = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> documentNumbers = new HashMap<>();
+
+    /**
+     * Adds the offer to the index or replaces its previous version.
+     *
+     * @param document searchable contents of the offer
+     */
+    public void put(OfferSearchDocumentDto document) {
+        remove(document.getOfferId());
+
+        int number = documents.size();
+        documents.add(document);
+        live.set(number);
+        documentNumbers.put(document.getOfferId(), number);
+
+        addPostings(TITLE, document.getTitle(), number);
+        addPostings(DESCRIPTION, document.getDescription(), number);
+        addPostings(CATEGORY, document.getCategoryName(), number);
+        addPostings(LOCATION, document.getLocationName(), number);
+    }
+
+    /**
+     * Removes the offer from the index.
+     *
+     * @param offerId ID of the offer
+     */
+    public void remove(Long offerId) {
+        Integer number = documentNumbers.remove(offerId);
+        if (number != null) {
+            live.clear(number);
+            documents.set(number, null);
+        }
+    }
+
+    /**
+     * Finds offers matching all query words. The postings of the query word with the fewest
+     * postings give the candidates, and each further word, from the shortest, keeps only the
+     * candidates found in its postings, so only the candidates are scored.
+     *
+     * @param words      query words, as returned by {@link #tokenize(String)}
+     * @param locationId location ID to filter offers, can be null
+     * @return matching offers with their scores, in no particular order
+     */
+    public List<Hit> search(List<String> words, Long locationId) {
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        List<List<Postings>> wordPostings = new ArrayList<>();
+        for (String word : words) {
+            wordPostings.add(findPostings(word));
+        }
+        wordPostings.sort(Comparator.comparingLong(OfferIndex::countPostings));
+
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Postings postings : wordPostings.get(0)) {
+            for (int i = 0; i < postings.numbers().size(); i++) {
+                int number = postings.numbers().get(i);
+                if (live.get(number)
+                        && (locationId == null || locationId.equals(documents.get(number).getLocationId()))) {
+                    scores.merge(number, postings.weight(), Math::max);
+                }
+            }
+        }
+        for (List<Postings> postings : wordPostings.subList(1, wordPostings.size())) {
+            if (scores.isEmpty()) {
+                break;
+            }
+            Map<Integer, Integer> weights = (long) scores.size() * postings.size() < countPostings(postings)
+                    ? lookUpWeights(postings, scores.keySet())
+                    : scanWeights(postings, scores.keySet());
+            scores.keySet().retainAll(weights.keySet());
+            weights.forEach((number, weight) -> scores.computeIfPresent(number, (key, score) -> score + weight));
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((number, score) -> hits.add(new Hit(documents.get(number), score)));
+        return hits;
+    }
+
+    /**
+     * Returns the indexed version of every offer.
+     *
+     * @return indexed documents by offer ID
+     */
+    public Map<Long, OfferSearchDocumentDto> getDocuments() {
+        Map<Long, OfferSearchDocumentDto> result = new HashMap<>();
+        documentNumbers.forEach((offerId, number) -> result.put(offerId, documents.get(number)));
+        return result;
+    }
+
+    public int size() {
+        return documentNumbers.size();
+    }
+
+    /**
+     * Checks whether deleted documents take more space than the live ones.
+     *
+     * @return true if the index should be compacted
+     */
+    public boolean needsCompaction() {
+        return documents.size() > 1024 && documents.size() > 2 * documentNumbers.size();
+    }
+
+    /**
+     * Builds a new index containing only the live documents of this index.
+     *
+     * @return compacted index
+     */
+    public OfferIndex compact() {
+        OfferIndex compacted = new OfferIndex();
+        for (int number = live.nextSetBit(0); number >= 0; number = live.nextSetBit(number + 1)) {
+            compacted.put(documents.get(number));
+        }
+        return compacted;
+    }
+
+    /**
+     * Splits the text into lower-cased words without diacritics.
+     *
+     * @param text text to split, can be null
+     * @return words of the text
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private List<Postings> findPostings(String word) {
+        List<Postings> postings = new ArrayList<>();
+        for (int field = 0; field < dictionaries.size(); field++) {
+            for (IntList numbers : dictionaries.get(field)
+                    .subMap(word, true, word + Character.MAX_VALUE, false)
+                    .values()) {
+                postings.add(new Postings(numbers, FIELD_WEIGHTS[field]));
+            }
+        }
+        return postings;
+    }
+
+    private static long countPostings(List<Postings> postings) {
+        long count = 0;
+        for (Postings list : postings) {
+            count += list.numbers().size();
+        }
+        return count;
+    }
+
+    /**
+     * Finds the best weight of each candidate by binary search in the sorted posting lists.
+     */
+    private static Map<Integer, Integer> lookUpWeights(List<Postings> postings, Set<Integer> candidates) {
+        Map<Integer, Integer> weights = new HashMap<>();
+        for (int number : candidates) {
+            for (Postings list : postings) {
+                if (list.numbers().contains(number)) {
+                    weights.merge(number, list.weight(), Math::max);
+                }
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Finds the best weight of each candidate by reading the posting lists, which is cheaper
+     * than searching them when there are many candidates.
+     */
+    private static Map<Integer, Integer> scanWeights(List<Postings> postings, Set<Integer> candidates) {
+        Map<Integer, Integer> weights = new HashMap<>();
+        for (Postings list : postings) {
+            for (int i = 0; i < list.numbers().size(); i++) {
+                int number = list.numbers().get(i);
+                if (candidates.contains(number)) {
+                    weights.merge(number, list.weight(), Math::max);
+                }
+            }
+        }
+        return weights;
+    }
+
+    private void addPostings(int field, String text, int number) {
+        NavigableMap<String, IntList> dictionary = dictionaries.get(field);
+        for (String word : new LinkedHashSet<>(tokenize(text))) {
+            dictionary.computeIfAbsent(word, key -> new IntList()).add(number);
+        }
+    }
+
+    /**
+     * Offer matching a query.
+     *
+     * @param document indexed contents of the offer
+     * @param score    relevance of the offer for the query
+     */
+    public record Hit(OfferSearchDocumentDto document, int score) {
+    }
+
+    /**
+     * Posting list of a dictionary word with the weight of its field.
+     */
+    private record Postings(IntList numbers, int weight) {
+    }
+
+    /**
+     * Growable list of document numbers backed by an int array. Documents are numbered in the
+     * order they are added, so the numbers of a list are always sorted.
+     */
+    private static class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package de.ait.secondlife.services.utilities;
 
 import de.ait.secondlife.constants.EntityTypeWithImages;
+import de.ait.secondlife.constants.ImageProcessingState;
 import de.ait.secondlife.constants.ImageConstants;
 import de.ait.secondlife.domain.entity.ImageEntity;
+import de.ait.secondlife.domain.entity.ImageProcessing;
 import de.ait.secondlife.domain.entity.User;
 import de.ait.secondlife.exception_handling.exceptions.NoRightsException;
 import de.ait.secondlife.exception_handling.exceptions.UserIsNotAuthorizedException;
 import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.PathWrongException;
 import de.ait.secondlife.security.Role;
 import de.ait.secondlife.security.services.AuthService;
+import de.ait.secondlife.services.interfaces.ImageProcessingService;
 import de.ait.secondlife.services.interfaces.ImageService;
 import de.ait.secondlife.services.interfaces.OfferService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +64,9 @@ public class UserPermissionsUtilities {
     @Lazy
     @Autowired
     private ImageService imageService;
+    @Lazy
+    @Autowired
+    private ImageProcessingService imageProcessingService;
 
     @Value("${do.base.path}")
     private String basePath;
@@ -123,6 +129,7 @@ public class UserPermissionsUtilities {
 
     /**
      * Checks if the current user has permission to perform actions on images by their base names.
+     * Images which are still processing belong to the user who uploaded them or to their entity.
      *
      * @param baseNames the set of base names of the images
      * @throws NoRightsException            if the user does not have enough rights
@@ -132,12 +139,18 @@ public class UserPermissionsUtilities {
     public void checkUserPermissionsForImageByBaseName(Set<String> baseNames) {
         baseNames.forEach(baseName -> {
             Set<ImageEntity> images = imageService.findAllImagesByBaseName(baseName);
-            checkUserPermissionsForImageByImageEntities(images);
+            ImageProcessing processing = images.isEmpty() ? imageProcessingService.getByBaseName(baseName) : null;
+            if (processing != null && processing.getState() == ImageProcessingState.PROCESSING) {
+                if (processing.getEntityId() == null) checkUserPermissions(processing.getUserId());
+                else checkUserPermissions(processing.getEntityType(), processing.getEntityId());
+            } else checkUserPermissionsForImageByImageEntities(images);
         });
     }
 
     /**
      * Checks if the current user has permission to perform actions on a set of image entities.
+     * Unattached images belong to the user who uploaded them; for images uploaded before the uploader
+     * was stored, the user is taken from the temporary path of the image.
      *
      * @param images the set of ImageEntity objects to check permissions for
      * @throws NoRightsException            if the user does not have enough rights
@@ -151,7 +164,9 @@ public class UserPermissionsUtilities {
         AtomicBoolean isEntityIdIsNull = new AtomicBoolean(true);
 
         images.forEach(e -> {
-            if (e.getEntityId() == null) {
+            if (e.getEntityId() == null && e.getUploadedBy() != null) {
+                ids.add(e.getUploadedBy());
+            } else if (e.getEntityId() == null) {
                 String tempPath = e.getFullPath();
                 if (tempPath.startsWith(startSub)) {
                     String remainingPath = tempPath.substring(startSub.length());
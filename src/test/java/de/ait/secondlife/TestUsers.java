@@ -0,0 +1,40 @@
+package de.ait.secondlife;
+
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creates active users for tests. All of them have the password {@value #PASSWORD},
+ * so they can also log in through the API.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestUsers {
+
+    public static final String PASSWORD = "qwerty!123";
+
+    private final UserRepository userRepository;
+    private final BCryptPasswordEncoder encoder;
+
+    private String encodedPassword;
+
+    public User create(String email) {
+        if (encodedPassword == null) {
+            encodedPassword = encoder.encode(PASSWORD);
+        }
+        User user = new User();
+        user.setFirstName("TestUserFirstName");
+        user.setLastName("TestUserLastName");
+        user.setEmail(email);
+        user.setPassword(encodedPassword);
+        user.setActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,168 @@
+package de.ait.secondlife.controllers;
+
+import de.ait.secondlife.TestUsers;
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.dto.BidCreationDto;
+import de.ait.secondlife.domain.entity.Bid;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BidCreationException;
+import de.ait.secondlife.repositories.*;
+import de.ait.secondlife.services.interfaces.BidService;
+import de.ait.secondlife.services.interfaces.StatusService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Concurrent bid placement tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class BidConcurrencyIntegrationTest {
+
+    private static final int THREADS_COUNT = 16;
+    private static final int BIDS_PER_THREAD = 200;
+    private static final int START_PRICE = 100;
+    private static final int WIN_BID = START_PRICE + 2000;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private StatusService statusService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> bidders = new ArrayList<>();
+    private User owner;
+    private Long offerId;
+
+    @BeforeEach
+    public void createOffer() {
+        owner = testUsers.create("test.owner@test.com");
+        for (int i = 0; i < THREADS_COUNT; i++) {
+            bidders.add(testUsers.create("test.bidder" + i + "@test.com"));
+        }
+
+        Offer offer = Offer.builder()
+                .title("Test title")
+                .description("Test description")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .auctionDurationDays(3)
+                .auctionFinishedAt(LocalDateTime.now().plusDays(3))
+                .startPrice(BigDecimal.valueOf(START_PRICE))
+                .winBid(BigDecimal.valueOf(WIN_BID))
+                .isFree(false)
+                .user(owner)
+                .status(statusService.getByOfferStatus(OfferStatus.AUCTION_STARTED))
+                .category(categoryRepository.findById(2L).orElseThrow())
+                .location(locationRepository.findById(1L).orElseThrow())
+                .build();
+        offerId = offerRepository.save(offer).getId();
+    }
+
+    @AfterEach
+    public void deleteOffer() {
+        jdbcTemplate.update("DELETE FROM notification WHERE context_id = ?", offerId);
+        jdbcTemplate.update("DELETE FROM offer_status_history WHERE offer_id = ?", offerId);
+        jdbcTemplate.update("UPDATE offer SET winner_bid_id = NULL WHERE id = ?", offerId);
+        jdbcTemplate.update("DELETE FROM offer_participation WHERE offer_id = ?", offerId);
+        jdbcTemplate.update("DELETE FROM bid WHERE offer_id = ?", offerId);
+        jdbcTemplate.update("DELETE FROM offer WHERE id = ?", offerId);
+        userRepository.deleteAll(bidders);
+        userRepository.delete(owner);
+        bidders.clear();
+    }
+
+    @Test
+    public void concurrent_bids_are_accepted_in_strictly_increasing_order_with_single_buyout_winner() throws Exception {
+        AtomicInteger nextBidValue = new AtomicInteger(START_PRICE);
+        AtomicInteger acceptedCount = new AtomicInteger();
+        AtomicInteger buyoutCount = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+
+        List<Future<?>> results = new ArrayList<>();
+        for (User bidder : bidders) {
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(bidder, null, bidder.getAuthorities()));
+                start.await();
+                for (int i = 0; i < BIDS_PER_THREAD; i++) {
+                    int bidValue = Math.min(nextBidValue.incrementAndGet(), WIN_BID);
+                    try {
+                        bidService.save(BidCreationDto.builder()
+                                .offerId(offerId)
+                                .bidValue(BigDecimal.valueOf(bidValue))
+                                .build());
+                        acceptedCount.incrementAndGet();
+                        if (bidValue == WIN_BID) {
+                            buyoutCount.incrementAndGet();
+                        }
+                    } catch (BidCreationException ignored) {
+                        // bid was outpaced by a concurrent one or the auction is already finished
+                    }
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        List<Bid> acceptedBids = bidRepository.findAll().stream()
+                .filter(bid -> bid.getOffer().getId().equals(offerId))
+                .sorted(Comparator.comparing(Bid::getId))
+                .toList();
+
+        assertEquals(acceptedCount.get(), acceptedBids.size());
+        for (int i = 1; i < acceptedBids.size(); i++) {
+            assertTrue(acceptedBids.get(i).getBidValue().compareTo(acceptedBids.get(i - 1).getBidValue()) > 0);
+        }
+        assertEquals(1, buyoutCount.get());
+        assertEquals(1, acceptedBids.stream()
+                .filter(bid -> bid.getBidValue().compareTo(BigDecimal.valueOf(WIN_BID)) == 0)
+                .count());
+
+        Offer offer = offerRepository.findById(offerId).orElseThrow();
+        assertEquals(acceptedBids.size(), offer.getBidsCount());
+        assertEquals(0, BigDecimal.valueOf(WIN_BID).compareTo(offer.getMaxBidValue()));
+        assertEquals(acceptedBids.get(acceptedBids.size() - 1).getId(), offer.getMaxBidId());
+        assertEquals(offer.getMaxBidId(), offer.getWinnerBid().getId());
+    }
+}
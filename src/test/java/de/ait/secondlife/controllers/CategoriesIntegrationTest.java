@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
@@ -20,6 +21,7 @@ import java.util.Map;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,6 +51,19 @@ class CategoriesIntegrationTest {
                     .andExpect(jsonPath("$.[1].description", is("Sofas,Tables and Chairs,Cabinets and Shelves,Decor and Accessories")))
                     .andExpect(jsonPath("$.[1].active", is(true)));
         }
+
+        @Test
+        public void return_304_for_unchanged_list_of_categories() throws Exception{
+            String eTag = mockMvc.perform(get("/v1/categories"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn()
+                    .getResponse()
+                    .getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/v1/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+        }
     }
 
 
@@ -122,6 +137,32 @@ class CategoriesIntegrationTest {
                     .andExpect(jsonPath("$.active", is(false)));
 
         }
+        @Test
+        public void return_changed_list_of_categories_after_category_is_created() throws Exception{
+            String eTag = mockMvc.perform(get("/v1/categories/get-all-for-admin")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(post("/v1/categories")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("Authorization", "Bearer " + adminToken)
+                            .content("""
+                                     {
+                                      "name": "Test category",
+                                      "description": "Test description"
+                                     }"""))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/v1/categories/get-all-for-admin")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.name == 'Test category')]").exists());
+        }
+
         @Test
         public void return_400_for_not_valid_category() throws  Exception{
             mockMvc.perform(post("/v1/categories")
@@ -31,6 +31,7 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -393,6 +394,27 @@ public class ImagesIntegrationTest implements ImageConstants {
             setImageAndGet200(EntityTypeWithImages.USER.getType(), null);
         }
 
+        @Test
+        public void uploaded_image_is_stored_under_key_derived_from_base_name() throws Exception {
+            TestImagePropsDto imageProps = getTestImagePropsForSettingImage(
+                    EntityTypeWithImages.OFFER.getType(),
+                    null,
+                    "classpath:test_image/testImg.jpeg");
+
+            MvcResult result = mockMvc.perform(multipart("/v1/images")
+                            .file(imageProps.getTestFile())
+                            .params(imageProps.getParams())
+                            .contentType(MediaType.MULTIPART_FORM_DATA)
+                            .cookie(userCookie1))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode values = mapper.readTree(result.getResponse().getContentAsString()).get("values");
+            String baseName = values.fieldNames().next();
+
+            values.get(baseName).forEach(path ->
+                    assertTrue(path.asText().contains("/" + ImageConstants.IMAGE_DIR + "/" + baseName + "/")));
+        }
+
         @Test
         public void return_400_if_entity_type_is_null() throws Exception {
             TestImagePropsDto imageProps= getTestImagePropsIfEntityTypeIsNull(createdOfferId);
@@ -850,4 +872,16 @@ public class ImagesIntegrationTest implements ImageConstants {
             delImageByImageBaseName404(imageBaseNAme);
         }
     }
+
+    @Nested
+    @DisplayName("GET /v1/images/{base-name}/state")
+    public class ImageProcessingStateTest {
+
+        @Test
+        public void return_404_state_of_image_with_nonexistent_base_name() throws Exception {
+            mockMvc.perform(get("/v1/images/{base-name}/state", UUID.randomUUID().toString())
+                            .cookie(userCookie1))
+                    .andExpect(status().isNotFound());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package de.ait.secondlife.controllers;
+
+import de.ait.secondlife.TestUsers;
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.repositories.CategoryRepository;
+import de.ait.secondlife.repositories.LocationRepository;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.repositories.UserRepository;
+import de.ait.secondlife.services.OfferIndexSearchServiceImpl;
+import de.ait.secondlife.services.interfaces.StatusService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "offer.search.engine=index")
+@DisplayName("In-process offer search index tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class OfferIndexSearchIntegrationTest {
+
+    private static final PageRequest BY_RELEVANCE = PageRequest.of(0, 10, Sort.by("relevance"));
+
+    @Autowired
+    private OfferIndexSearchServiceImpl searchService;
+
+    @Autowired
+    private StatusService statusService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    private final List<Offer> offers = new ArrayList<>();
+    private User owner;
+
+    @BeforeEach
+    public void createOffers() {
+        owner = testUsers.create("test.index.owner@test.com");
+
+        offers.add(createOffer("Oak table", "Matches the heliograph set"));
+        offers.add(createOffer("Brass heliograph", "Signal mirror on a tripod"));
+        searchService.rebuild();
+    }
+
+    @AfterEach
+    public void deleteOffers() {
+        offerRepository.deleteAll(offers);
+        userRepository.delete(owner);
+        offers.clear();
+        searchService.rebuild();
+    }
+
+    @Test
+    public void words_are_matched_by_prefix_and_title_matches_are_ranked_first() {
+        Page<Offer> page = searchService.search("HELIOGR", null, BY_RELEVANCE);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Brass heliograph", page.getContent().get(0).getTitle());
+        assertEquals("Oak table", page.getContent().get(1).getTitle());
+    }
+
+    @Test
+    public void offers_must_match_every_query_word() {
+        Page<Offer> page = searchService.search("tripod helio", null, BY_RELEVANCE);
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Brass heliograph", page.getContent().get(0).getTitle());
+        assertEquals(0, searchService.search("tripod oak", null, BY_RELEVANCE).getTotalElements());
+    }
+
+    @Test
+    public void offers_leaving_started_auction_are_removed_incrementally() {
+        Offer canceled = offers.get(1);
+        canceled.setStatus(statusService.getByOfferStatus(OfferStatus.CANCELED));
+        offerRepository.save(canceled);
+        searchService.index(canceled);
+
+        Page<Offer> page = searchService.search("heliograph", null, BY_RELEVANCE);
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Oak table", page.getContent().get(0).getTitle());
+        assertTrue(searchService.check().isConsistent());
+    }
+
+    @Test
+    public void checker_detects_changes_missed_by_index_and_rebuild_repairs_them() {
+        Offer changed = offers.get(0);
+        changed.setTitle("Walnut table");
+        offerRepository.save(changed);
+
+        OfferIndexSearchServiceImpl.CheckResult result = searchService.check();
+        assertEquals(1, result.outdated());
+        assertFalse(result.isConsistent());
+
+        searchService.rebuild();
+        assertTrue(searchService.check().isConsistent());
+        assertEquals(1, searchService.search("walnut", null, BY_RELEVANCE).getTotalElements());
+    }
+
+    @Test
+    public void offers_whose_auction_ended_after_indexing_are_not_returned() {
+        Offer canceled = offers.get(1);
+        canceled.setStatus(statusService.getByOfferStatus(OfferStatus.CANCELED));
+        offerRepository.save(canceled);
+
+        Page<Offer> page = searchService.search("heliograph", null, BY_RELEVANCE);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals("Oak table", page.getContent().get(0).getTitle());
+    }
+
+    @Test
+    public void changes_notified_by_other_instances_are_loaded_into_index() {
+        Offer changed = offers.get(0);
+        changed.setTitle("Walnut table");
+        offerRepository.save(changed);
+        Offer canceled = offers.get(1);
+        canceled.setStatus(statusService.getByOfferStatus(OfferStatus.CANCELED));
+        offerRepository.save(canceled);
+
+        searchService.onNotification(changed.getId() + ":other-instance");
+        searchService.onNotification(canceled.getId() + ":other-instance");
+
+        assertEquals(1, searchService.search("walnut", null, BY_RELEVANCE).getTotalElements());
+        assertEquals(0, searchService.search("heliograph", null, BY_RELEVANCE).getTotalElements());
+        assertTrue(searchService.check().isConsistent());
+    }
+
+    private Offer createOffer(String title, String description) {
+        Offer offer = Offer.builder()
+                .title(title)
+                .description(description)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .auctionDurationDays(3)
+                .auctionFinishedAt(LocalDateTime.now().plusDays(3))
+                .startPrice(BigDecimal.valueOf(100))
+                .winBid(BigDecimal.valueOf(200))
+                .isFree(false)
+                .user(owner)
+                .status(statusService.getByOfferStatus(OfferStatus.AUCTION_STARTED))
+                .category(categoryRepository.findById(2L).orElseThrow())
+                .location(locationRepository.findById(1L).orElseThrow())
+                .build();
+        return offerRepository.save(offer);
+    }
+}
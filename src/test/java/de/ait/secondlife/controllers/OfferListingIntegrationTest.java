@@ -0,0 +1,313 @@
+package de.ait.secondlife.controllers;
+
+import com.jayway.jsonpath.JsonPath;
+import de.ait.secondlife.TestUsers;
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.repositories.BidRepository;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.repositories.specifications.OfferSpecifications;
+import de.ait.secondlife.services.interfaces.StatusService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.Cookie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "offer.listing.stream-chunk-size=3")
+@Transactional
+@Rollback
+@DisplayName("Offer listing tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class OfferListingIntegrationTest {
+
+    private static final int OFFERS_COUNT = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private StatusService statusService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Cookie userCookie;
+    private Cookie bidderCookie;
+    private Long userId;
+    private Long bidderId;
+
+    @BeforeEach
+    public void createOffers() throws Exception {
+        userId = testUsers.create("test.user1@test.com").getId();
+        userCookie = login("test.user1@test.com");
+        bidderId = testUsers.create("test.user2@test.com").getId();
+        bidderCookie = login("test.user2@test.com");
+
+        for (int i = 0; i < OFFERS_COUNT; i++) {
+            mockMvc.perform(post("/v1/offers")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                        {
+                                          "title": "Test title",
+                                          "description": "Test description",
+                                          "auctionDurationDays": 3,
+                                          "startPrice": 100,
+                                          "winBid": 200,
+                                          "isFree": false,
+                                          "categoryId": 2,
+                                          "locationId": 1,
+                                          "sendToVerification": false
+                                        }""").cookie(userCookie))
+                    .andExpect(status().isCreated());
+        }
+
+        for (Offer offer : offerRepository.findAll(OfferSpecifications.hasOwner(userId))) {
+            offer.setStatus(statusService.getByOfferStatus(OfferStatus.AUCTION_STARTED));
+            offerRepository.save(offer);
+            for (int i = 1; i <= 3; i++) {
+                mockMvc.perform(post("/v1/bids")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(String.format("""
+                                            {
+                                              "offerId": %d,
+                                              "bidValue": %d
+                                            }""", offer.getId(), 100 + i))
+                                .cookie(bidderCookie))
+                        .andExpect(status().isOk());
+            }
+        }
+    }
+
+    @Test
+    public void statement_count_per_page_does_not_depend_on_page_size() throws Exception {
+        long statementsForSmallPage = countListingStatements(2);
+        long statementsForLargePage = countListingStatements(OFFERS_COUNT);
+
+        assertEquals(statementsForSmallPage, statementsForLargePage);
+    }
+
+    @Test
+    public void bid_aggregates_are_mapped_for_every_offer() throws Exception {
+        mockMvc.perform(get("/v1/offers/user/" + userId)
+                        .param("size", String.valueOf(OFFERS_COUNT))
+                        .param("status", OfferStatus.AUCTION_STARTED.name())
+                        .cookie(userCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers[0].bidsCount").value(3))
+                .andExpect(jsonPath("$.offers[0].maxBidValue").value(103))
+                .andExpect(jsonPath("$.offers[0].currentUser.isAuctionParticipant").value(false));
+    }
+
+    @Test
+    public void filter_is_bound_from_request_parameters() throws Exception {
+        mockMvc.perform(get("/v1/offers/user/" + userId)
+                        .param("size", String.valueOf(OFFERS_COUNT))
+                        .param("free", "false")
+                        .param("location_id", "1")
+                        .param("min_price", "100")
+                        .param("max_price", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers.length()").value(OFFERS_COUNT));
+
+        mockMvc.perform(get("/v1/offers/user/" + userId)
+                        .param("min_price", "101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers.length()").value(0));
+    }
+
+    @Test
+    public void return_400_for_negative_filter_price() throws Exception {
+        mockMvc.perform(get("/v1/offers/all").param("min_price", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void current_user_bids_are_mapped_for_auction_participant() throws Exception {
+        mockMvc.perform(get("/v1/offers/user/" + userId)
+                        .param("size", String.valueOf(OFFERS_COUNT))
+                        .param("status", OfferStatus.AUCTION_STARTED.name())
+                        .cookie(bidderCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers[0].currentUser.isAuctionParticipant").value(true))
+                .andExpect(jsonPath("$.offers[0].currentUser.maxBidValue").value(103));
+    }
+
+    @Test
+    public void bid_aggregates_are_stored_on_offer() {
+        for (Offer offer : offerRepository.findAll(OfferSpecifications.hasOwner(userId))) {
+            entityManager.refresh(offer);
+            assertEquals(3, offer.getBidsCount());
+            assertEquals(0, BigDecimal.valueOf(103).compareTo(offer.getMaxBidValue()));
+            assertEquals(
+                    offer.getMaxBidId(),
+                    bidRepository.findAll().stream()
+                            .filter(bid -> bid.getOffer().getId().equals(offer.getId()))
+                            .filter(bid -> bid.getBidValue().compareTo(offer.getMaxBidValue()) == 0)
+                            .findFirst()
+                            .orElseThrow()
+                            .getId());
+        }
+    }
+
+    @Test
+    public void participations_contain_every_offer_once_regardless_of_bids_count() throws Exception {
+        mockMvc.perform(get("/v1/offers/participations/user/" + bidderId)
+                        .param("size", "5")
+                        .cookie(bidderCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers.length()").value(5))
+                .andExpect(jsonPath("$.totalElements").value(OFFERS_COUNT))
+                .andExpect(jsonPath("$.totalPages").value(3));
+    }
+
+    @Test
+    public void cursor_pages_return_every_offer_once_in_sort_order() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/v1/offers/user/" + userId + "/cursor")
+                    .param("size", "5")
+                    .param("sortBy", "title")
+                    .param("isAsc", "false")
+                    .cookie(userCookie);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            List<Integer> pageIds = JsonPath.read(response, "$.offers[*].id");
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            cursor = JsonPath.read(response, "$.nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = new ArrayList<>(ids);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(3, pages);
+        assertEquals(OFFERS_COUNT, ids.size());
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    public void cursor_page_counts_offers_only_on_request() throws Exception {
+        mockMvc.perform(get("/v1/offers/user/" + userId + "/cursor")
+                        .param("size", "5")
+                        .param("with_total", "true")
+                        .cookie(userCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers.length()").value(5))
+                .andExpect(jsonPath("$.isLastPage").value(false))
+                .andExpect(jsonPath("$.totalElements").value(OFFERS_COUNT));
+    }
+
+    @Test
+    public void streamed_offers_are_written_in_page_order() throws Exception {
+        String page = mockMvc.perform(get("/v1/offers/all")
+                        .param("page", "1")
+                        .param("size", "7")
+                        .param("isAsc", "false"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<Integer> expected = JsonPath.read(page, "$.offers[*].id");
+
+        String stream = mockMvc.perform(get("/v1/offers/all")
+                        .param("page", "1")
+                        .param("size", "7")
+                        .param("isAsc", "false")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<Integer> streamed = stream.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> JsonPath.<Integer>read(line, "$.id"))
+                .toList();
+
+        assertEquals(7, streamed.size());
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    public void return_400_for_malformed_cursor() throws Exception {
+        mockMvc.perform(get("/v1/offers/all/cursor").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Cookie login(String email) throws Exception {
+        MvcResult loginResult = mockMvc.perform(post("/v1/auth/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                    {
+                                      "email": "%s",
+                                      "password": "qwerty!123"
+                                    }""", email)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return new Cookie("Access-Token", loginResult.getResponse().getCookie("Access-Token").getValue());
+    }
+
+    private long countListingStatements(int pageSize) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get("/v1/offers/user/" + userId)
+                        .param("size", String.valueOf(pageSize))
+                        .param("status", OfferStatus.AUCTION_STARTED.name())
+                        .cookie(userCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers.length()").value(pageSize));
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,152 @@
+package de.ait.secondlife.controllers;
+
+import de.ait.secondlife.TestUsers;
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.repositories.specifications.OfferSpecifications;
+import de.ait.secondlife.services.interfaces.StatusService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Rollback
+@DisplayName("Offer search tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class OfferSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private StatusService statusService;
+
+    @BeforeEach
+    public void createOffers() throws Exception {
+        Long userId = testUsers.create("test.user1@test.com").getId();
+        Cookie userCookie = login("test.user1@test.com");
+
+        createOffer(userCookie, "Antique velocipedes for ladies", "Two restored frames");
+        createOffer(userCookie, "Garden bench", "Fits next to any velocipede stand");
+        createOffer(userCookie, "Alte Blumentöpfe", "Aus Ton, leicht beschädigt");
+
+        for (Offer offer : offerRepository.findAll(OfferSpecifications.hasOwner(userId))) {
+            offer.setStatus(statusService.getByOfferStatus(OfferStatus.AUCTION_STARTED));
+            offerRepository.save(offer);
+        }
+    }
+
+    @Test
+    public void words_are_matched_by_prefix_and_title_matches_are_ranked_first() throws Exception {
+        mockMvc.perform(get("/v1/offers/search").param("pattern", "VELOCIP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.offers[0].title").value("Antique velocipedes for ladies"))
+                .andExpect(jsonPath("$.offers[1].title").value("Garden bench"));
+    }
+
+    @Test
+    public void all_words_are_matched_after_english_stemming() throws Exception {
+        mockMvc.perform(get("/v1/offers/search").param("pattern", "lady velocipede"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.offers[0].title").value("Antique velocipedes for ladies"));
+    }
+
+    @Test
+    public void words_are_matched_after_german_stemming() throws Exception {
+        mockMvc.perform(get("/v1/offers/search").param("pattern", "Blumentopf"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.offers[0].title").value("Alte Blumentöpfe"));
+    }
+
+    @Test
+    public void pattern_without_words_returns_empty_page() throws Exception {
+        mockMvc.perform(get("/v1/offers/search").param("pattern", "&|!:*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void default_request_is_sorted_by_relevance() throws Exception {
+        mockMvc.perform(get("/v1/offers/search")
+                        .param("pattern", "velocipede")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.offers[0].title").value("Antique velocipedes for ladies"));
+    }
+
+    @Test
+    public void results_can_be_sorted_by_offer_column() throws Exception {
+        mockMvc.perform(get("/v1/offers/search")
+                        .param("pattern", "velocipede")
+                        .param("sortBy", "title")
+                        .param("isAsc", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers[0].title").value("Garden bench"))
+                .andExpect(jsonPath("$.offers[1].title").value("Antique velocipedes for ladies"));
+    }
+
+    @Test
+    public void return_400_for_unknown_sort_field() throws Exception {
+        mockMvc.perform(get("/v1/offers/search")
+                        .param("pattern", "velocipede")
+                        .param("sortBy", "title; DROP TABLE offer"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createOffer(Cookie userCookie, String title, String description) throws Exception {
+        mockMvc.perform(post("/v1/offers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                    {
+                                      "title": "%s",
+                                      "description": "%s",
+                                      "auctionDurationDays": 3,
+                                      "startPrice": 100,
+                                      "winBid": 200,
+                                      "isFree": false,
+                                      "categoryId": 2,
+                                      "locationId": 1,
+                                      "sendToVerification": false
+                                    }""", title, description)).cookie(userCookie))
+                .andExpect(status().isCreated());
+    }
+
+    private Cookie login(String email) throws Exception {
+        MvcResult loginResult = mockMvc.perform(post("/v1/auth/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                    {
+                                      "email": "%s",
+                                      "password": "qwerty!123"
+                                    }""", email)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return new Cookie("Access-Token", loginResult.getResponse().getCookie("Access-Token").getValue());
+    }
+}
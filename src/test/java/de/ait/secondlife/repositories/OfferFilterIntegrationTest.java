@@ -0,0 +1,163 @@
+package de.ait.secondlife.repositories;
+
+import de.ait.secondlife.TestUsers;
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.domain.dto.OfferFilterDto;
+import de.ait.secondlife.domain.dto.OfferResponseDto;
+import de.ait.secondlife.domain.entity.Offer;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.services.interfaces.OfferService;
+import de.ait.secondlife.services.interfaces.StatusService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "de.ait.secondlife.repositories.OfferFilterIntegrationTest$RecordingStatementInspector")
+@Transactional
+@Rollback
+@DisplayName("Offer filter tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class OfferFilterIntegrationTest {
+
+    private static final List<String> FILTER_COLUMNS = List.of(
+            "category_id", "status_id", "is_free", "location_id", "start_price", "auction_finished_at");
+
+    @Autowired
+    private OfferService offerService;
+
+    @Autowired
+    private StatusService statusService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    private User owner;
+
+    @BeforeEach
+    public void createOffers() {
+        owner = testUsers.create("test.filter.owner@test.com");
+
+        createOffer("Cheap started", 1L, 1L, OfferStatus.AUCTION_STARTED, false, 10, 2);
+        createOffer("Expensive started", 2L, 1L, OfferStatus.AUCTION_STARTED, false, 500, 72);
+        createOffer("Free started", 2L, 2L, OfferStatus.AUCTION_STARTED, true, 0, 12);
+        createOffer("Expensive draft", 1L, 2L, OfferStatus.DRAFT, false, 300, 72);
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        return Stream.of(
+                Arguments.of(OfferFilterDto.builder().build(),
+                        Set.of(), Set.of("Cheap started", "Expensive started", "Free started", "Expensive draft")),
+                Arguments.of(OfferFilterDto.builder().categoryId(1L).build(),
+                        Set.of("category_id"), Set.of("Cheap started", "Expensive draft")),
+                Arguments.of(OfferFilterDto.builder().status("auction_started").build(),
+                        Set.of("status_id"), Set.of("Cheap started", "Expensive started", "Free started")),
+                Arguments.of(OfferFilterDto.builder().isFree(true).build(),
+                        Set.of("is_free"), Set.of("Free started")),
+                Arguments.of(OfferFilterDto.builder().locationId(2L).status("DRAFT").build(),
+                        Set.of("location_id", "status_id"), Set.of("Expensive draft")),
+                Arguments.of(OfferFilterDto.builder().minPrice(BigDecimal.valueOf(100)).maxPrice(BigDecimal.valueOf(400)).build(),
+                        Set.of("start_price"), Set.of("Expensive draft")),
+                Arguments.of(OfferFilterDto.builder().status("AUCTION_STARTED").endingWithinHours(24).build(),
+                        Set.of("status_id", "auction_finished_at"), Set.of("Cheap started", "Free started")),
+                Arguments.of(OfferFilterDto.builder().categoryId(2L).isFree(false).minPrice(BigDecimal.ONE).build(),
+                        Set.of("category_id", "is_free", "start_price"), Set.of("Expensive started"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    public void query_contains_only_conditions_of_supplied_filters(
+            OfferFilterDto filter,
+            Set<String> expectedColumns,
+            Set<String> expectedTitles) {
+        List<OfferResponseDto> offers = List.copyOf(offerService.findOffersByUserId(
+                owner.getId(), PageRequest.of(0, 10, Sort.by("createdAt")), filter).getOffers());
+
+        assertEquals(expectedTitles, offers.stream().map(OfferResponseDto::getTitle).collect(Collectors.toSet()));
+
+        String where = getOfferQueryConditions();
+        assertFalse(where.contains("status s") || where.contains("join status"), where);
+        assertFalse(where.contains(" is null"), where);
+        Set<String> columns = FILTER_COLUMNS.stream()
+                .filter(where::contains)
+                .collect(Collectors.toSet());
+        assertEquals(expectedColumns, columns, where);
+    }
+
+    private String getOfferQueryConditions() {
+        String sql = RecordingStatementInspector.STATEMENTS.stream()
+                .map(statement -> statement.toLowerCase(Locale.ROOT))
+                .filter(statement -> statement.startsWith("select") && statement.contains(" from offer "))
+                .findFirst()
+                .orElseThrow();
+        int from = sql.indexOf(" from offer ");
+        int orderBy = sql.indexOf(" order by ", from);
+        return sql.substring(from, orderBy < 0 ? sql.length() : orderBy);
+    }
+
+    private void createOffer(
+            String title,
+            Long categoryId,
+            Long locationId,
+            OfferStatus status,
+            boolean isFree,
+            int startPrice,
+            int hoursLeft) {
+        Offer offer = Offer.builder()
+                .title(title)
+                .description("Test description")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .auctionDurationDays(3)
+                .auctionFinishedAt(LocalDateTime.now().plusHours(hoursLeft))
+                .startPrice(BigDecimal.valueOf(startPrice))
+                .isFree(isFree)
+                .user(owner)
+                .status(statusService.getByOfferStatus(status))
+                .category(categoryRepository.findById(categoryId).orElseThrow())
+                .location(locationRepository.findById(locationId).orElseThrow())
+                .build();
+        offerRepository.save(offer);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package de.ait.secondlife.repositories;
+
+import de.ait.secondlife.constants.OfferStatus;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static de.ait.secondlife.repositories.specifications.OfferSpecifications.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the statements the repositories really send, with the values bound to them,
+ * and checks that the planner chooses the index created for each query. The tables are seeded
+ * with offers spread over all statuses, categories, locations and users, with their bids,
+ * participations and notifications, and analyzed, so the plans are built from realistic statistics.
+ */
+@SpringBootTest
+@Transactional
+@Rollback
+@DisplayName("Repository query plan tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class QueryPlanIntegrationTest {
+
+    private static final int SEEDED_OFFERS_COUNT = 20000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("createdAt", "id"));
+
+    @TestConfiguration
+    static class SqlRecorderConfig {
+
+        @Bean
+        public static SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Long startedStatusId;
+    private Long categoryId;
+    private Long userId;
+    private Long offerId;
+
+    private static String nth(String table) {
+        return "(SELECT id FROM " + table + " ORDER BY id OFFSET n % (SELECT count(*) FROM " + table + ") LIMIT 1)";
+    }
+
+    @BeforeEach
+    public void seedTables() {
+        jdbcTemplate.update("INSERT INTO offer (user_id, title, description, created_at, updated_at, " +
+                "auction_duration_days, auction_finished_at, start_price, win_bid, is_free, status_id, category_id, location_id) " +
+                "SELECT " + nth("\"user\"") + ", 'Seeded offer item' || n % 100, 'Seeded description', " +
+                "LOCALTIMESTAMP - n * INTERVAL '1 minute', LOCALTIMESTAMP, 3, " +
+                "LOCALTIMESTAMP + (n % 100 - 50) * INTERVAL '1 hour', 10 + n % 90, 200, n % 20 = 0, " +
+                nth("status") + ", " + nth("category") + ", " + nth("location") + " " +
+                "FROM generate_series(1, ?) n", SEEDED_OFFERS_COUNT);
+        jdbcTemplate.update("UPDATE offer SET search_vector = " + OfferRepository.SEARCH_VECTOR +
+                " WHERE title LIKE 'Seeded offer %'");
+        jdbcTemplate.update("INSERT INTO bid (user_id, offer_id, bid_value, created_at) " +
+                "SELECT (SELECT id FROM \"user\" ORDER BY id OFFSET (o.id + n) % (SELECT count(*) FROM \"user\") LIMIT 1), " +
+                "o.id, 10 + n, LOCALTIMESTAMP " +
+                "FROM offer o CROSS JOIN generate_series(1, 3) n WHERE o.title LIKE 'Seeded offer %'");
+        jdbcTemplate.update("INSERT INTO offer_participation (user_id, offer_id, created_at) " +
+                "SELECT DISTINCT user_id, offer_id, LOCALTIMESTAMP FROM bid ON CONFLICT DO NOTHING");
+        jdbcTemplate.update("INSERT INTO notification (authenticated_user_id, receiver_role, notification_type, created_at, sent_at) " +
+                "SELECT " + nth("\"user\"") + ", 'ROLE_USER', 'SEEDED', LOCALTIMESTAMP, " +
+                "CASE WHEN n % 50 = 0 THEN NULL ELSE LOCALTIMESTAMP END " +
+                "FROM generate_series(1, ?) n", SEEDED_OFFERS_COUNT);
+        jdbcTemplate.execute("ANALYZE offer, bid, offer_participation, notification");
+
+        startedStatusId = jdbcTemplate.queryForObject(
+                "SELECT id FROM status WHERE name = ?", Long.class, OfferStatus.AUCTION_STARTED.name());
+        categoryId = jdbcTemplate.queryForObject("SELECT min(id) FROM category", Long.class);
+        userId = jdbcTemplate.queryForObject("SELECT min(id) FROM \"user\"", Long.class);
+        offerId = jdbcTemplate.queryForObject("SELECT max(id) FROM offer", Long.class);
+    }
+
+    /**
+     * Records the first statement sent by the repository call, which is the query itself and not
+     * the count query of a page, and checks that its plan uses one of the given indexes.
+     */
+    private void assertUsesIndex(Supplier<?> repositoryCall, String... indexNames) {
+        List<SqlRecorder.RecordedStatement> statements = sqlRecorder.record(repositoryCall);
+        assertFalse(statements.isEmpty(), "No statement was sent");
+        SqlRecorder.RecordedStatement statement = statements.get(0);
+
+        List<String> plan = jdbcTemplate.query("EXPLAIN " + statement.getSql(), statement::bind,
+                (row, rowNumber) -> row.getString(1));
+
+        Pattern indexes = Pattern.compile("\\b(" + String.join("|", indexNames) + ")\\b");
+        assertTrue(plan.stream().anyMatch(line -> indexes.matcher(line).find()),
+                () -> "Plan of " + statement.getSql() + " uses none of " + List.of(indexNames) + ":\n"
+                        + String.join("\n", plan));
+    }
+
+    @Test
+    public void offers_are_listed_by_creation_index() {
+        assertUsesIndex(() -> offerRepository.findAll(FIRST_PAGE), "idx_offer_created_at");
+    }
+
+    @Test
+    public void offers_with_status_are_listed_by_status_index() {
+        assertUsesIndex(() -> offerRepository.findAll(hasStatus(startedStatusId), FIRST_PAGE),
+                "idx_offer_status_created_at");
+    }
+
+    @Test
+    public void offers_with_status_and_price_are_listed_by_status_index() {
+        assertUsesIndex(() -> offerRepository.findAll(hasStatus(startedStatusId)
+                        .and(startPriceFrom(BigDecimal.valueOf(20)))
+                        .and(startPriceTo(BigDecimal.valueOf(50))), FIRST_PAGE),
+                "idx_offer_status_created_at");
+    }
+
+    @Test
+    public void offers_of_category_are_listed_by_category_index() {
+        assertUsesIndex(() -> offerRepository.findAll(hasCategory(categoryId), FIRST_PAGE),
+                "idx_offer_category_created_at");
+    }
+
+    @Test
+    public void offers_of_user_are_listed_by_owner_index() {
+        assertUsesIndex(() -> offerRepository.findAll(hasOwner(userId), FIRST_PAGE),
+                "idx_offer_user_created_at");
+    }
+
+    @Test
+    public void free_offers_are_listed_by_partial_index() {
+        assertUsesIndex(() -> offerRepository.findAll(isFree(true), FIRST_PAGE),
+                "idx_offer_free_created_at");
+    }
+
+    @Test
+    public void participations_are_looked_up_by_primary_key() {
+        assertUsesIndex(() -> offerRepository.findAll(hasParticipant(userId), FIRST_PAGE),
+                "pk_offer_participation");
+    }
+
+    @Test
+    public void finished_auctions_are_found_by_status_index() {
+        LocalDateTime now = LocalDateTime.now();
+        assertUsesIndex(() -> offerRepository.findFinishedAuctionIds(
+                        now, OfferStatus.AUCTION_STARTED, 0L, PageRequest.of(0, 100)),
+                "idx_offer_status_auction_finished_at", "idx_offer_status_id");
+        assertUsesIndex(() -> offerRepository.countFinishedAuctions(now, OfferStatus.AUCTION_STARTED),
+                "idx_offer_status_auction_finished_at");
+    }
+
+    @Test
+    public void auction_expiries_are_found_by_status_index() {
+        assertUsesIndex(() -> offerRepository.findAuctionExpiries(OfferStatus.AUCTION_STARTED),
+                "idx_offer_status_auction_finished_at", "idx_offer_status_id");
+    }
+
+    @Test
+    public void search_documents_are_read_by_status_index() {
+        assertUsesIndex(() -> offerRepository.findSearchDocuments(
+                        OfferStatus.AUCTION_STARTED, 0L, PageRequest.of(0, 1000)),
+                "idx_offer_status_id");
+    }
+
+    @Test
+    public void full_text_search_uses_search_vector_index() {
+        assertUsesIndex(() -> offerRepository.searchAll(OfferStatus.AUCTION_STARTED.name(), null, "item42",
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "relevance"))),
+                "idx_offer_search_vector");
+    }
+
+    @Test
+    public void bids_of_user_on_offer_are_found_by_bid_index() {
+        assertUsesIndex(() -> bidRepository.existsByOfferIdAndUserId(offerId, userId),
+                "idx_bid_offer_user", "idx_bid_user_offer");
+        assertUsesIndex(() -> bidRepository.summarizeByOfferIdsAndUserId(
+                        List.of(offerId, offerId - 1, offerId - 2), userId),
+                "idx_bid_offer_user", "idx_bid_user_offer");
+    }
+
+    @Test
+    public void pending_notifications_are_found_by_partial_index() {
+        assertUsesIndex(() -> notificationRepository.findPendingForUpdate(LocalDateTime.now(), 100),
+                "idx_notification_pending");
+    }
+}
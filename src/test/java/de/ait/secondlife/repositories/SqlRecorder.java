@@ -0,0 +1,142 @@
+package de.ait.secondlife.repositories;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the data source and records the statements prepared by the application together with
+ * the parameters bound to them, so tests can inspect the SQL which is really generated for
+ * repository methods and run it again with the same values.
+ */
+public class SqlRecorder implements BeanPostProcessor {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    /**
+     * Runs the action and returns the statements it has prepared, in the order of preparation.
+     *
+     * @param action action sending queries to the database
+     * @return recorded statements
+     */
+    public List<RecordedStatement> record(Supplier<?> action) {
+        statements.clear();
+        recording = true;
+        try {
+            action.get();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? recordingConnection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection recordingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (recording && method.getName().equals("prepareStatement")
+                    && result instanceof PreparedStatement statement && args[0] instanceof String sql) {
+                RecordedStatement recorded = new RecordedStatement(sql);
+                statements.add(recorded);
+                return recordingStatement(statement, recorded);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recordingStatement(PreparedStatement statement, RecordedStatement recorded) {
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                recorded.bindings.add(new Binding(method, args));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> invocation.invoke(method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Invocation {
+
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    public static final class RecordedStatement {
+
+        private final String sql;
+        private final List<Binding> bindings = new ArrayList<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Binds the recorded parameter values to another statement with the same parameters.
+         *
+         * @param statement statement to bind the values to
+         * @throws SQLException if a value cannot be bound
+         */
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(statement, binding.args());
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof SQLException sqlException
+                            ? sqlException
+                            : new SQLException(e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new SQLException(e);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package de.ait.secondlife.scheduler;
+
+import de.ait.secondlife.security.services.RefreshTokenStore;
+import de.ait.secondlife.services.interfaces.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Scheduled job lease checks:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class SchedulerLeaseTest {
+
+    private JobLeaseService leaseHeldElsewhere;
+    private JobLeaseService leaseHolder;
+
+    @BeforeEach
+    public void createLeases() {
+        leaseHeldElsewhere = mock(JobLeaseService.class);
+        when(leaseHeldElsewhere.acquire(anyString(), any(Duration.class))).thenReturn(false);
+        leaseHolder = mock(JobLeaseService.class);
+        when(leaseHolder.acquire(anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    public void storage_cleaner_runs_only_with_lease() {
+        ImageService imageService = mock(ImageService.class);
+
+        new StorageCleaner(imageService, leaseHeldElsewhere).clean();
+        verifyNoInteractions(imageService);
+
+        new StorageCleaner(imageService, leaseHolder).clean();
+        verify(imageService).deleteUnattachedImages();
+        verify(imageService).deleteLegacyImageFiles();
+    }
+
+    @Test
+    public void image_path_migrator_runs_only_with_lease() {
+        ImageService imageService = mock(ImageService.class);
+
+        new ImagePathMigrator(imageService, leaseHeldElsewhere).migrate();
+        verifyNoInteractions(imageService);
+
+        new ImagePathMigrator(imageService, leaseHolder).migrate();
+        verify(imageService).migrateImagePaths(eq(0L), anyInt());
+    }
+
+    @Test
+    public void email_sender_runs_only_with_lease() {
+        EmailService emailService = mock(EmailService.class);
+
+        new EmailSender(emailService, leaseHeldElsewhere).sendEmail();
+        verifyNoInteractions(emailService);
+
+        new EmailSender(emailService, leaseHolder).sendEmail();
+        verify(emailService).sendPendingEmails();
+    }
+
+    @Test
+    public void confirmation_code_cleaner_runs_only_with_lease() {
+        ConfirmationService confirmationService = mock(ConfirmationService.class);
+
+        new ConfirmationCodeCleaner(confirmationService, leaseHeldElsewhere).clean();
+        verifyNoInteractions(confirmationService);
+
+        new ConfirmationCodeCleaner(confirmationService, leaseHolder).clean();
+        verify(confirmationService).deleteAllExpired();
+    }
+
+    @Test
+    public void refresh_token_cleaner_runs_only_with_lease() {
+        RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+
+        new RefreshTokenCleaner(refreshTokenStore, leaseHeldElsewhere).clean();
+        verifyNoInteractions(refreshTokenStore);
+
+        new RefreshTokenCleaner(refreshTokenStore, leaseHolder).clean();
+        verify(refreshTokenStore).deleteAllExpired();
+    }
+
+    @Test
+    public void auction_finisher_skips_scheduled_run_without_lease() {
+        OfferService offerService = mock(OfferService.class);
+
+        new AuctionFinisher(offerService, new SimpleMeterRegistry(), leaseHeldElsewhere)
+                .finishAuctionOnLeaseHolder();
+
+        verifyNoInteractions(offerService);
+    }
+}
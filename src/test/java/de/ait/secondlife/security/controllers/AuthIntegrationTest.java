@@ -3,6 +3,8 @@ package de.ait.secondlife.security.controllers;
 import com.jayway.jsonpath.JsonPath;
 import de.ait.secondlife.domain.entity.User;
 import de.ait.secondlife.repositories.UserRepository;
+import de.ait.secondlife.security.filters.TokenFilter;
+import de.ait.secondlife.security.services.TokenService;
 import de.ait.secondlife.services.interfaces.UserService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.Cookie;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -36,6 +39,9 @@ class AuthIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenService tokenService;
+
     @BeforeEach
     public void createUser() throws Exception {
         mockMvc.perform(post("/v1/users/register")
@@ -168,6 +174,44 @@ class AuthIntegrationTest {
         assertNotNull(accessResponse.getCookie("Access-Token").getValue());
     }
 
+    @Test
+    public void return_400_for_reusing_rotated_user_refresh_token() throws Exception {
+        MvcResult loginResult = mockMvc.perform(post("/v1/auth/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "test.user@test.com",
+                                  "password": "qwerty!123"
+                                }"""))
+                .andExpect(status().isOk())
+                .andReturn();
+        String refreshToken = JsonPath.parse(loginResult.getResponse().getContentAsString()).read("$.refreshToken");
+
+        MvcResult accessResult = mockMvc.perform(post("/v1/auth/user/access")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\n" +
+                                "  \"refreshToken\": \"" + refreshToken + "\"\n" +
+                                "}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String rotatedRefreshToken = JsonPath.parse(accessResult.getResponse().getContentAsString()).read("$.refreshToken");
+        assertNotEquals(refreshToken, rotatedRefreshToken);
+
+        mockMvc.perform(post("/v1/auth/user/access")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\n" +
+                                "  \"refreshToken\": \"" + refreshToken + "\"\n" +
+                                "}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/v1/auth/user/access")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\n" +
+                                "  \"refreshToken\": \"" + rotatedRefreshToken + "\"\n" +
+                                "}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void return_400_for_refreshing_with_invalid_user_refresh_token() throws Exception {
         mockMvc.perform(post("/v1/auth/user/access")
@@ -239,4 +283,15 @@ class AuthIntegrationTest {
                                 "}"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void return_403_for_access_token_of_inactive_user() throws Exception {
+        User user = userRepository.findByEmail("test.user@test.com");
+        user.setActive(false);
+        String accessToken = tokenService.generateAccessToken(user);
+
+        mockMvc.perform(get("/v1/users/me")
+                        .cookie(new Cookie(TokenFilter.COOKIE_ACCESS_TOKEN_NAME, accessToken)))
+                .andExpect(status().isForbidden());
+    }
+}
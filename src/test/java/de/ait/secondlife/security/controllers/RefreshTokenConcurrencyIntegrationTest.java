@@ -0,0 +1,134 @@
+package de.ait.secondlife.security.controllers;
+
+import de.ait.secondlife.TestUsers;
+import de.ait.secondlife.domain.entity.User;
+import de.ait.secondlife.repositories.UserRepository;
+import de.ait.secondlife.security.Role;
+import de.ait.secondlife.security.dto.AuthDto;
+import de.ait.secondlife.security.dto.TokenResponseDto;
+import de.ait.secondlife.security.services.AuthService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.security.auth.login.LoginException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Concurrent refresh token tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class RefreshTokenConcurrencyIntegrationTest {
+
+    private static final int USERS_COUNT = 8;
+    private static final int REFRESHES_PER_USER = 20;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    public void createUsers() {
+        for (int i = 0; i < USERS_COUNT; i++) {
+            users.add(testUsers.create("test.token.user" + i + "@test.com"));
+        }
+    }
+
+    @AfterEach
+    public void deleteUsers() {
+        jdbcTemplate.update("DELETE FROM refresh_token WHERE subject LIKE ?", "%:test.token.user%");
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    @Test
+    public void concurrent_login_refresh_and_logout_sessions_stay_consistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> results = new ArrayList<>();
+        for (User user : users) {
+            results.add(executor.submit(() -> {
+                start.await();
+                TokenResponseDto tokens = authService.login(Role.ROLE_USER, getAuthDto(user));
+                String previousRefreshToken = null;
+                for (int i = 0; i < REFRESHES_PER_USER; i++) {
+                    previousRefreshToken = tokens.getRefreshToken();
+                    tokens = authService.getAccessToken(Role.ROLE_USER, previousRefreshToken);
+                    assertNotEquals(previousRefreshToken, tokens.getRefreshToken());
+                }
+
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.addHeader("Authorization", "Bearer " + tokens.getAccessToken());
+                authService.logout(request, Role.ROLE_USER);
+
+                String lastRefreshToken = tokens.getRefreshToken();
+                assertThrows(LoginException.class, () -> authService.getAccessToken(Role.ROLE_USER, lastRefreshToken));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Integer storedTokens = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_token WHERE subject LIKE ?", Integer.class, "%:test.token.user%");
+        assertEquals(0, storedTokens);
+    }
+
+    @Test
+    public void concurrent_refreshes_with_same_token_are_accepted_once() throws Exception {
+        User user = users.get(0);
+        String refreshToken = authService.login(Role.ROLE_USER, getAuthDto(user)).getRefreshToken();
+
+        ExecutorService executor = Executors.newFixedThreadPool(USERS_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acceptedCount = new AtomicInteger();
+
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < USERS_COUNT; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    authService.getAccessToken(Role.ROLE_USER, refreshToken);
+                    acceptedCount.incrementAndGet();
+                } catch (LoginException e) {
+                    // rejected as a reuse of the rotated token
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(1, acceptedCount.get());
+    }
+
+    private AuthDto getAuthDto(User user) {
+        AuthDto authDto = new AuthDto();
+        authDto.setEmail(user.getEmail());
+        authDto.setPassword(TestUsers.PASSWORD);
+        return authDto;
+    }
+}
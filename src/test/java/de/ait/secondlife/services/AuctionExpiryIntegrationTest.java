@@ -0,0 +1,115 @@
+package de.ait.secondlife.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.repositories.OfferRepository;
+import de.ait.secondlife.services.interfaces.AuctionExpiryService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Auction deadline tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class AuctionExpiryIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private AuctionExpiryService auctionExpiryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long offerId;
+
+    private Cookie login(String path, String email) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                  "email": "%s",
+                                  "password": "Security!234"
+                                }""", email)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return new Cookie("Access-Token", result.getResponse().getCookie("Access-Token").getValue());
+    }
+
+    @BeforeEach
+    public void startAuction() throws Exception {
+        MvcResult creatingResult = mockMvc.perform(post("/v1/offers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "Offer with deadline",
+                                  "description": "Auction is finished at its deadline",
+                                  "auctionDurationDays": 3,
+                                  "startPrice": 100,
+                                  "winBid": 200,
+                                  "isFree": false,
+                                  "categoryId": 2,
+                                  "locationId": 1,
+                                  "sendToVerification": true
+                                }""")
+                        .cookie(login("/v1/auth/user/login", "barak.obama@email.com")))
+                .andExpect(status().isCreated())
+                .andReturn();
+        offerId = mapper.readTree(creatingResult.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(patch("/v1/offers/" + offerId + "/start-auction")
+                        .cookie(login("/v1/auth/admin/login", "admin@second-life.space")))
+                .andExpect(status().isOk());
+    }
+
+    @AfterEach
+    public void deleteOffer() {
+        jdbcTemplate.update("DELETE FROM offer_participation WHERE offer_id = ?", offerId);
+        jdbcTemplate.update("DELETE FROM offer_status_history WHERE offer_id = ?", offerId);
+        jdbcTemplate.update("DELETE FROM offer WHERE id = ?", offerId);
+    }
+
+    private String getStatus() {
+        return jdbcTemplate.queryForObject(
+                "SELECT s.name FROM offer o JOIN status s ON s.id = o.status_id WHERE o.id = ?",
+                String.class, offerId);
+    }
+
+    @Test
+    public void auction_is_finished_when_its_deadline_is_reached() throws Exception {
+        assertEquals(OfferStatus.AUCTION_STARTED.name(), getStatus());
+
+        jdbcTemplate.update("UPDATE offer SET auction_finished_at = LOCALTIMESTAMP + INTERVAL '1 second' WHERE id = ?",
+                offerId);
+        auctionExpiryService.register(offerRepository.findById(offerId).orElseThrow());
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (getStatus().equals(OfferStatus.AUCTION_STARTED.name()) && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(OfferStatus.COMPLETED.name(), getStatus());
+    }
+}
@@ -0,0 +1,110 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.constants.OfferStatus;
+import de.ait.secondlife.scheduler.AuctionFinisher;
+import de.ait.secondlife.services.interfaces.OfferService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(properties = "auction.finisher.chunk-size=2")
+@DisplayName("Auction finisher tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class AuctionFinisherIntegrationTest {
+
+    private static final int EXPIRED_OFFERS_COUNT = 5;
+
+    @Autowired
+    private AuctionFinisher auctionFinisher;
+
+    @SpyBean
+    private OfferService offerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> offerIds;
+
+    @BeforeEach
+    public void createExpiredOffers() {
+        offerIds = jdbcTemplate.queryForList("INSERT INTO offer (user_id, title, description, created_at, " +
+                        "updated_at, auction_duration_days, auction_finished_at, start_price, win_bid, is_free, " +
+                        "status_id, category_id, location_id) " +
+                        "SELECT (SELECT min(id) FROM \"user\"), 'Expired offer ' || n, 'Expired auction', " +
+                        "LOCALTIMESTAMP, LOCALTIMESTAMP, 3, LOCALTIMESTAMP - INTERVAL '1 minute', 100, 200, false, " +
+                        "(SELECT id FROM status WHERE name = ?), (SELECT min(id) FROM category), " +
+                        "(SELECT min(id) FROM location) " +
+                        "FROM generate_series(1, ?) n RETURNING id",
+                Long.class, OfferStatus.AUCTION_STARTED.name(), EXPIRED_OFFERS_COUNT);
+    }
+
+    @AfterEach
+    public void deleteOffers() {
+        offerIds.forEach(offerId -> {
+            jdbcTemplate.update("DELETE FROM offer_status_history WHERE offer_id = ?", offerId);
+            jdbcTemplate.update("DELETE FROM offer WHERE id = ?", offerId);
+        });
+    }
+
+    private String getStatus(Long offerId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT s.name FROM offer o JOIN status s ON s.id = o.status_id WHERE o.id = ?",
+                String.class, offerId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> getFailedAttempts() {
+        return (Map<Long, ?>) ReflectionTestUtils.getField(auctionFinisher, "failedAttempts");
+    }
+
+    @Test
+    public void expired_auctions_are_read_in_chunks_and_finished() {
+        auctionFinisher.finishAuction();
+
+        verify(offerService, atLeast(EXPIRED_OFFERS_COUNT / 2 + 1)).findUnfinishedAuctionIds(anyLong(), eq(2));
+        offerIds.forEach(offerId -> assertEquals(OfferStatus.COMPLETED.name(), getStatus(offerId)));
+    }
+
+    @Test
+    public void failing_offer_does_not_stop_the_others() {
+        Long failingOfferId = offerIds.get(2);
+        doThrow(new IllegalStateException("Offer cannot be finished"))
+                .when(offerService).finishExpiredAuction(failingOfferId);
+
+        auctionFinisher.finishAuction();
+
+        assertEquals(OfferStatus.AUCTION_STARTED.name(), getStatus(failingOfferId));
+        offerIds.stream()
+                .filter(offerId -> !offerId.equals(failingOfferId))
+                .forEach(offerId -> assertEquals(OfferStatus.COMPLETED.name(), getStatus(offerId)));
+        assertTrue(getFailedAttempts().containsKey(failingOfferId));
+    }
+
+    @Test
+    public void retry_record_is_dropped_when_offer_is_no_longer_expired() {
+        Long failingOfferId = offerIds.get(0);
+        doThrow(new IllegalStateException("Offer cannot be finished"))
+                .when(offerService).finishExpiredAuction(failingOfferId);
+        auctionFinisher.finishAuction();
+        assertTrue(getFailedAttempts().containsKey(failingOfferId));
+
+        jdbcTemplate.update("UPDATE offer SET status_id = (SELECT id FROM status WHERE name = ?) WHERE id = ?",
+                OfferStatus.CANCELED.name(), failingOfferId);
+        auctionFinisher.finishAuction();
+
+        assertFalse(getFailedAttempts().containsKey(failingOfferId));
+    }
+}
@@ -0,0 +1,205 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.constants.ImageConstants;
+import de.ait.secondlife.domain.entity.ImageEntity;
+import de.ait.secondlife.repositories.ImageRepository;
+import de.ait.secondlife.scheduler.ImagePathMigrator;
+import de.ait.secondlife.services.interfaces.ImageService;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "image.path-migration.max-attempts=" + ImagePathMigrationIntegrationTest.MAX_ATTEMPTS)
+@DisplayName("Image storage key tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class ImagePathMigrationIntegrationTest implements ImageConstants {
+
+    static final int MAX_ATTEMPTS = 2;
+    private static final String SIZE = "320x320";
+
+    @TestConfiguration
+    static class LocalS3Config {
+
+        @Bean
+        @Primary
+        public LocalS3 localS3() {
+            return new LocalS3();
+        }
+    }
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private JobLeaseService leaseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocalS3 s3;
+
+    @Value("${do.buket.name}")
+    private String bucketName;
+
+    @Value("${do.dir.prefix}")
+    private String dirPrefix;
+
+    @Value("${do.base.path}")
+    private String basePath;
+
+    private final List<String> baseNames = new ArrayList<>();
+    private Long offerId;
+
+    @BeforeEach
+    public void setUp() {
+        s3.reset(Duration.ZERO);
+        offerId = jdbcTemplate.queryForObject("SELECT min(id) FROM offer", Long.class);
+    }
+
+    @AfterEach
+    public void deleteImages() {
+        baseNames.forEach(baseName -> jdbcTemplate.update("DELETE FROM image WHERE base_name = ?", baseName));
+        baseNames.clear();
+        leaseService.releaseAll();
+    }
+
+    private String getImageKey(String baseName) {
+        return dirPrefix + "/" + IMAGE_DIR + "/" + baseName + "/" + SIZE + "_" + baseName + "." + IMAGE;
+    }
+
+    private String getLegacyKey(String baseName) {
+        return dirPrefix + "/offer/" + offerId + "/" + SIZE + "_" + baseName + "." + IMAGE;
+    }
+
+    private ImageEntity saveImage(Long entityId, String key) {
+        String baseName = UUID.randomUUID().toString();
+        baseNames.add(baseName);
+        return imageRepository.save(ImageEntity.builder()
+                .entityId(entityId)
+                .entityType("offer")
+                .size(SIZE)
+                .baseName(baseName)
+                .fullPath(basePath + key.replace("{baseName}", baseName))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private ImageEntity saveLegacyImage() {
+        ImageEntity image = saveImage(offerId, getLegacyKey("{baseName}"));
+        s3.putObject(bucketName, getLegacyKey(image.getBaseName()), "image");
+        return image;
+    }
+
+    private ImageEntity reload(ImageEntity image) {
+        return imageRepository.findById(image.getId()).orElseThrow();
+    }
+
+    private ImagePathMigrator createMigrator(int batchSize, long lastId) {
+        ImagePathMigrator migrator = new ImagePathMigrator(imageService, leaseService);
+        ReflectionTestUtils.setField(migrator, "batchSize", batchSize);
+        ReflectionTestUtils.setField(migrator, "lastId", lastId);
+        return migrator;
+    }
+
+    private void migrateUntilFinished(ImagePathMigrator migrator) {
+        for (int run = 0; run < 100 && !(boolean) ReflectionTestUtils.getField(migrator, "finished"); run++) {
+            migrator.migrate();
+        }
+    }
+
+    @Test
+    public void attaching_uploaded_image_sends_no_storage_requests() {
+        ImageEntity image = saveImage(null, getImageKey("{baseName}"));
+        int requests = s3.getRequests();
+
+        imageService.connectTempImagesToEntity(Set.of(image.getBaseName()), "offer", offerId);
+
+        assertEquals(requests, s3.getRequests());
+        assertEquals(offerId, reload(image).getEntityId());
+        assertEquals(image.getFullPath(), reload(image).getFullPath());
+    }
+
+    @Test
+    public void legacy_image_is_copied_to_key_derived_from_base_name() {
+        ImageEntity image = saveLegacyImage();
+
+        imageService.migrateImagePaths(image.getId() - 1, 10);
+
+        ImageEntity migrated = reload(image);
+        assertEquals(basePath + getImageKey(image.getBaseName()), migrated.getFullPath());
+        assertEquals(getLegacyKey(image.getBaseName()), migrated.getLegacyKey());
+        assertNotNull(migrated.getMigratedAt());
+        assertTrue(s3.doesObjectExist(bucketName, getImageKey(image.getBaseName())));
+        assertTrue(s3.doesObjectExist(bucketName, getLegacyKey(image.getBaseName())));
+    }
+
+    @Test
+    public void migrator_retries_images_which_could_not_be_copied() {
+        ImageEntity failing = saveImage(offerId, getLegacyKey("{baseName}"));
+        ImageEntity image = saveLegacyImage();
+        ImagePathMigrator migrator = createMigrator(1, failing.getId() - 1);
+
+        migrator.migrate();
+        migrator.migrate();
+        assertNull(reload(failing).getMigratedAt());
+        assertEquals(1, reload(failing).getMigrationAttempts());
+        assertNotNull(reload(image).getMigratedAt());
+
+        s3.putObject(bucketName, getLegacyKey(failing.getBaseName()), "image");
+        migrateUntilFinished(migrator);
+
+        assertEquals(basePath + getImageKey(failing.getBaseName()), reload(failing).getFullPath());
+        assertTrue(s3.doesObjectExist(bucketName, getImageKey(failing.getBaseName())));
+    }
+
+    @Test
+    public void migration_finishes_when_image_cannot_be_copied_within_max_attempts() {
+        ImageEntity failing = saveImage(offerId, getLegacyKey("{baseName}"));
+        ImagePathMigrator migrator = createMigrator(100, failing.getId() - 1);
+
+        migrateUntilFinished(migrator);
+
+        assertTrue((boolean) ReflectionTestUtils.getField(migrator, "finished"));
+        ImageEntity skipped = reload(failing);
+        assertEquals(MAX_ATTEMPTS, skipped.getMigrationAttempts());
+        assertNull(skipped.getMigratedAt());
+        assertEquals(basePath + getLegacyKey(failing.getBaseName()), skipped.getFullPath());
+    }
+
+    @Test
+    public void legacy_files_are_deleted_after_retention_period() {
+        ImageEntity expired = saveLegacyImage();
+        ImageEntity retained = saveLegacyImage();
+        imageService.migrateImagePaths(expired.getId() - 1, 10);
+        jdbcTemplate.update("UPDATE image SET migrated_at = LOCALTIMESTAMP - INTERVAL '1 year' WHERE id = ?",
+                expired.getId());
+
+        imageService.deleteLegacyImageFiles();
+
+        assertNull(reload(expired).getLegacyKey());
+        assertFalse(s3.doesObjectExist(bucketName, getLegacyKey(expired.getBaseName())));
+        assertTrue(s3.doesObjectExist(bucketName, getImageKey(expired.getBaseName())));
+        assertEquals(getLegacyKey(retained.getBaseName()), reload(retained).getLegacyKey());
+        assertTrue(s3.doesObjectExist(bucketName, getLegacyKey(retained.getBaseName())));
+    }
+}
@@ -0,0 +1,253 @@
+package de.ait.secondlife.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.secondlife.constants.ImageConstants;
+import de.ait.secondlife.constants.ImageProcessingState;
+import de.ait.secondlife.domain.entity.ImageProcessing;
+import de.ait.secondlife.repositories.ImageProcessingRepository;
+import de.ait.secondlife.repositories.ImageRepository;
+import de.ait.secondlife.services.interfaces.ImageService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.ResourceUtils;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "image.processing.max-pending=3")
+@DisplayName("Asynchronous image processing tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class ImageProcessingIntegrationTest implements ImageConstants {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @TestConfiguration
+    static class LocalS3Config {
+
+        @Bean
+        @Primary
+        public LocalS3 localS3() {
+            return new LocalS3();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageProcessingRepository processingRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocalS3 s3;
+
+    @Value("${do.buket.name}")
+    private String bucketName;
+
+    private final List<String> baseNames = new ArrayList<>();
+    private final List<Long> offerIds = new ArrayList<>();
+    private Cookie userCookie;
+
+    @BeforeEach
+    public void login() throws Exception {
+        s3.reset(Duration.ZERO);
+        MvcResult loginResult = mockMvc.perform(post("/v1/auth/user/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "barak.obama@email.com",
+                                  "password": "Security!234"
+                                }"""))
+                .andExpect(status().isOk())
+                .andReturn();
+        userCookie = new Cookie("Access-Token", loginResult.getResponse().getCookie("Access-Token").getValue());
+    }
+
+    @AfterEach
+    public void deleteImages() {
+        baseNames.forEach(baseName -> {
+            jdbcTemplate.update("DELETE FROM image WHERE base_name = ?", baseName);
+            jdbcTemplate.update("DELETE FROM image_processing WHERE base_name = ?", baseName);
+        });
+        baseNames.clear();
+        offerIds.forEach(offerId -> {
+            jdbcTemplate.update("DELETE FROM offer_status_history WHERE offer_id = ?", offerId);
+            jdbcTemplate.update("DELETE FROM offer WHERE id = ?", offerId);
+        });
+        offerIds.clear();
+    }
+
+    private MockMultipartFile getTestFile() throws Exception {
+        return new MockMultipartFile(
+                "file",
+                "testImg.jpeg",
+                MediaType.IMAGE_JPEG_VALUE,
+                Files.readAllBytes(ResourceUtils.getFile("classpath:test_image/testImg.jpeg").toPath()));
+    }
+
+    private String uploadAsync() throws Exception {
+        MvcResult result = mockMvc.perform(multipart("/v1/images/async")
+                        .file(getTestFile())
+                        .param("entityType", "offer")
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .cookie(userCookie))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value(ImageProcessingState.PROCESSING.name()))
+                .andReturn();
+        String baseName = mapper.readTree(result.getResponse().getContentAsString()).get("baseName").asText();
+        baseNames.add(baseName);
+        return baseName;
+    }
+
+    private <T> T await(Supplier<Optional<T>> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<T> result = condition.get();
+            if (result.isPresent()) return result.get();
+            Thread.sleep(50);
+        }
+        return fail("Condition was not met within " + TIMEOUT);
+    }
+
+    private ImageProcessing awaitState(String baseName, ImageProcessingState state) throws InterruptedException {
+        return await(() -> processingRepository.findByBaseName(baseName)
+                .filter(processing -> processing.getState() == state));
+    }
+
+    @Test
+    public void uploaded_image_is_processed_in_background() throws Exception {
+        String baseName = uploadAsync();
+
+        awaitState(baseName, ImageProcessingState.DONE);
+
+        mockMvc.perform(get("/v1/images/{base-name}/state", baseName).cookie(userCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value(ImageProcessingState.DONE.name()))
+                .andExpect(jsonPath("$.images.values['" + baseName + "']['320x320']").exists());
+        assertEquals(3, imageRepository.findAllByBaseName(baseName).size());
+        assertFalse(s3.doesObjectExist(bucketName, ORIGINAL_IMAGE_DIR + "/" + baseName));
+    }
+
+    @Test
+    public void failed_attempt_is_retried_with_backoff() throws Exception {
+        s3.failNextReads(1);
+        LocalDateTime uploadedAt = LocalDateTime.now();
+        String baseName = uploadAsync();
+
+        ImageProcessing failed = await(() -> processingRepository.findByBaseName(baseName)
+                .filter(processing -> processing.getLastError() != null));
+        assertEquals(ImageProcessingState.PROCESSING, failed.getState());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(uploadedAt.plusSeconds(25)));
+        assertTrue(imageRepository.findAllByBaseName(baseName).isEmpty());
+
+        jdbcTemplate.update("UPDATE image_processing SET next_attempt_at = LOCALTIMESTAMP WHERE base_name = ?",
+                baseName);
+        imageService.processPendingImages();
+
+        ImageProcessing done = awaitState(baseName, ImageProcessingState.DONE);
+        assertEquals(2, done.getAttempts());
+        assertEquals(3, imageRepository.findAllByBaseName(baseName).size());
+    }
+
+    @Test
+    public void image_attached_while_processing_is_saved_with_the_entity() throws Exception {
+        s3.failNextReads(1);
+        String baseName = uploadAsync();
+        await(() -> processingRepository.findByBaseName(baseName)
+                .filter(processing -> processing.getLastError() != null));
+
+        MvcResult creatingOffer = mockMvc.perform(post("/v1/offers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("""
+                                {
+                                  "title": "Offer with processing image",
+                                  "description": "Image is attached before it is processed",
+                                  "auctionDurationDays": 3,
+                                  "startPrice": 100,
+                                  "winBid": 200,
+                                  "isFree": false,
+                                  "categoryId": 2,
+                                  "locationId": 1,
+                                  "sendToVerification": false,
+                                  "baseNameOfImages": ["%s"]
+                                }""", baseName))
+                        .cookie(userCookie))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long offerId = mapper.readTree(creatingOffer.getResponse().getContentAsString()).get("id").asLong();
+        offerIds.add(offerId);
+        assertEquals(offerId, processingRepository.findByBaseName(baseName).orElseThrow().getEntityId());
+
+        jdbcTemplate.update("UPDATE image_processing SET next_attempt_at = LOCALTIMESTAMP WHERE base_name = ?",
+                baseName);
+        imageService.processPendingImages();
+        awaitState(baseName, ImageProcessingState.DONE);
+
+        assertTrue(imageRepository.findAllByBaseName(baseName).stream()
+                .allMatch(image -> offerId.equals(image.getEntityId())));
+    }
+
+    @Test
+    public void return_503_if_too_many_images_are_pending() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            String baseName = UUID.randomUUID().toString();
+            baseNames.add(baseName);
+            processingRepository.save(ImageProcessing.builder()
+                    .baseName(baseName)
+                    .entityType("offer")
+                    .userId(1L)
+                    .originalPath(ORIGINAL_IMAGE_DIR + "/" + baseName)
+                    .contentType(MediaType.IMAGE_JPEG_VALUE)
+                    .state(ImageProcessingState.PROCESSING)
+                    .nextAttemptAt(now.plusDays(1))
+                    .createdAt(now)
+                    .build());
+        }
+
+        mockMvc.perform(multipart("/v1/images/async")
+                        .file(getTestFile())
+                        .param("entityType", "offer")
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .cookie(userCookie))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,102 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.constants.ImageConstants;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadFileFormatException;
+import de.ait.secondlife.exception_handling.exceptions.bad_request_exception.BadImageDimensionsException;
+import de.ait.secondlife.services.images.ImageMemoryPool;
+import de.ait.secondlife.services.images.ImageResizer;
+import de.ait.secondlife.services.images.ResizedImage;
+import de.ait.secondlife.services.images.ResizedImages;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.ResourceUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Image resizer tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class ImageResizerIntegrationTest implements ImageConstants {
+
+    @Autowired
+    private ImageResizer resizer;
+
+    @Autowired
+    private ImageMemoryPool memoryPool;
+
+    @Test
+    public void all_sizes_are_produced_in_requested_order() throws Exception {
+        List<int[]> sizes = List.of(IMAGE_3_SIZE, IMAGE_1_SIZE, IMAGE_2_SIZE);
+
+        try (InputStream source = new FileInputStream(ResourceUtils.getFile("classpath:test_image/testImg.jpeg"));
+             ResizedImages resizedImages = resizer.resize(source, sizes)) {
+            List<ResizedImage> images = resizedImages.getImages();
+
+            assertEquals(sizes.size(), images.size());
+            for (int i = 0; i < sizes.size(); i++) {
+                BufferedImage image = ImageIO.read(images.get(i).getInputStream());
+                assertEquals(sizes.get(i)[0], image.getWidth());
+                assertEquals(sizes.get(i)[1], image.getHeight());
+                assertEquals(sizes.get(i)[0] + "x" + sizes.get(i)[1], images.get(i).getSize());
+                assertEquals(images.get(i).getContentLength(), images.get(i).getInputStream().available());
+            }
+        }
+    }
+
+    @Test
+    public void reserved_memory_is_released_after_images_are_closed() throws Exception {
+        int availableKb = memoryPool.getAvailableKb();
+
+        try (InputStream source = new FileInputStream(ResourceUtils.getFile("classpath:test_image/testImg.jpeg"));
+             ResizedImages ignored = resizer.resize(source, List.of(IMAGE_1_SIZE, IMAGE_2_SIZE))) {
+            assertTrue(memoryPool.getAvailableKb() < availableKb);
+        }
+
+        assertEquals(availableKb, memoryPool.getAvailableKb());
+    }
+
+    @Test
+    public void not_an_image_is_rejected() {
+        InputStream source = new ByteArrayInputStream("not an image".getBytes());
+
+        assertThrows(BadFileFormatException.class, () -> resizer.resize(source, List.of(IMAGE_2_SIZE)));
+    }
+
+    @Test
+    public void image_with_too_large_dimensions_is_rejected_before_decoding() throws Exception {
+        int availableKb = memoryPool.getAvailableKb();
+        InputStream source = new ByteArrayInputStream(pngWithDeclaredSize(50_000, 50_000));
+
+        assertThrows(BadImageDimensionsException.class, () -> resizer.resize(source, List.of(IMAGE_2_SIZE)));
+        assertEquals(availableKb, memoryPool.getAvailableKb());
+    }
+
+    /**
+     * Writes a 1x1 PNG and rewrites the dimensions in its header, so the file is small but
+     * would need gigabytes of memory once decoded.
+     */
+    private byte[] pngWithDeclaredSize(int width, int height) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", output);
+        ByteBuffer png = ByteBuffer.wrap(output.toByteArray());
+        png.putInt(16, width).putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png.array(), 12, 17);
+        png.putInt(29, (int) crc.getValue());
+        return png.array();
+    }
+}
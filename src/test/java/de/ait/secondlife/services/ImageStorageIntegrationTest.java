@@ -0,0 +1,117 @@
+package de.ait.secondlife.services;
+
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import de.ait.secondlife.services.images.ImageStorage;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Image storage tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class ImageStorageIntegrationTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(50);
+    private static final int FILES_COUNT = 30;
+
+    @TestConfiguration
+    static class LocalS3Config {
+
+        @Bean
+        @Primary
+        public LocalS3 localS3() {
+            return new LocalS3();
+        }
+    }
+
+    @Autowired
+    private ImageStorage storage;
+
+    @Autowired
+    private LocalS3 s3;
+
+    @Value("${do.buket.name}")
+    private String bucketName;
+
+    @BeforeEach
+    public void resetStorage() {
+        s3.reset(Duration.ZERO);
+    }
+
+    private Map<String, String> putFiles(int count) {
+        Map<String, String> moves = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            s3.putObject(bucketName, "temp/" + i, "image " + i);
+            moves.put("temp/" + i, "offer/1/" + i);
+        }
+        return moves;
+    }
+
+    @Test
+    public void moved_files_exist_only_at_new_keys() {
+        Map<String, String> moves = putFiles(FILES_COUNT);
+
+        storage.move(moves);
+
+        moves.forEach((source, target) -> {
+            assertFalse(s3.doesObjectExist(bucketName, source));
+            assertTrue(s3.doesObjectExist(bucketName, target));
+        });
+    }
+
+    @Test
+    public void failed_copy_deletes_no_source() {
+        Map<String, String> moves = putFiles(FILES_COUNT);
+        moves.put("temp/missing", "offer/1/missing");
+
+        assertThrows(RuntimeException.class, () -> storage.move(moves));
+
+        moves.keySet().stream()
+                .filter(source -> !source.equals("temp/missing"))
+                .forEach(source -> assertTrue(s3.doesObjectExist(bucketName, source)));
+    }
+
+    @Test
+    public void files_are_deleted_in_batches_of_maximum_size() {
+        List<String> keys = new ArrayList<>(putFiles(2 * ImageStorage.MAX_KEYS_PER_DELETE + 1).keySet());
+        s3.reset(Duration.ZERO);
+
+        storage.delete(keys);
+
+        assertEquals(3, s3.getRequests());
+    }
+
+    @Test
+    public void move_is_faster_than_sequential_copy_and_delete() {
+        s3.reset(LATENCY);
+        Map<String, String> moves = putFiles(FILES_COUNT);
+        long start = System.nanoTime();
+        moves.forEach((source, target) -> {
+            s3.copyObject(new CopyObjectRequest(bucketName, source, bucketName, target));
+            s3.deleteObject(bucketName, source);
+        });
+        Duration sequential = Duration.ofNanos(System.nanoTime() - start);
+
+        putFiles(FILES_COUNT);
+        int requestsBefore = s3.getRequests();
+        start = System.nanoTime();
+        storage.move(moves);
+        Duration batched = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(FILES_COUNT + 1, s3.getRequests() - requestsBefore);
+        assertTrue(batched.multipliedBy(4).compareTo(sequential) < 0,
+                "batched " + batched.toMillis() + " ms, sequential " + sequential.toMillis() + " ms");
+    }
+}
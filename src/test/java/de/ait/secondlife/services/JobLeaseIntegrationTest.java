@@ -0,0 +1,114 @@
+package de.ait.secondlife.services;
+
+import de.ait.secondlife.repositories.JobLeaseRepository;
+import de.ait.secondlife.services.interfaces.JobLeaseService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Scheduled job lease tests:")
+@DisplayNameGeneration(value = DisplayNameGenerator.ReplaceUnderscores.class)
+class JobLeaseIntegrationTest {
+
+    private static final int NODES_COUNT = 8;
+    private static final int TICKS_COUNT = 20;
+    private static final Duration LEASE_TTL = Duration.ofMinutes(1);
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<JobLeaseService> nodes = new ArrayList<>();
+    private String jobName;
+
+    @BeforeEach
+    public void createNodes() {
+        jobName = "test-job-" + UUID.randomUUID();
+        for (int i = 0; i < NODES_COUNT; i++) {
+            nodes.add(new JobLeaseServiceImpl(leaseRepository, "test-node-" + i + ":" + jobName));
+        }
+    }
+
+    @AfterEach
+    public void deleteLease() {
+        jdbcTemplate.update("DELETE FROM job_lease WHERE name = ?", jobName);
+        nodes.clear();
+    }
+
+    @Test
+    public void job_runs_on_exactly_one_node_per_tick() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NODES_COUNT);
+        Set<String> holders = ConcurrentHashMap.newKeySet();
+
+        for (int tick = 0; tick < TICKS_COUNT; tick++) {
+            List<Callable<Boolean>> attempts = nodes.stream()
+                    .<Callable<Boolean>>map(node -> () -> {
+                        boolean acquired = node.acquire(jobName, LEASE_TTL);
+                        if (acquired) {
+                            holders.add(node.getOwner());
+                        }
+                        return acquired;
+                    })
+                    .toList();
+
+            int executions = 0;
+            for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+                if (attempt.get()) {
+                    executions++;
+                }
+            }
+            assertEquals(1, executions);
+        }
+        executor.shutdown();
+
+        assertEquals(1, holders.size());
+    }
+
+    @Test
+    public void lease_is_renewed_by_holder_and_refused_to_others() {
+        JobLeaseService holder = nodes.get(0);
+        JobLeaseService other = nodes.get(1);
+
+        assertTrue(holder.acquire(jobName, LEASE_TTL));
+        assertTrue(holder.acquire(jobName, LEASE_TTL));
+        assertFalse(other.acquire(jobName, LEASE_TTL));
+    }
+
+    @Test
+    public void expired_lease_is_taken_over_by_another_node() {
+        JobLeaseService deadNode = nodes.get(0);
+        JobLeaseService survivor = nodes.get(1);
+
+        assertTrue(deadNode.acquire(jobName, LEASE_TTL));
+        jdbcTemplate.update(
+                "UPDATE job_lease SET expires_at = LOCALTIMESTAMP - INTERVAL '1 second' WHERE name = ?",
+                jobName);
+
+        assertTrue(survivor.acquire(jobName, LEASE_TTL));
+        assertFalse(deadNode.acquire(jobName, LEASE_TTL));
+    }
+
+    @Test
+    public void released_lease_is_taken_over_immediately() {
+        JobLeaseService stoppedNode = nodes.get(0);
+        JobLeaseService survivor = nodes.get(1);
+
+        assertTrue(stoppedNode.acquire(jobName, LEASE_TTL));
+        stoppedNode.releaseAll();
+
+        assertTrue(survivor.acquire(jobName, LEASE_TTL));
+    }
+}
@@ -0,0 +1,123 @@
+package de.ait.secondlife.services;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for S3 with a configurable latency of every request, used to test
+ * and time storage operations without a real bucket.
+ */
+public class LocalS3 extends AbstractAmazonS3 {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failingReads = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+
+    public void reset(Duration latency) {
+        this.latency = latency;
+        objects.clear();
+        requests.set(0);
+        failingReads.set(0);
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Makes the next reads of objects fail, as if the storage were unavailable.
+     *
+     * @param count number of failing reads
+     */
+    public void failNextReads(int count) {
+        failingReads.set(count);
+    }
+
+    @Override
+    public PutObjectResult putObject(String bucketName, String key, String content) {
+        request();
+        objects.put(bucketName + "/" + key, content.getBytes(StandardCharsets.UTF_8));
+        return new PutObjectResult();
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        request();
+        try (InputStream input = request.getFile() != null
+                ? Files.newInputStream(request.getFile().toPath())
+                : request.getInputStream()) {
+            objects.put(request.getBucketName() + "/" + request.getKey(), input.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PutObjectResult();
+    }
+
+    @Override
+    public S3Object getObject(String bucketName, String key) {
+        request();
+        if (failingReads.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            throw new AmazonS3Exception("ServiceUnavailable: " + key);
+        }
+        byte[] content = objects.get(bucketName + "/" + key);
+        if (content == null) {
+            throw new AmazonS3Exception("NoSuchKey: " + key);
+        }
+        S3Object object = new S3Object();
+        object.setBucketName(bucketName);
+        object.setKey(key);
+        object.setObjectContent(new ByteArrayInputStream(content));
+        return object;
+    }
+
+    @Override
+    public boolean doesObjectExist(String bucketName, String objectName) {
+        return objects.containsKey(bucketName + "/" + objectName);
+    }
+
+    @Override
+    public CopyObjectResult copyObject(CopyObjectRequest request) {
+        request();
+        byte[] content = objects.get(request.getSourceBucketName() + "/" + request.getSourceKey());
+        if (content == null) {
+            throw new AmazonS3Exception("NoSuchKey: " + request.getSourceKey());
+        }
+        objects.put(request.getDestinationBucketName() + "/" + request.getDestinationKey(), content);
+        return new CopyObjectResult();
+    }
+
+    @Override
+    public void deleteObject(String bucketName, String key) {
+        request();
+        objects.remove(bucketName + "/" + key);
+    }
+
+    @Override
+    public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+        request();
+        request.getKeys().forEach(key -> objects.remove(request.getBucketName() + "/" + key.getKey()));
+        return new DeleteObjectsResult(List.of());
+    }
+
+    private void request() {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}